@@ -1,13 +1,28 @@
 package ru.practicum.client;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import ru.practicum.api.event.EventAllApi;
 
 @Component
 public class EventClientHelper extends EventClientAbstractHelper {
 
-    public EventClientHelper(EventAllApi eventApiClient) {
+    public EventClientHelper(
+            EventAllApi eventApiClient,
+            BulkheadRegistry bulkheadRegistry,
+            @Value("${explore-with-me.id-filter.enabled:false}") boolean filterEnabled,
+            @Value("${explore-with-me.id-filter.strict:false}") boolean filterStrict
+    ) {
         super(eventApiClient);
+        this.eventBulkhead = bulkheadRegistry.bulkhead(DownstreamBulkheads.EVENT_SERVICE);
+        this.eventIdFilter = new IdExistenceFilter(filterEnabled, filterStrict);
+    }
+
+    @Scheduled(fixedDelayString = "${explore-with-me.id-filter.refresh-ms:5000}")
+    public void refreshEventIdFilter() {
+        reloadEventIdFilter();
     }
 
 }
@@ -1,20 +1,26 @@
 package ru.practicum.comment.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.api.comment.CommentAdminApi;
+import ru.practicum.api.comment.CommentExportApi;
 import ru.practicum.comment.service.CommentAdminService;
+import ru.practicum.comment.service.CommentExportService;
 import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.export.ExportFormat;
 
 import java.util.Collection;
 
 @RestController
 @RequiredArgsConstructor
 @Validated
-public class CommentAdminController implements CommentAdminApi {
+public class CommentAdminController implements CommentAdminApi, CommentExportApi {
 
     private final CommentAdminService commentAdminService;
+    private final CommentExportService commentExportService;
 
     @Override
     public Collection<CommentDto> search(String text, int from, int size) {
@@ -41,4 +47,9 @@ public class CommentAdminController implements CommentAdminApi {
         return commentAdminService.rejectComment(comId);
     }
 
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportComments(Long event, Boolean approved, ExportFormat format) {
+        return format.toResponse("comments", out -> commentExportService.exportComments(event, approved, format, out));
+    }
+
 }
\ No newline at end of file
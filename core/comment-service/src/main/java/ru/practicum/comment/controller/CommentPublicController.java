@@ -18,13 +18,13 @@ public class CommentPublicController implements CommentPublicApi {
     private final CommentPublicService commentPublicService;
 
     @Override
-    public CommentDto getById(Long comId) {
-        return commentPublicService.getComment(comId);
+    public CommentDto getById(Long comId, boolean includeArchived) {
+        return commentPublicService.getComment(comId, includeArchived);
     }
 
     @Override
-    public Collection<CommentShortDto> getByEventId(Long eventId, int from, int size) {
-        return commentPublicService.getCommentsByEvent(eventId, from, size);
+    public Collection<CommentShortDto> getByEventId(Long eventId, int from, int size, boolean includeArchived) {
+        return commentPublicService.getCommentsByEvent(eventId, from, size, includeArchived);
     }
 
     @Override
@@ -13,14 +13,12 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "comments", indexes = {
-        @Index(name = "idx_comments_event_id", columnList = "event_id"),
-        @Index(name = "idx_comments_textual_content", columnList = "textual_content")
-})
+@Table(name = "comments")
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     private Long id;
 
@@ -1,20 +1,98 @@
 package ru.practicum.comment.dal;
 
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    Page<Comment> findAllByEventIdAndApproved(Long eventId, Boolean approved, Pageable pageable);
+    Slice<Comment> findAllByEventIdAndApproved(Long eventId, Boolean approved, Pageable pageable);
 
-    Page<Comment> findAllByAuthorId(Long userId, Pageable pageable);
+    Slice<Comment> findAllByAuthorId(Long userId, Pageable pageable);
 
     @Query("""
             SELECT c FROM Comment as c
             WHERE c.text ILIKE CONCAT('%', ?1, '%')
             """)
-    Page<Comment> findByText(String text, Pageable pageable);
+    Slice<Comment> findByText(String text, Pageable pageable);
+
+    // АРХИВ КОММЕНТАРИЕВ К ПРОШЕДШИМ СОБЫТИЯМ
+
+    // Очередная порция id событий, к которым есть комментарии (обход в порядке event_id для CommentArchiver)
+    @Query(nativeQuery = true, value = """
+            SELECT DISTINCT event_id FROM comments
+            WHERE event_id > :afterEventId
+            ORDER BY event_id
+            LIMIT :limit
+            """)
+    List<Long> findEventIdsAfter(@Param("afterEventId") long afterEventId, @Param("limit") int limit);
+
+    // Перенос всех комментариев к архивированным событиям в comments_archive
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH moved AS (
+                DELETE FROM comments
+                WHERE event_id IN (:eventIds)
+                RETURNING *
+            )
+            INSERT INTO comments_archive (id, textual_content, author_id, event_id, create_time, patch_time, approved,
+                                          archived_at)
+            SELECT id, textual_content, author_id, event_id, create_time, patch_time, approved, now()
+            FROM moved
+            """)
+    int archiveByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Комментарии из архива отображаются на ту же сущность: читать только в read-only транзакции
+    @Query(nativeQuery = true, value = """
+            SELECT id, textual_content, author_id, event_id, create_time, patch_time, approved
+            FROM comments_archive
+            WHERE id = :id
+            """)
+    Optional<Comment> findArchivedById(@Param("id") Long id);
+
+    // Одобренные комментарии события вместе с архивом, пока архивация события не завершена - из обеих таблиц
+    @Query(nativeQuery = true, value = """
+            SELECT id, textual_content, author_id, event_id, create_time, patch_time, approved
+            FROM comments
+            WHERE event_id = :eventId AND approved
+            UNION ALL
+            SELECT id, textual_content, author_id, event_id, create_time, patch_time, approved
+            FROM comments_archive
+            WHERE event_id = :eventId AND approved
+            ORDER BY create_time, id
+            LIMIT :limit OFFSET :offset
+            """)
+    List<Comment> findApprovedByEventIdIncludingArchive(
+            @Param("eventId") Long eventId,
+            @Param("limit") int limit,
+            @Param("offset") int offset
+    );
+
+    // Пачка выгрузки: не больше limit комментариев с id больше afterId в порядке id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT c FROM Comment as c
+            WHERE (:eventId IS NULL OR c.eventId = :eventId)
+            AND (:approved IS NULL OR c.approved = :approved)
+            AND c.id > :afterId
+            ORDER BY c.id
+            """)
+    List<Comment> findExportBatch(
+            @Param("eventId") Long eventId,
+            @Param("approved") Boolean approved,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
 
 }
\ No newline at end of file
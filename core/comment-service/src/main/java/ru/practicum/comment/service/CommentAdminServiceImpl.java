@@ -1,5 +1,6 @@
 package ru.practicum.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
@@ -15,6 +16,7 @@ import ru.practicum.dto.comment.CommentDto;
 import ru.practicum.dto.event.EventCommentDto;
 import ru.practicum.dto.user.UserDto;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.util.List;
 import java.util.Map;
@@ -22,6 +24,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(CoreMetrics.SERVICE_METHOD)
 @RequiredArgsConstructor
 @Slf4j
 public class CommentAdminServiceImpl implements CommentAdminService {
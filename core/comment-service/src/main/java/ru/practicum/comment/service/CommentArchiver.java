@@ -0,0 +1,80 @@
+package ru.practicum.comment.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.client.EventClientHelper;
+import ru.practicum.comment.dal.CommentRepository;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
+import ru.practicum.exception.ServiceInteractionException;
+import ru.practicum.metrics.CoreMetrics;
+
+import java.util.Collection;
+import java.util.List;
+
+// Фоновая архивация комментариев к прошедшим событиям: обходит id событий из comments порциями, спрашивает
+// event-service, какие из них уже в архиве, и переносит комментарии этих событий в comments_archive.
+// Обход идет по кругу, позиция хранится в памяти
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "explore-with-me.archive.enabled", havingValue = "true")
+public class CommentArchiver {
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
+    private final CommentRepository commentRepository;
+    private final EventClientHelper eventClientHelper;
+    private final int batchSize;
+    private final int maxBatches;
+    private long cursor;
+
+    public CommentArchiver(
+            TransactionTemplate transactionTemplate,
+            ReadOnlyTransactionTemplate readOnlyTransactionTemplate,
+            CommentRepository commentRepository,
+            EventClientHelper eventClientHelper,
+            @Value("${explore-with-me.archive.batch-size:500}") int batchSize,
+            @Value("${explore-with-me.archive.max-batches:20}") int maxBatches
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.commentRepository = commentRepository;
+        this.eventClientHelper = eventClientHelper;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${explore-with-me.archive.interval-ms:60000}",
+            initialDelayString = "${explore-with-me.archive.interval-ms:60000}")
+    public void archiveCommentsOfArchivedEvents() {
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatches; batch++) {
+                long afterEventId = cursor;
+                List<Long> eventIds = readOnlyTransactionTemplate.execute(status ->
+                        commentRepository.findEventIdsAfter(afterEventId, batchSize));
+                if (eventIds == null || eventIds.isEmpty()) {
+                    // круг пройден, следующий запуск начнет сначала
+                    cursor = 0;
+                    break;
+                }
+                Collection<Long> archived = eventClientHelper.retrieveArchivedEventIds(eventIds);
+                if (!archived.isEmpty()) {
+                    Integer count = transactionTemplate.execute(status -> commentRepository.archiveByEventIds(archived));
+                    if (count != null) total += count;
+                }
+                cursor = eventIds.getLast();
+            }
+        } catch (ServiceInteractionException e) {
+            // event-service недоступен: обход продолжится со следующим запуском с той же позиции
+            log.debug("Comment archiving postponed: {}", e.getMessage());
+        }
+        if (total == 0) return;
+        CoreMetrics.countArchived("comments", total);
+        log.info("Archived {} comments of archived events", total);
+    }
+
+}
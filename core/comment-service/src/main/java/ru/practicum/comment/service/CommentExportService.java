@@ -0,0 +1,12 @@
+package ru.practicum.comment.service;
+
+import ru.practicum.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface CommentExportService {
+
+    void exportComments(Long eventId, Boolean approved, ExportFormat format, OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,100 @@
+package ru.practicum.comment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Limit;
+import ru.practicum.client.EventClientHelper;
+import ru.practicum.client.UserClientHelper;
+import ru.practicum.comment.dal.Comment;
+import ru.practicum.comment.dal.CommentRepository;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
+import ru.practicum.dto.comment.CommentDto;
+import ru.practicum.dto.event.EventCommentDto;
+import ru.practicum.dto.user.UserDto;
+import ru.practicum.export.ExportFormat;
+import ru.practicum.export.ExportWriter;
+import ru.practicum.export.ExportWriter.Column;
+import ru.practicum.metrics.CoreMetrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+@Service
+@Timed(CoreMetrics.SERVICE_METHOD)
+@RequiredArgsConstructor
+public class CommentExportServiceImpl implements CommentExportService {
+
+    private static final List<Column<CommentDto>> CSV_COLUMNS = List.of(
+            new Column<>("id", CommentDto::getId),
+            new Column<>("text", CommentDto::getText),
+            new Column<>("author_id", c -> c.getAuthor() == null ? null : c.getAuthor().getId()),
+            new Column<>("author_name", c -> c.getAuthor() == null ? null : c.getAuthor().getName()),
+            new Column<>("event_id", c -> c.getEvent() == null ? null : c.getEvent().getId()),
+            new Column<>("event_title", c -> c.getEvent() == null ? null : c.getEvent().getTitle()),
+            new Column<>("create_time", CommentDto::getCreateTime),
+            new Column<>("approved", CommentDto::getApproved)
+    );
+
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final UserClientHelper userClientHelper;
+    private final EventClientHelper eventClientHelper;
+
+    private int exportBatchSize = 500;
+
+    @Value("${explore-with-me.export.batch-size:500}")
+    public void setExportBatchSize(int exportBatchSize) {
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    // Каждая пачка читается отдельной короткой транзакцией по id, поэтому соединение из небольшого пула admin
+    // не удерживается, пока идут вызовы других сервисов и запись клиенту; после каждой пачки
+    // контекст персистентности очищается, поэтому память не растет с числом строк
+    @Override
+    public void exportComments(Long eventId, Boolean approved, ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter<CommentDto> writer = new ExportWriter<>(out, format, objectMapper, CSV_COLUMNS);
+        ExportWriter.forEachKeysetBatch(exportBatchSize,
+                afterId -> readOnlyTransactionTemplate.execute(status ->
+                        commentRepository.findExportBatch(eventId, approved, afterId, Limit.of(exportBatchSize))),
+                Comment::getId,
+                batch -> {
+                    writeBatch(batch, writer);
+                    entityManager.clear();
+                });
+        writer.flush();
+    }
+
+    // Авторы и события запрашиваются одним вызовом на пачку
+    private void writeBatch(List<Comment> batch, ExportWriter<CommentDto> writer) throws IOException {
+        LongSet userIds = new LongOpenHashSet(batch.size());
+        LongSet eventIds = new LongOpenHashSet(batch.size());
+        for (Comment c : batch) {
+            userIds.add(c.getAuthorId().longValue());
+            eventIds.add(c.getEventId().longValue());
+        }
+
+        Long2ObjectMap<UserDto> userMap = userClientHelper.retrieveUserDtoMapByUserIdList(userIds);
+        Long2ObjectMap<EventCommentDto> eventMap = eventClientHelper.retrieveEventCommentDtoMapByUserIdList(eventIds);
+
+        for (Comment c : batch) {
+            writer.write(CommentMapper.toCommentDto(
+                    c,
+                    userMap.get(c.getAuthorId().longValue()),
+                    eventMap.get(c.getEventId().longValue())
+            ));
+        }
+        writer.flush();
+    }
+
+}
@@ -1,5 +1,6 @@
 package ru.practicum.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,11 +17,13 @@ import ru.practicum.dto.event.State;
 import ru.practicum.dto.user.UserDto;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Service
+@Timed(CoreMetrics.SERVICE_METHOD)
 @RequiredArgsConstructor
 @Slf4j
 public class CommentPrivateServiceImpl implements CommentPrivateService {
@@ -7,9 +7,9 @@ import java.util.List;
 
 public interface CommentPublicService {
 
-    CommentDto getComment(Long comId);
+    CommentDto getComment(Long comId, boolean includeArchived);
 
-    List<CommentShortDto> getCommentsByEvent(Long eventId, int from, int size);
+    List<CommentShortDto> getCommentsByEvent(Long eventId, int from, int size, boolean includeArchived);
 
     CommentDto getCommentByEventAndCommentId(Long eventId, Long commentId);
 
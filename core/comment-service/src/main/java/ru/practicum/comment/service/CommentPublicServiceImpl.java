@@ -1,44 +1,50 @@
 package ru.practicum.comment.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.client.EventClientHelper;
 import ru.practicum.client.UserClientHelper;
 import ru.practicum.comment.dal.Comment;
 import ru.practicum.comment.dal.CommentRepository;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
 import ru.practicum.dto.comment.CommentDto;
 import ru.practicum.dto.comment.CommentShortDto;
 import ru.practicum.dto.event.EventCommentDto;
 import ru.practicum.dto.user.UserDto;
 import ru.practicum.exception.ForbiddenException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(CoreMetrics.SERVICE_METHOD)
 @RequiredArgsConstructor
 @Slf4j
 public class CommentPublicServiceImpl implements CommentPublicService {
 
-    private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
     private final CommentRepository commentRepository;
 
     private final UserClientHelper userClientHelper;
     private final EventClientHelper eventClientHelper;
 
     @Override
-    public CommentDto getComment(Long comId) {
-        Comment comment = transactionTemplate.execute(status -> {
+    public CommentDto getComment(Long comId, boolean includeArchived) {
+        Comment comment = readOnlyTransactionTemplate.execute(status -> {
+            // архив комментариев к прошедшим событиям проверяется, только если об этом попросили
             return commentRepository.findById(comId)
+                    .or(() -> includeArchived ? commentRepository.findArchivedById(comId) : Optional.empty())
                     .orElseThrow(() -> new NotFoundException("Not found Comment " + comId));
         });
 
@@ -46,17 +52,20 @@ public class CommentPublicServiceImpl implements CommentPublicService {
             throw new ForbiddenException("Comment " + comId + "is not approved");
 
         UserDto userDto = userClientHelper.retrieveUserDtoByUserId(comment.getAuthorId());
-        EventCommentDto eventCommentDto = eventClientHelper.retrieveEventCommentDtoByEventId(comment.getEventId());
+        EventCommentDto eventCommentDto = eventClientHelper.retrieveEventCommentDtoByEventId(comment.getEventId(), includeArchived);
 
         return CommentMapper.toCommentDto(comment, userDto, eventCommentDto);
     }
 
     @Override
-    public List<CommentShortDto> getCommentsByEvent(Long eventId, int from, int size) {
-        EventCommentDto eventCommentDto = eventClientHelper.retrieveEventCommentDtoByEventId(eventId);
+    public List<CommentShortDto> getCommentsByEvent(Long eventId, int from, int size, boolean includeArchived) {
+        EventCommentDto eventCommentDto = eventClientHelper.retrieveEventCommentDtoByEventId(eventId, includeArchived);
 
-        List<Comment> comments = transactionTemplate.execute(status -> {
+        List<Comment> comments = readOnlyTransactionTemplate.execute(status -> {
             Pageable pageable = PageRequest.of(from / size, size, Sort.by("createTime").ascending());
+            if (includeArchived) {
+                return commentRepository.findApprovedByEventIdIncludingArchive(eventId, size, (int) pageable.getOffset());
+            }
             return commentRepository.findAllByEventIdAndApproved(eventId, true, pageable).getContent();
         });
         if (comments == null || comments.isEmpty()) return List.of();
@@ -71,7 +80,7 @@ public class CommentPublicServiceImpl implements CommentPublicService {
 
     @Override
     public CommentDto getCommentByEventAndCommentId(Long eventId, Long comId) {
-        Comment comment = transactionTemplate.execute(status -> {
+        Comment comment = readOnlyTransactionTemplate.execute(status -> {
             return commentRepository.findById(comId)
                     .orElseThrow(() -> new NotFoundException("Not found Comment " + comId));
         });
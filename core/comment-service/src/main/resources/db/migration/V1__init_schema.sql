@@ -0,0 +1,14 @@
+-- Исходная схема comment-service: сущность Comment, последовательность с шагом allocationSize = 50
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE comments
+(
+    id              BIGINT        NOT NULL,
+    textual_content VARCHAR(1000) NOT NULL,
+    author_id       BIGINT        NOT NULL,
+    event_id        BIGINT        NOT NULL,
+    create_time     TIMESTAMP(6)  NOT NULL,
+    patch_time      TIMESTAMP(6),
+    approved        BOOLEAN       NOT NULL,
+    CONSTRAINT pk_comments PRIMARY KEY (id)
+);
@@ -0,0 +1,3 @@
+-- Триграммы для поиска по подстроке (ILIKE '%text%'); расширение ставится в public, операторный класс указывается
+-- с префиксом схемы, так как search_path сервиса содержит только comment_service
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
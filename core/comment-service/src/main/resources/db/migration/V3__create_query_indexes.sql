@@ -0,0 +1,17 @@
+-- Индексы под запросы CommentRepository.
+-- CONCURRENTLY не блокирует запись в таблицу, поэтому Flyway выполняет миграцию вне транзакции.
+-- Индексы из старых @Index, созданные Hibernate (ddl-auto: create), заменяются составными.
+
+-- одобренные комментарии события, отсортированные по createTime
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_event_id_approved_create_time
+    ON comments (event_id, approved, create_time);
+
+-- комментарии автора
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_author_id ON comments (author_id);
+
+-- поиск textual_content ILIKE '%text%'; прежний btree-индекс для такого условия не использовался
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_comments_textual_content_trgm
+    ON comments USING gin (textual_content public.gin_trgm_ops);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_comments_event_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_comments_textual_content;
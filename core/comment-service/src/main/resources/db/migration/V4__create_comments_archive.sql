@@ -0,0 +1,17 @@
+-- Архив комментариев к прошедшим событиям: CommentArchiver переносит сюда комментарии событий,
+-- которые event-service уже перенес в events_archive. Читается только по явному запросу (includeArchived).
+CREATE TABLE comments_archive
+(
+    id              BIGINT        NOT NULL,
+    textual_content VARCHAR(1000) NOT NULL,
+    author_id       BIGINT        NOT NULL,
+    event_id        BIGINT        NOT NULL,
+    create_time     TIMESTAMP(6)  NOT NULL,
+    patch_time      TIMESTAMP(6),
+    approved        BOOLEAN       NOT NULL,
+    archived_at     TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_comments_archive PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_comments_archive_event_id_approved_create_time
+    ON comments_archive (event_id, approved, create_time);
@@ -1 +0,0 @@
-CREATE SCHEMA IF NOT EXISTS comment_service;
@@ -4,9 +4,12 @@ import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.category.CategoryDto;
 import ru.practicum.validation.CreateOrUpdateValidator;
 
+@WorkloadPool(Workload.ADMIN)
 public interface CategoryAdminApi {
 
     @PostMapping("/admin/categories")
@@ -4,10 +4,13 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.comment.CommentDto;
 
 import java.util.Collection;
 
+@WorkloadPool(Workload.ADMIN)
 public interface CommentAdminApi {
 
     @GetMapping("/admin/comments/search")
@@ -0,0 +1,24 @@
+package ru.practicum.api.comment;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
+import ru.practicum.export.ExportFormat;
+
+// Отдельный интерфейс: ответ пишется потоком, поэтому в Feign-клиенты не попадает
+@WorkloadPool(Workload.ADMIN)
+public interface CommentExportApi {
+
+    // Потоковая выгрузка комментариев, опционально по событию и признаку модерации
+    @GetMapping("/admin/comments/export")
+    ResponseEntity<StreamingResponseBody> exportComments(
+            @RequestParam(required = false) @Positive Long event,
+            @RequestParam(required = false) Boolean approved,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    );
+
+}
@@ -4,9 +4,12 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.comment.CommentCreateDto;
 import ru.practicum.dto.comment.CommentDto;
 
+@WorkloadPool(Workload.PRIVATE)
 public interface CommentPrivateApi {
 
     @PostMapping("/users/{userId}/events/{eventId}/comments")
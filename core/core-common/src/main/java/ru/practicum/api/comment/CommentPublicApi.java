@@ -6,17 +6,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.comment.CommentDto;
 import ru.practicum.dto.comment.CommentShortDto;
 
 import java.util.Collection;
 
+@WorkloadPool(Workload.PUBLIC)
 public interface CommentPublicApi {
 
+    // includeArchived - искать и среди комментариев к прошедшим событиям, перенесенных в архив
     @GetMapping("/comments/{comId}")
     @ResponseStatus(HttpStatus.OK)
     CommentDto getById(
-            @PathVariable @Positive Long comId
+            @PathVariable @Positive Long comId,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     );
 
     @GetMapping("/events/{eventId}/comments")
@@ -24,7 +29,8 @@ public interface CommentPublicApi {
     Collection<CommentShortDto> getByEventId(
             @PathVariable @Positive Long eventId,
             @RequestParam(defaultValue = "0") int from,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived
     );
 
     @GetMapping("/events/{eventId}/comments/{commentId}")
@@ -3,10 +3,13 @@ package ru.practicum.api.compilation;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.compilation.CompilationDto;
 import ru.practicum.dto.compilation.NewCompilationDto;
 import ru.practicum.dto.compilation.UpdateCompilationDto;
 
+@WorkloadPool(Workload.ADMIN)
 public interface CompilationAdminApi {
 
     @PostMapping("/admin/compilations")
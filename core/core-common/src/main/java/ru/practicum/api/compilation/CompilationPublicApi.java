@@ -7,10 +7,13 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.compilation.CompilationDto;
 
 import java.util.Collection;
 
+@WorkloadPool(Workload.PUBLIC)
 public interface CompilationPublicApi {
 
     @GetMapping("/compilations")
@@ -0,0 +1,30 @@
+package ru.practicum.api.event;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
+import ru.practicum.dto.event.State;
+import ru.practicum.export.ExportFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Отдельный интерфейс: ответ пишется потоком, поэтому в Feign-клиенты не попадает
+@WorkloadPool(Workload.ADMIN)
+public interface EventExportApi {
+
+    // Потоковая выгрузка событий по тем же фильтрам, что и поиск в EventAdminApi
+    @GetMapping("/admin/events/export")
+    ResponseEntity<StreamingResponseBody> exportEvents(
+            @RequestParam(required = false) List<Long> users,
+            @RequestParam(required = false) List<State> states,
+            @RequestParam(required = false) List<Long> categories,
+            @RequestParam(required = false) LocalDateTime rangeStart,
+            @RequestParam(required = false) LocalDateTime rangeEnd,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    );
+
+}
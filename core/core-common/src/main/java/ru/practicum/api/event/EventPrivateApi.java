@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.event.EventFullDto;
 import ru.practicum.dto.event.EventShortDto;
 import ru.practicum.dto.event.NewEventDto;
@@ -11,6 +13,7 @@ import ru.practicum.dto.event.UpdateEventDto;
 
 import java.util.Collection;
 
+@WorkloadPool(Workload.PRIVATE)
 public interface EventPrivateApi {
 
     // Добавление нового события
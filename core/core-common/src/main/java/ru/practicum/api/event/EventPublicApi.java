@@ -5,12 +5,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.event.*;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+@WorkloadPool(Workload.PUBLIC)
 public interface EventPublicApi {
 
     // Получение событий с возможностью фильтрации
@@ -30,22 +34,27 @@ public interface EventPublicApi {
     );
 
     // Получение подробной информации об опубликованном событии по его идентификатору
+    // (includeArchived - искать и среди прошедших событий, перенесенных в архив)
     @GetMapping("/events/{eventId}")
     @ResponseStatus(HttpStatus.OK)
     EventFullDto getInformationAboutEventByEventId(
             @RequestHeader("X-EWM-USER-ID") @Positive Long userId,
             @PathVariable @Positive Long eventId,
+            @RequestParam(defaultValue = "false") Boolean includeArchived,
             HttpServletRequest request
     );
 
     // Получение информации о событии для сервиса комментариев
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/events/{eventId}/dto/comment")
     @ResponseStatus(HttpStatus.OK)
     EventCommentDto getEventCommentDto(
-            @PathVariable @Positive Long eventId
+            @PathVariable @Positive Long eventId,
+            @RequestParam(defaultValue = "false") Boolean includeArchived
     );
 
     // Получение информации о списке событий для сервиса комментариев
+    @WorkloadPool(Workload.INTERNAL)
     @PostMapping("/events/dto/list/comment")
     @ResponseStatus(HttpStatus.OK)
     Collection<EventCommentDto> getEventCommentDtoList(
@@ -53,12 +62,43 @@ public interface EventPublicApi {
     );
 
     // Получение информации о событии для сервиса заявок
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/events/{eventId}/dto/interaction")
     @ResponseStatus(HttpStatus.OK)
     EventInteractionDto getEventInteractionDto(
             @PathVariable @Positive Long eventId
     );
 
+    // Сброс события в локальном кэше второго уровня: экземпляр, изменивший событие, вызывает на каждом экземпляре
+    @WorkloadPool(Workload.INTERNAL)
+    @DeleteMapping("/events/cache/{eventId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void evictEventCache(
+            @PathVariable @Positive Long eventId
+    );
+
+    // Сброс всех событий в локальном кэше второго уровня (после архивации)
+    @WorkloadPool(Workload.INTERNAL)
+    @DeleteMapping("/events/cache")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void evictEventsCache();
+
+    // Снимок существующих id событий (начиная с fromId) для локальных фильтров в других сервисах
+    @WorkloadPool(Workload.INTERNAL)
+    @GetMapping("/events/ids/snapshot")
+    @ResponseStatus(HttpStatus.OK)
+    IdSnapshotDto getEventIdSnapshot(
+            @RequestParam(defaultValue = "1") @Positive Long fromId
+    );
+
+    // Какие из переданных id событий перенесены в архив: по ним сервисы заявок и комментариев архивируют свои данные
+    @WorkloadPool(Workload.INTERNAL)
+    @PostMapping("/events/archived/ids")
+    @ResponseStatus(HttpStatus.OK)
+    Collection<Long> getArchivedEventIds(
+            @RequestBody Collection<Long> eventIds
+    );
+
     // рекомендации мероприятий для пользователя
     @GetMapping("/events/recommendations")
     @ResponseStatus(HttpStatus.OK)
@@ -67,6 +107,16 @@ public interface EventPublicApi {
             @RequestParam(defaultValue = "10") Integer size
     );
 
+    // похожие мероприятия: анализатор запрашивается без пользователя (userId = 0), поэтому список общий для всех
+    // и не исключает уже просмотренные пользователем события - так его можно кэшировать по eventId.
+    // Персональная выдача - GET /events/recommendations
+    @GetMapping("/events/{eventId}/similar")
+    @ResponseStatus(HttpStatus.OK)
+    Collection<EventShortDto> getSimilarEvents(
+            @PathVariable @Positive Long eventId,
+            @RequestParam(defaultValue = "10") @Positive Integer size
+    );
+
     @PutMapping("/events/{eventId}/like")
     @ResponseStatus(HttpStatus.OK)
     String sendLike(
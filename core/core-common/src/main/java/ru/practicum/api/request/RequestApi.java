@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
 import ru.practicum.dto.request.EventRequestStatusUpdateRequestDto;
 import ru.practicum.dto.request.EventRequestStatusUpdateResultDto;
 import ru.practicum.dto.request.ParticipationRequestDto;
@@ -11,6 +13,7 @@ import ru.practicum.dto.request.ParticipationRequestDto;
 import java.util.Collection;
 import java.util.Map;
 
+@WorkloadPool(Workload.PRIVATE)
 public interface RequestApi {
 
     // ЗАЯВКИ ТЕКУЩЕГО ПОЛЬЗОВАТЕЛЯ
@@ -32,10 +35,12 @@ public interface RequestApi {
     );
 
     // Получение информации о заявках текущего пользователя на участие в чужих событиях
+    // (includeArchived - вместе с заявками на прошедшие события, перенесенными в архив)
     @GetMapping("/users/{userId}/requests")
     @ResponseStatus(HttpStatus.OK)
     Collection<ParticipationRequestDto> getRequesterRequests(
-            @PathVariable @Positive(message = "User Id not valid") Long userId
+            @PathVariable @Positive(message = "User Id not valid") Long userId,
+            @RequestParam(defaultValue = "false") Boolean includeArchived
     );
 
     // ЗАЯВКИ НА КОНКРЕТНОЕ СОБЫТИЕ
@@ -60,13 +65,24 @@ public interface RequestApi {
     // INTERACTION API
 
     // Запрос количества подтвержденных заявок по списку eventId
+    @WorkloadPool(Workload.INTERNAL)
     @PostMapping("/requests/confirmed")
     @ResponseStatus(HttpStatus.OK)
     Map<Long, Long> getConfirmedRequestsByEventIds(
-            @RequestBody Collection<Long> eventIds
+            @RequestBody Collection<Long> eventIds,
+            @RequestParam(defaultValue = "false") Boolean includeArchived
+    );
+
+    // Сброс закэшированного EventInteractionDto: event-service вызывает на каждом экземпляре после изменения события
+    @WorkloadPool(Workload.INTERNAL)
+    @DeleteMapping("/requests/cache/events/{eventId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void evictEventInteraction(
+            @PathVariable @Positive(message = "Event Id not valid") Long eventId
     );
 
     // Проверка участия пользователя в конкретном событии перед лайком
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/users/{userId}/events/{eventId}/check/participation")
     @ResponseStatus(HttpStatus.OK)
     String checkParticipation(
@@ -0,0 +1,25 @@
+package ru.practicum.api.request;
+
+import jakarta.validation.constraints.Positive;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
+import ru.practicum.dto.request.ParticipationRequestStatus;
+import ru.practicum.export.ExportFormat;
+
+// Отдельный интерфейс: ответ пишется потоком, поэтому в Feign-клиенты (RequestApi) не попадает
+@WorkloadPool(Workload.ADMIN)
+public interface RequestExportApi {
+
+    // Потоковая выгрузка заявок, опционально по событию и статусу
+    @GetMapping("/admin/requests/export")
+    ResponseEntity<StreamingResponseBody> exportRequests(
+            @RequestParam(required = false) @Positive(message = "Event Id not valid") Long event,
+            @RequestParam(required = false) ParticipationRequestStatus status,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format
+    );
+
+}
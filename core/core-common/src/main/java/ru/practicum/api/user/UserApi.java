@@ -4,6 +4,9 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 import ru.practicum.dto.user.NewUserRequestDto;
 import ru.practicum.dto.user.UserDto;
 import ru.practicum.dto.user.UserShortDto;
@@ -11,6 +14,7 @@ import ru.practicum.dto.user.UserShortDto;
 import java.util.Collection;
 import java.util.List;
 
+@WorkloadPool(Workload.ADMIN)
 public interface UserApi {
 
     // MODIFY OPS
@@ -29,12 +33,14 @@ public interface UserApi {
 
     // GET + HEAD
 
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/admin/users/{userId}")
     @ResponseStatus(HttpStatus.OK)
     UserDto getUser(
             @PathVariable @Positive(message = "User Id not valid") Long userId
     );
 
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/admin/users/{userId}/short")
     @ResponseStatus(HttpStatus.OK)
     UserShortDto getUserShort(
@@ -51,16 +57,28 @@ public interface UserApi {
             @RequestParam(defaultValue = "10") Integer size
     );
 
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/admin/users/all/short")
     @ResponseStatus(HttpStatus.OK)
     Collection<UserShortDto> getUserShortDtoListByIds(
             @RequestParam(required = false) Collection<Long> ids
     );
 
+    @WorkloadPool(Workload.INTERNAL)
     @GetMapping("/admin/users/all/full")
     @ResponseStatus(HttpStatus.OK)
     Collection<UserDto> getUserDtoListByIds(
             @RequestParam(required = false) Collection<Long> ids
     );
 
+    // INTERACTION API
+
+    // Снимок существующих id пользователей (начиная с fromId) для локальных фильтров в других сервисах
+    @WorkloadPool(Workload.INTERNAL)
+    @GetMapping("/admin/users/ids/snapshot")
+    @ResponseStatus(HttpStatus.OK)
+    IdSnapshotDto getUserIdSnapshot(
+            @RequestParam(defaultValue = "1") @Positive(message = "Id not valid") Long fromId
+    );
+
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package ru.practicum.api.user;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import ru.practicum.datasource.Workload;
+import ru.practicum.datasource.WorkloadPool;
+import ru.practicum.dto.user.UserImportResultDto;
+
+import java.io.InputStream;
+
+// Отдельный интерфейс: тело запроса читается потоком, поэтому в Feign-клиенты (UserApi) не попадает
+@WorkloadPool(Workload.ADMIN)
+public interface UserImportApi {
+
+    String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+    String CSV_MEDIA_TYPE = "text/csv";
+
+    // MODIFY OPS
+
+    @PostMapping(value = "/admin/users/import", consumes = {NDJSON_MEDIA_TYPE, CSV_MEDIA_TYPE})
+    @ResponseStatus(HttpStatus.OK)
+    UserImportResultDto importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    );
+
+}
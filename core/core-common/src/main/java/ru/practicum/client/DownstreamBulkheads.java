@@ -0,0 +1,26 @@
+package ru.practicum.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+
+/**
+ * Имена bulkhead'ов по downstream-сервисам. Лимиты задаются в resilience4j.bulkhead.instances.<имя>,
+ * метрики resilience4j.bulkhead.* публикуются автоконфигурацией resilience4j.
+ * Семафорный bulkhead ограничивает число потоков Tomcat, одновременно ждущих один сервис:
+ * при насыщении вызов сразу падает с BulkheadFullException и хелпер отдает заглушку.
+ */
+public final class DownstreamBulkheads {
+
+    public static final String USER_SERVICE = "user-service";
+    public static final String EVENT_SERVICE = "event-service";
+    public static final String REQUEST_SERVICE = "request-service";
+
+    private DownstreamBulkheads() {
+    }
+
+    // без ограничений - значение по умолчанию, пока конкретный хелпер не подставил bulkhead из реестра
+    public static Bulkhead unlimited(String name) {
+        return Bulkhead.of(name, BulkheadConfig.custom().maxConcurrentCalls(Integer.MAX_VALUE).build());
+    }
+
+}
@@ -1,53 +1,81 @@
 package ru.practicum.client;
 
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.annotation.Timed;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.api.event.EventAllApi;
+import ru.practicum.client.grpc.EventInteractionGrpcClient;
 import ru.practicum.dto.event.EventCommentDto;
 import ru.practicum.dto.event.EventInteractionDto;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ServiceInteractionException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
+@Timed(CoreMetrics.CLIENT_CALL)
 public abstract class EventClientAbstractHelper {
 
     protected final EventAllApi eventApiClient;
 
+    // локальный фильтр существующих id, по умолчанию выключен и всегда отвечает UNKNOWN
+    protected IdExistenceFilter eventIdFilter = IdExistenceFilter.disabled();
+
+    // если задан, EventInteractionDto запрашивается по gRPC вместо Feign
+    protected EventInteractionGrpcClient eventGrpcClient;
+
+    // ограничивает число одновременных обращений к event-service (см. DownstreamBulkheads)
+    protected Bulkhead eventBulkhead = DownstreamBulkheads.unlimited(DownstreamBulkheads.EVENT_SERVICE);
+
+    // короткоживущий кэш EventInteractionDto, по умолчанию выключен; записи сбрасывает event-service при изменении события
+    protected LocalDtoCache<EventInteractionDto> eventInteractionCache = LocalDtoCache.disabled();
+
     // EventInteractionDto
 
     public EventInteractionDto retrieveEventInteractionDtoByEventIdOrFall(Long eventId) {
-        try {
-            return eventApiClient.getEventInteractionDto(eventId);
-        } catch (RuntimeException e) {
-            if (isNotFoundCode(e)) throw new NotFoundException("Not found Event " + eventId);
-
-            log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            throw new ServiceInteractionException("Unable to check Event " + eventId, "event-service is unavailable");
-        }
+        if (isEventKnownAbsent(eventId)) throw new NotFoundException("Not found Event " + eventId);
+        return eventInteractionCache.get(eventId, () -> {
+            try {
+                return eventBulkhead.executeSupplier(() -> fetchEventInteractionDto(eventId));
+            } catch (RuntimeException e) {
+                if (isNotFoundCode(e)) throw new NotFoundException("Not found Event " + eventId);
+
+                log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+                throw new ServiceInteractionException("Unable to check Event " + eventId, "event-service is unavailable");
+            }
+        });
     }
 
     public EventInteractionDto retrieveEventInteractionDtoByEventId(Long eventId) {
         try {
-            return eventApiClient.getEventInteractionDto(eventId);
+            return eventBulkhead.executeSupplier(() -> fetchEventInteractionDto(eventId));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found Event " + eventId);
 
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            CoreMetrics.countFallback(DownstreamBulkheads.EVENT_SERVICE, "EventInteractionDto", 1);
             return EventInteractionDto.makeDummy(eventId);
         }
     }
 
+    public void evictEventInteractionDto(Long eventId) {
+        eventInteractionCache.evict(eventId);
+    }
+
     // EventCommentDto
 
     public EventCommentDto retrieveEventCommentDtoByEventIdOrFall(Long eventId) {
+        if (isEventKnownAbsent(eventId)) throw new NotFoundException("Not found Event " + eventId);
         try {
-            return eventApiClient.getEventCommentDto(eventId);
+            return eventBulkhead.executeSupplier(() -> eventApiClient.getEventCommentDto(eventId, false));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found Event " + eventId);
 
@@ -57,32 +85,82 @@ public abstract class EventClientAbstractHelper {
     }
 
     public EventCommentDto retrieveEventCommentDtoByEventId(Long eventId) {
+        return retrieveEventCommentDtoByEventId(eventId, false);
+    }
+
+    // includeArchived - событие ищется и в архиве прошедших событий
+    public EventCommentDto retrieveEventCommentDtoByEventId(Long eventId, boolean includeArchived) {
         try {
-            return eventApiClient.getEventCommentDto(eventId);
+            return eventBulkhead.executeSupplier(() -> eventApiClient.getEventCommentDto(eventId, includeArchived));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found Event " + eventId);
 
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            CoreMetrics.countFallback(DownstreamBulkheads.EVENT_SERVICE, "EventCommentDto", 1);
             return EventCommentDto.makeDummy(eventId);
         }
     }
 
-    public Map<Long, EventCommentDto> retrieveEventCommentDtoMapByUserIdList(Collection<Long> eventIdList) {
+    public Long2ObjectMap<EventCommentDto> retrieveEventCommentDtoMapByUserIdList(Collection<Long> eventIdList) {
         try {
-            return eventApiClient.getEventCommentDtoList(eventIdList).stream()
-                    .collect(Collectors.toMap(EventCommentDto::getId, e -> e));
+            Collection<EventCommentDto> events = eventBulkhead.executeSupplier(() -> eventApiClient.getEventCommentDtoList(eventIdList));
+            return IdMaps.byId(events, EventCommentDto::getId);
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            CoreMetrics.countFallback(DownstreamBulkheads.EVENT_SERVICE, "EventCommentDto", eventIdList.size());
+            return IdMaps.dummies(eventIdList, EventCommentDto::makeDummy);
+        }
+    }
+
+    // ARCHIVED EVENTS
+
+    // Архивированные события из списка; без ответа event-service архивация данных откладывается
+    public Collection<Long> retrieveArchivedEventIds(Collection<Long> eventIdList) {
+        try {
+            return eventBulkhead.executeSupplier(() -> eventApiClient.getArchivedEventIds(eventIdList));
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            throw new ServiceInteractionException("Unable to check archived Events", "event-service is unavailable");
+        }
+    }
+
+    // ID FILTER REFRESH
+
+    // снимок перечитывается целиком: так из фильтра уходят удаленные и появляются поздно закоммиченные id
+    public void reloadEventIdFilter() {
+        if (!eventIdFilter.isEnabled()) return;
+        try {
+            eventIdFilter.applyFullSnapshot(IdExistenceFilter.fetchPages(1L, this::fetchEventIdSnapshot));
         } catch (RuntimeException e) {
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            return eventIdList.stream()
-                    .collect(Collectors.toMap(id -> id, EventCommentDto::makeDummy));
         }
     }
 
     // PRIVATE METHODS
 
+    // без ответа на запрос хвоста снимка существование проверяет основной вызов
+    private boolean isEventKnownAbsent(Long eventId) {
+        try {
+            return eventIdFilter.isKnownAbsent(eventId, this::fetchEventIdSnapshot);
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    private IdSnapshotDto fetchEventIdSnapshot(long fromId) {
+        return eventBulkhead.executeSupplier(() -> eventApiClient.getEventIdSnapshot(fromId));
+    }
+
+    private EventInteractionDto fetchEventInteractionDto(Long eventId) {
+        if (eventGrpcClient != null) return eventGrpcClient.getEventInteractionDto(eventId);
+        return eventApiClient.getEventInteractionDto(eventId);
+    }
+
     private boolean isNotFoundCode(RuntimeException e) {
         if (e instanceof FeignException.NotFound) return true;
         if (e.getCause() != null && e.getCause() instanceof FeignException.NotFound) return true;
+        if (e instanceof StatusRuntimeException s && s.getStatus().getCode() == Status.Code.NOT_FOUND) return true;
         return false;
     }
 
@@ -0,0 +1,116 @@
+package ru.practicum.client;
+
+import lombok.Getter;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Локальная копия множества существующих id другого сервиса (битовая карта по снимкам IdSnapshotDto).
+ * Отвечает PRESENT / ABSENT / UNKNOWN. Снимок перечитывается целиком по расписанию: id выдаются блоками из sequence,
+ * запись с меньшим id может закоммититься позже записи с большим, а записи удаляются, поэтому промах внутри
+ * известного диапазона ничего не доказывает и отвечает UNKNOWN - решает удаленный сервис.
+ * ABSENT - только для id выше известного максимума, если это подтвердил свежий хвост снимка.
+ */
+public class IdExistenceFilter {
+
+    public enum Existence {
+        PRESENT, ABSENT, UNKNOWN
+    }
+
+    private record State(BitSet bits, long toId) {
+    }
+
+    @Getter
+    private final boolean enabled;
+
+    @Getter
+    private final boolean strict;
+
+    private volatile State state;
+
+    public IdExistenceFilter(boolean enabled, boolean strict) {
+        this.enabled = enabled;
+        this.strict = strict;
+    }
+
+    public static IdExistenceFilter disabled() {
+        return new IdExistenceFilter(false, true);
+    }
+
+    public Existence check(Long id) {
+        State current = state;
+        if (!enabled || current == null || id == null || id < 1 || id > current.toId()) return Existence.UNKNOWN;
+        return current.bits().get((int) (id - 1)) ? Existence.PRESENT : Existence.UNKNOWN;
+    }
+
+    // Id выше известного максимума проверяется по хвосту снимка, запрошенному уже после прихода id:
+    // такой ответ не старее прямого обращения к удаленному сервису. Исключения fetchPage пробрасываются
+    public boolean isKnownAbsent(Long id, LongFunction<IdSnapshotDto> fetchPage) {
+        State current = state;
+        if (!enabled || current == null || id == null || id <= current.toId()) return false;
+        List<IdSnapshotDto> tail = fetchPages(current.toId() + 1, fetchPage);
+        applyTail(tail);
+        return id > toId(tail);
+    }
+
+    // в нестрогом режиме положительный ответ фильтра позволяет не обращаться к удаленному сервису
+    public boolean isTrustedPresent(Long id) {
+        return !strict && check(id) == Existence.PRESENT;
+    }
+
+    public boolean isLoaded() {
+        return state != null;
+    }
+
+    // Все страницы снимка начиная с fromId; применяются целиком, чтобы фильтр не видел частично обновленный диапазон
+    public static List<IdSnapshotDto> fetchPages(long fromId, LongFunction<IdSnapshotDto> fetchPage) {
+        List<IdSnapshotDto> pages = new ArrayList<>();
+        IdSnapshotDto page;
+        long nextFromId = fromId;
+        do {
+            page = fetchPage.apply(nextFromId);
+            pages.add(page);
+            nextFromId = page.getToId() + 1;
+        } while (page.isMore());
+        return pages;
+    }
+
+    public synchronized void applyFullSnapshot(List<IdSnapshotDto> pages) {
+        BitSet bits = new BitSet();
+        pages.forEach(page -> copySnapshotBits(page, bits));
+        state = new State(bits, toId(pages));
+    }
+
+    // PRIVATE METHODS
+
+    // хвост только добавляет id выше известного максимума; если полный снимок, запрошенный раньше хвоста,
+    // применится позже, биты хвоста пропадут, что безопасно - такие id снова отвечают UNKNOWN
+    private synchronized void applyTail(List<IdSnapshotDto> pages) {
+        State current = state;
+        long toId = toId(pages);
+        if (current == null || toId <= current.toId()) return;
+        BitSet bits = (BitSet) current.bits().clone();
+        pages.forEach(page -> copySnapshotBits(page, bits));
+        state = new State(bits, toId);
+    }
+
+    // последняя страница может быть пустой, тогда ее toId = fromId - 1
+    private static long toId(List<IdSnapshotDto> pages) {
+        long toId = pages.getFirst().getFromId() - 1;
+        for (IdSnapshotDto page : pages) toId = Math.max(toId, page.getToId());
+        return toId;
+    }
+
+    private void copySnapshotBits(IdSnapshotDto snapshot, BitSet target) {
+        BitSet source = BitSet.valueOf(snapshot.getBits() == null ? new byte[0] : snapshot.getBits());
+        int offset = (int) (snapshot.getFromId() - 1);
+        for (int i = source.nextSetBit(0); i >= 0; i = source.nextSetBit(i + 1)) {
+            target.set(offset + i);
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package ru.practicum.client;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// Сборка long-ключевых map для обогащения ответов без упаковки id в Long
+public class IdMaps {
+
+    public static <T> Long2ObjectMap<T> byId(Collection<T> items, ToLongFunction<T> idGetter) {
+        Long2ObjectOpenHashMap<T> result = new Long2ObjectOpenHashMap<>(items.size());
+        for (T item : items) {
+            result.put(idGetter.applyAsLong(item), item);
+        }
+        return result;
+    }
+
+    public static <T> Long2ObjectMap<T> dummies(Collection<Long> ids, Function<Long, T> dummyFactory) {
+        Long2ObjectOpenHashMap<T> result = new Long2ObjectOpenHashMap<>(ids.size());
+        for (Long id : ids) {
+            result.put(id.longValue(), dummyFactory.apply(id));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,81 @@
+package ru.practicum.client;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ru.practicum.metrics.CoreMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Короткоживущий локальный кэш DTO другого сервиса по id, по умолчанию выключен и всегда вызывает загрузчик.
+ * Одновременные промахи по одному id ждут единственного обращения к сервису; загрузка идет в потоке
+ * вызывающего, поэтому контекст (трассировка, бюджет запросов, класс нагрузки) сохраняется.
+ * Ошибки загрузки не кэшируются. Сброс записи, загрузка которой еще идет, не дает ей попасть в кэш.
+ */
+public class LocalDtoCache<V> {
+
+    private final AsyncCache<Long, V> cache;
+    private final String service;
+    private final String dto;
+
+    public LocalDtoCache(boolean enabled, long ttlMs, long maxSize, String service, String dto) {
+        this.cache = enabled
+                ? Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .maximumSize(maxSize)
+                .buildAsync()
+                : null;
+        this.service = service;
+        this.dto = dto;
+    }
+
+    public static <V> LocalDtoCache<V> disabled() {
+        return new LocalDtoCache<>(false, 0, 0, null, null);
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    public V get(Long id, Supplier<V> loader) {
+        if (cache == null) return loader.get();
+
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.asMap().putIfAbsent(id, loading);
+        if (cached != null) {
+            CoreMetrics.countCacheLookup(service, dto, true);
+            return await(cached);
+        }
+
+        CoreMetrics.countCacheLookup(service, dto, false);
+        try {
+            V value = loader.get();
+            loading.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            cache.asMap().remove(id, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    public void evict(Long id) {
+        if (cache != null) cache.asMap().remove(id);
+    }
+
+    // PRIVATE METHODS
+
+    // ожидающие получают то же исключение, что и загружавший поток (NotFoundException, ServiceInteractionException)
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+}
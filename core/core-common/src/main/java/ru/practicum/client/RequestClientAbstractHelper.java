@@ -1,28 +1,53 @@
 package ru.practicum.client;
 
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.annotation.Timed;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.api.request.RequestApi;
+import ru.practicum.client.grpc.RequestInteractionGrpcClient;
 import ru.practicum.exception.ServiceInteractionException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
+@Timed(CoreMetrics.CLIENT_CALL)
 public abstract class RequestClientAbstractHelper {
 
     protected final RequestApi requestApiClient;
 
+    // если задан, количества подтвержденных заявок запрашиваются по gRPC вместо Feign
+    protected RequestInteractionGrpcClient requestGrpcClient;
+
+    // ограничивает число одновременных обращений к request-service (см. DownstreamBulkheads)
+    protected Bulkhead requestBulkhead = DownstreamBulkheads.unlimited(DownstreamBulkheads.REQUEST_SERVICE);
+
     // Confirmed Requests Map - by EventId List
-    public Map<Long, Long> retrieveConfirmedRequestsMapByEventIdList(Collection<Long> eventIdList) {
+    public Long2LongMap retrieveConfirmedRequestsMapByEventIdList(Collection<Long> eventIdList) {
+        return retrieveConfirmedRequestsMapByEventIdList(eventIdList, false);
+    }
+
+    // includeArchived - с учетом архивированных заявок (только Feign, в gRPC-контракте такого параметра нет)
+    public Long2LongMap retrieveConfirmedRequestsMapByEventIdList(Collection<Long> eventIdList, boolean includeArchived) {
         try {
-            return requestApiClient.getConfirmedRequestsByEventIds(eventIdList);
+            return requestBulkhead.executeSupplier(() -> {
+                if (requestGrpcClient != null && !includeArchived)
+                    return requestGrpcClient.getConfirmedRequestsByEventIds(eventIdList);
+                return new Long2LongOpenHashMap(requestApiClient.getConfirmedRequestsByEventIds(eventIdList, includeArchived));
+            });
         } catch (RuntimeException e) {
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            return eventIdList.stream().collect(Collectors.toMap(id -> id, id -> -1L));
+            CoreMetrics.countFallback(DownstreamBulkheads.REQUEST_SERVICE, "ConfirmedRequests", eventIdList.size());
+            Long2LongOpenHashMap fallback = new Long2LongOpenHashMap(eventIdList.size());
+            for (Long eventId : eventIdList) fallback.put(eventId.longValue(), -1L);
+            return fallback;
         }
     }
 
@@ -30,7 +55,7 @@ public abstract class RequestClientAbstractHelper {
 
     public boolean passedParticipationCheck(Long userId, Long eventId) {
         try {
-            requestApiClient.checkParticipation(userId, eventId);
+            requestBulkhead.executeSupplier(() -> requestApiClient.checkParticipation(userId, eventId));
             return true;
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) return false;
@@ -44,6 +69,7 @@ public abstract class RequestClientAbstractHelper {
     private boolean isNotFoundCode(RuntimeException e) {
         if (e instanceof FeignException.NotFound) return true;
         if (e.getCause() != null && e.getCause() instanceof FeignException.NotFound) return true;
+        if (e instanceof StatusRuntimeException s && s.getStatus().getCode() == Status.Code.NOT_FOUND) return true;
         return false;
     }
 
@@ -1,29 +1,55 @@
 package ru.practicum.client;
 
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.annotation.Timed;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import ru.practicum.api.user.UserApi;
+import ru.practicum.client.grpc.UserInteractionGrpcClient;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 import ru.practicum.dto.user.UserDto;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.exception.ServiceInteractionException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.util.Collection;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.List;
 
 @Slf4j
 @RequiredArgsConstructor
+@Timed(CoreMetrics.CLIENT_CALL)
 public abstract class UserClientAbstractHelper {
 
     protected final UserApi userApiClient;
 
+    // локальный фильтр существующих id, по умолчанию выключен и всегда отвечает UNKNOWN
+    protected IdExistenceFilter userIdFilter = IdExistenceFilter.disabled();
+
+    // если задан, списки UserShortDto запрашиваются по gRPC вместо Feign
+    protected UserInteractionGrpcClient userGrpcClient;
+
+    // ограничивает число одновременных обращений к user-service (см. DownstreamBulkheads)
+    protected Bulkhead userBulkhead = DownstreamBulkheads.unlimited(DownstreamBulkheads.USER_SERVICE);
+
+    // EXISTENCE CHECK
+
+    public void checkUserExistsOrFall(Long userId) {
+        if (isUserKnownAbsent(userId)) throw new NotFoundException("Not found User " + userId);
+        if (userIdFilter.isTrustedPresent(userId)) return;
+        retrieveUserShortDtoByUserIdOrFall(userId);
+    }
+
     // UserShortDto
 
     public UserShortDto retrieveUserShortDtoByUserIdOrFall(Long userId) {
+        if (isUserKnownAbsent(userId)) throw new NotFoundException("Not found User " + userId);
         try {
-            return userApiClient.getUserShort(userId);
+            return userBulkhead.executeSupplier(() -> fetchUserShort(userId));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found User " + userId);
 
@@ -34,31 +60,35 @@ public abstract class UserClientAbstractHelper {
 
     public UserShortDto retrieveUserShortDtoByUserId(Long userId) {
         try {
-            return userApiClient.getUserShort(userId);
+            return userBulkhead.executeSupplier(() -> fetchUserShort(userId));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found User " + userId);
 
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            CoreMetrics.countFallback(DownstreamBulkheads.USER_SERVICE, "UserShortDto", 1);
             return UserShortDto.makeDummy(userId);
         }
     }
 
-    public Map<Long, UserShortDto> retrieveUserShortDtoMapByUserIdList(Collection<Long> userIdList) {
+    public Long2ObjectMap<UserShortDto> retrieveUserShortDtoMapByUserIdList(Collection<Long> userIdList) {
         try {
-            return userApiClient.getUserShortDtoListByIds(userIdList).stream()
-                    .collect(Collectors.toMap(UserShortDto::getId, u -> u));
+            Collection<UserShortDto> users = userBulkhead.executeSupplier(() -> userGrpcClient != null
+                    ? userGrpcClient.getUserShortDtoListByIds(userIdList)
+                    : userApiClient.getUserShortDtoListByIds(userIdList));
+            return IdMaps.byId(users, UserShortDto::getId);
         } catch (RuntimeException e) {
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            return userIdList.stream()
-                    .collect(Collectors.toMap(id -> id, UserShortDto::makeDummy));
+            CoreMetrics.countFallback(DownstreamBulkheads.USER_SERVICE, "UserShortDto", userIdList.size());
+            return IdMaps.dummies(userIdList, UserShortDto::makeDummy);
         }
     }
 
     // UserDto
 
     public UserDto retrieveUserDtoByUserIdOrFall(Long userId) {
+        if (isUserKnownAbsent(userId)) throw new NotFoundException("Not found User " + userId);
         try {
-            return userApiClient.getUser(userId);
+            return userBulkhead.executeSupplier(() -> userApiClient.getUser(userId));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found User " + userId);
 
@@ -69,31 +99,66 @@ public abstract class UserClientAbstractHelper {
 
     public UserDto retrieveUserDtoByUserId(Long userId) {
         try {
-            return userApiClient.getUser(userId);
+            return userBulkhead.executeSupplier(() -> userApiClient.getUser(userId));
         } catch (RuntimeException e) {
             if (isNotFoundCode(e)) throw new NotFoundException("Not found User " + userId);
 
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            CoreMetrics.countFallback(DownstreamBulkheads.USER_SERVICE, "UserDto", 1);
             return UserDto.makeDummy(userId);
         }
     }
 
-    public Map<Long, UserDto> retrieveUserDtoMapByUserIdList(Collection<Long> userIdList) {
+    public Long2ObjectMap<UserDto> retrieveUserDtoMapByUserIdList(Collection<Long> userIdList) {
         try {
-            return userApiClient.getUserDtoListByIds(userIdList).stream()
-                    .collect(Collectors.toMap(UserDto::getId, u -> u));
+            Collection<UserDto> users = userBulkhead.executeSupplier(() -> userApiClient.getUserDtoListByIds(userIdList));
+            return IdMaps.byId(users, UserDto::getId);
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            CoreMetrics.countFallback(DownstreamBulkheads.USER_SERVICE, "UserDto", userIdList.size());
+            return IdMaps.dummies(userIdList, UserDto::makeDummy);
+        }
+    }
+
+    // ID FILTER REFRESH
+
+    // снимок перечитывается целиком: так из фильтра уходят удаленные и появляются поздно закоммиченные id
+    public void reloadUserIdFilter() {
+        if (!userIdFilter.isEnabled()) return;
+        try {
+            userIdFilter.applyFullSnapshot(IdExistenceFilter.fetchPages(1L, this::fetchUserIdSnapshot));
         } catch (RuntimeException e) {
             log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            return userIdList.stream()
-                    .collect(Collectors.toMap(id -> id, UserDto::makeDummy));
         }
     }
 
     // PRIVATE METHODS
 
+    // без ответа на запрос хвоста снимка существование проверяет основной вызов
+    private boolean isUserKnownAbsent(Long userId) {
+        try {
+            return userIdFilter.isKnownAbsent(userId, this::fetchUserIdSnapshot);
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+            return false;
+        }
+    }
+
+    private IdSnapshotDto fetchUserIdSnapshot(long fromId) {
+        return userBulkhead.executeSupplier(() -> userApiClient.getUserIdSnapshot(fromId));
+    }
+
+    private UserShortDto fetchUserShort(Long userId) {
+        if (userGrpcClient == null) return userApiClient.getUserShort(userId);
+        List<UserShortDto> users = userGrpcClient.getUserShortDtoListByIds(List.of(userId));
+        if (users.isEmpty()) throw Status.NOT_FOUND.withDescription("Not found User " + userId).asRuntimeException();
+        return users.getFirst();
+    }
+
     private boolean isNotFoundCode(RuntimeException e) {
         if (e instanceof FeignException.NotFound) return true;
         if (e.getCause() != null && e.getCause() instanceof FeignException.NotFound) return true;
+        if (e instanceof StatusRuntimeException s && s.getStatus().getCode() == Status.Code.NOT_FOUND) return true;
         return false;
     }
 
@@ -0,0 +1,23 @@
+package ru.practicum.client.grpc;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.dto.event.EventInteractionDto;
+import ru.practicum.grpc.interaction.EventInteractionControllerGrpc;
+import ru.practicum.grpc.interaction.message.IdProto;
+import ru.practicum.interaction.InteractionProtoMapper;
+
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class EventInteractionGrpcClient {
+
+    private final EventInteractionControllerGrpc.EventInteractionControllerBlockingStub stub;
+    private final long deadlineMs;
+
+    public EventInteractionDto getEventInteractionDto(Long eventId) {
+        return InteractionProtoMapper.toEventInteractionDto(stub
+                .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .getEventInteraction(IdProto.newBuilder().setId(eventId).build()));
+    }
+
+}
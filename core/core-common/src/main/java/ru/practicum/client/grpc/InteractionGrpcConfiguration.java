@@ -0,0 +1,107 @@
+package ru.practicum.client.grpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.grpc.NameResolverRegistry;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import net.devh.boot.grpc.client.nameresolver.DiscoveryClientResolverFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import ru.practicum.datasource.WriteMarkClientInterceptor;
+import ru.practicum.grpc.interaction.EventInteractionControllerGrpc;
+import ru.practicum.grpc.interaction.RequestInteractionControllerGrpc;
+import ru.practicum.grpc.interaction.UserInteractionControllerGrpc;
+
+/**
+ * gRPC-клиенты внутреннего API взаимодействия сервисов.
+ * Бины ленивые: каждый сервис создает каналы только к тем сервисам, к которым обращаются его хелперы.
+ */
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.interaction.grpc.enabled", havingValue = "true")
+public class InteractionGrpcConfiguration {
+
+    private final long deadlineMs;
+
+    private final DiscoveryClient discoveryClient;
+    private final ObservationRegistry observationRegistry;
+
+    public InteractionGrpcConfiguration(
+            @Value("${explore-with-me.interaction.grpc.deadline-ms:2000}") long deadlineMs,
+            DiscoveryClient discoveryClient,
+            ObjectProvider<ObservationRegistry> observationRegistry
+    ) {
+        this.deadlineMs = deadlineMs;
+        this.discoveryClient = discoveryClient;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    @PostConstruct
+    public void init() {
+        DiscoveryClientResolverFactory resolverFactory = new DiscoveryClientResolverFactory(discoveryClient);
+        NameResolverRegistry.getDefaultRegistry().register(resolverFactory);
+    }
+
+    // USER-SERVICE
+
+    @Lazy
+    @Bean(destroyMethod = "shutdownNow")
+    public ManagedChannel userServiceChannel() {
+        return buildChannel("user-service");
+    }
+
+    @Lazy
+    @Bean
+    public UserInteractionGrpcClient userInteractionGrpcClient(@Qualifier("userServiceChannel") ManagedChannel channel) {
+        return new UserInteractionGrpcClient(UserInteractionControllerGrpc.newBlockingStub(channel), deadlineMs);
+    }
+
+    // REQUEST-SERVICE
+
+    @Lazy
+    @Bean(destroyMethod = "shutdownNow")
+    public ManagedChannel requestServiceChannel() {
+        return buildChannel("request-service");
+    }
+
+    @Lazy
+    @Bean
+    public RequestInteractionGrpcClient requestInteractionGrpcClient(@Qualifier("requestServiceChannel") ManagedChannel channel) {
+        return new RequestInteractionGrpcClient(RequestInteractionControllerGrpc.newBlockingStub(channel), deadlineMs);
+    }
+
+    // EVENT-SERVICE
+
+    @Lazy
+    @Bean(destroyMethod = "shutdownNow")
+    public ManagedChannel eventServiceChannel() {
+        return buildChannel("event-service");
+    }
+
+    @Lazy
+    @Bean
+    public EventInteractionGrpcClient eventInteractionGrpcClient(@Qualifier("eventServiceChannel") ManagedChannel channel) {
+        return new EventInteractionGrpcClient(EventInteractionControllerGrpc.newBlockingStub(channel), deadlineMs);
+    }
+
+    // PRIVATE METHODS
+
+    // Интерцепторы создают клиентский span, передают контекст трассировки и метку записи в gRPC-метаданных
+    private ManagedChannel buildChannel(String serviceName) {
+        return ManagedChannelBuilder.forTarget("discovery:///" + serviceName)
+                .defaultLoadBalancingPolicy("round_robin")
+                .usePlaintext()
+                .enableRetry()
+                .keepAliveWithoutCalls(true)
+                .intercept(new ObservationGrpcClientInterceptor(observationRegistry), new WriteMarkClientInterceptor())
+                .build();
+    }
+
+}
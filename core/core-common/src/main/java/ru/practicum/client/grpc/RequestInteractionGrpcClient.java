@@ -0,0 +1,23 @@
+package ru.practicum.client.grpc;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.grpc.interaction.RequestInteractionControllerGrpc;
+import ru.practicum.interaction.InteractionProtoMapper;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class RequestInteractionGrpcClient {
+
+    private final RequestInteractionControllerGrpc.RequestInteractionControllerBlockingStub stub;
+    private final long deadlineMs;
+
+    public Long2LongMap getConfirmedRequestsByEventIds(Collection<Long> eventIds) {
+        return InteractionProtoMapper.toConfirmedRequestsMap(stub
+                .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .getConfirmedRequests(InteractionProtoMapper.toIdListProto(eventIds)));
+    }
+
+}
@@ -0,0 +1,24 @@
+package ru.practicum.client.grpc;
+
+import lombok.RequiredArgsConstructor;
+import ru.practicum.dto.user.UserShortDto;
+import ru.practicum.grpc.interaction.UserInteractionControllerGrpc;
+import ru.practicum.interaction.InteractionProtoMapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class UserInteractionGrpcClient {
+
+    private final UserInteractionControllerGrpc.UserInteractionControllerBlockingStub stub;
+    private final long deadlineMs;
+
+    public List<UserShortDto> getUserShortDtoListByIds(Collection<Long> ids) {
+        return InteractionProtoMapper.toUserShortDtoList(stub
+                .withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS)
+                .getUserShortList(InteractionProtoMapper.toIdListProto(ids)));
+    }
+
+}
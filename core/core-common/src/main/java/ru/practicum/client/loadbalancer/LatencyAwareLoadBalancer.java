@@ -0,0 +1,163 @@
+package ru.practicum.client.loadbalancer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.*;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Балансировщик Feign-запросов с учетом нагрузки экземпляров.
+ * Для каждого экземпляра считает число запросов в полете и peak-EWMA задержки (через LoadBalancerLifecycle),
+ * из двух случайных экземпляров выбирает тот, у кого меньше ewma * (inflight + 1).
+ * Экземпляр в GC-паузе или после холодного старта быстро набирает задержку и перестает получать трафик.
+ * Ошибка обмена и ответ 5xx учитываются как задержка не меньше failure-penalty-ms.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider, String serviceId,
+                                    long decayMs, long failurePenaltyMs) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayMs);
+        this.failurePenaltyNanos = TimeUnit.MILLISECONDS.toNanos(failurePenaltyMs);
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::select);
+    }
+
+    // LIFECYCLE
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) return;
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(System.nanoTime());
+        }
+        statsFor(lbResponse.getServer()).inflight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) return;
+        InstanceStats instanceStats = statsFor(lbResponse.getServer());
+        instanceStats.inflight.decrementAndGet();
+
+        Object context = completionContext.getLoadBalancerRequest() == null
+                ? null : completionContext.getLoadBalancerRequest().getContext();
+        if (!(context instanceof TimedRequestContext timed) || timed.getRequestStartTime() == 0) return;
+
+        if (completionContext.status() == CompletionContext.Status.DISCARD) return;
+        long now = System.nanoTime();
+        long rtt = now - timed.getRequestStartTime();
+        // Feign завершает обмен со статусом SUCCESS при любом ответе: быстрый 5xx без штрафа
+        // сделал бы сбоящий экземпляр самым дешевым
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || isServerError(completionContext.getClientResponse());
+        instanceStats.observe(failed ? Math.max(rtt, failurePenaltyNanos) : rtt, now, decayNanos);
+    }
+
+    // PRIVATE METHODS
+
+    private Response<ServiceInstance> select(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            log.warn("No servers available for service: {}", serviceId);
+            return new EmptyResponse();
+        }
+        if (stats.size() > instances.size() * 2) evictMissing(instances);
+        if (instances.size() == 1) return new DefaultResponse(instances.getFirst());
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) second++;
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(statsFor(a).cost() <= statsFor(b).cost() ? a : b);
+    }
+
+    // 4xx - ошибка запроса, а не экземпляра, и штрафом не считается
+    private static boolean isServerError(Object clientResponse) {
+        return clientResponse instanceof ResponseData response
+                && response.getHttpStatus() != null
+                && response.getHttpStatus().is5xxServerError();
+    }
+
+    private InstanceStats statsFor(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), k -> new InstanceStats(averageEwma()));
+    }
+
+    // новый экземпляр начинает со средней задержки, а не с нуля, иначе сразу получит весь трафик
+    private double averageEwma() {
+        return stats.values().stream().mapToDouble(s -> s.ewmaNanos).filter(v -> v > 0).average().orElse(0);
+    }
+
+    private void evictMissing(List<ServiceInstance> instances) {
+        Set<String> keys = new HashSet<>();
+        for (ServiceInstance instance : instances) keys.add(key(instance));
+        stats.keySet().retainAll(keys);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static class InstanceStats {
+
+        private final AtomicInteger inflight = new AtomicInteger();
+        private volatile double ewmaNanos;
+        private volatile long lastUpdate = System.nanoTime();
+
+        private InstanceStats(double initialEwma) {
+            this.ewmaNanos = initialEwma;
+        }
+
+        // peak-EWMA: рост задержки учитывается сразу, снижение - с затуханием по decay
+        private synchronized void observe(long rttNanos, long now, long decayNanos) {
+            double elapsed = Math.max(0, now - lastUpdate);
+            double weight = Math.exp(-elapsed / decayNanos);
+            ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * weight + rttNanos * (1 - weight);
+            lastUpdate = now;
+        }
+
+        private double cost() {
+            return ewmaNanos * (Math.max(0, inflight.get()) + 1);
+        }
+
+    }
+
+}
@@ -0,0 +1,12 @@
+package ru.practicum.client.loadbalancer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+// Включает LatencyAwareLoadBalancer для всех Feign-клиентов сервиса вместо round-robin по умолчанию
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.loadbalancer.latency-aware", havingValue = "true")
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
+public class LatencyAwareLoadBalancerAutoConfiguration {
+}
@@ -0,0 +1,29 @@
+package ru.practicum.client.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Конфигурация дочернего контекста LoadBalancer (по одному на serviceId).
+ * Намеренно без @Configuration: иначе попадет в общий component scan пакета ru.practicum.
+ * Бин объявлен с конкретным типом, чтобы его нашли и как балансировщик, и как LoadBalancerLifecycle.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public LatencyAwareLoadBalancer reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LatencyAwareLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                environment.getProperty("explore-with-me.loadbalancer.ewma-decay-ms", Long.class, 10000L),
+                environment.getProperty("explore-with-me.loadbalancer.failure-penalty-ms", Long.class, 2000L)
+        );
+    }
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.datasource;
+
+import io.micrometer.context.ContextRegistry;
+
+/**
+ * Класс нагрузки текущего HTTP-запроса, по нему WorkloadRoutingDataSource выбирает пул.
+ * Ставит WorkloadInterceptor; хранится в ThreadLocal и зарегистрирован в context-propagation, как и QueryCounter.
+ */
+public final class CurrentWorkload {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("ewm.workload", CURRENT);
+    }
+
+    private CurrentWorkload() {
+    }
+
+    // вне HTTP-запроса (gRPC, фоновые задачи, миграции) - INTERNAL
+    public static Workload get() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.INTERNAL;
+    }
+
+    static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+}
@@ -0,0 +1,48 @@
+package ru.practicum.datasource;
+
+import io.micrometer.context.ContextRegistry;
+
+/**
+ * Закрепление текущего HTTP-запроса за основной БД: read-only транзакции внутри него не уходят на реплику.
+ * Ставит ReadYourWritesFilter - для модифицирующих запросов и для запросов со свежей меткой записи (WriteMark).
+ * Хранится в ThreadLocal и зарегистрирован в context-propagation, как и QueryCounter.
+ */
+public final class PrimaryPin implements AutoCloseable {
+
+    private static final ThreadLocal<PrimaryPin> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("ewm.primary-pin", CURRENT);
+    }
+
+    private final String reason;
+    private final PrimaryPin previous;
+
+    private PrimaryPin(String reason, PrimaryPin previous) {
+        this.reason = reason;
+        this.previous = previous;
+    }
+
+    // Закрепляет текущий поток за основной БД; close() восстанавливает предыдущее состояние
+    public static PrimaryPin pin(String reason) {
+        PrimaryPin pin = new PrimaryPin(reason, CURRENT.get());
+        CURRENT.set(pin);
+        return pin;
+    }
+
+    // Причина закрепления или null, если поток может читать с реплики
+    static String currentReason() {
+        PrimaryPin pin = CURRENT.get();
+        return pin != null ? pin.reason : null;
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+}
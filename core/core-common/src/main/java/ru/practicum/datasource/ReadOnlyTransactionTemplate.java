@@ -0,0 +1,28 @@
+package ru.practicum.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Программная read-only транзакция для чтений, которые выполняются вне @Transactional
+ * (сначала БД, затем вызовы других сервисов без удержания соединения).
+ * При включенной реплике такие транзакции обслуживает ее пул.
+ */
+@Component
+public class ReadOnlyTransactionTemplate {
+
+    private final TransactionTemplate delegate;
+
+    public ReadOnlyTransactionTemplate(PlatformTransactionManager transactionManager) {
+        this.delegate = new TransactionTemplate(transactionManager);
+        this.delegate.setReadOnly(true);
+    }
+
+    public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+        return delegate.execute(action);
+    }
+
+}
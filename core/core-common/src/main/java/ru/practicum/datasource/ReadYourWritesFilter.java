@@ -0,0 +1,83 @@
+package ru.practicum.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes поверх реплики: модифицирующий запрос целиком работает с основной БД и возвращает клиенту
+ * метку записи (WriteMark), а запрос с меткой моложе sticky-window тоже читает с основной БД, а не с отстающей
+ * реплики. Метка приходит в заголовке (внутренние вызовы, API-клиенты) или в cookie (через gateway) и передается
+ * дальше во внутренние вызовы, поэтому решение не зависит от экземпляра сервиса.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final Duration stickyWindow;
+
+    public ReadYourWritesFilter(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // после тела ответа заголовки уже не добавить, поэтому метку получает и неуспешная запись:
+            // лишние чтения с основной БД в течение sticky-window дешевле потерянной записи
+            long mark = System.currentTimeMillis();
+            writeMark(response, mark);
+            try (PrimaryPin ignored = PrimaryPin.pin("write-request"); WriteMark ignoredMark = WriteMark.open(mark)) {
+                chain.doFilter(request, response);
+            }
+            return;
+        }
+        Long mark = readMark(request);
+        if (WriteMark.isRecent(mark, stickyWindow)) {
+            try (PrimaryPin ignored = PrimaryPin.pin("sticky"); WriteMark ignoredMark = WriteMark.open(mark)) {
+                chain.doFilter(request, response);
+            }
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    // PRIVATE METHODS
+
+    private Long readMark(HttpServletRequest request) {
+        String header = request.getHeader(WriteMark.HEADER);
+        if (header != null) return WriteMark.parse(header);
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return null;
+        for (Cookie cookie : cookies) {
+            if (WriteMark.COOKIE.equals(cookie.getName())) return WriteMark.parse(cookie.getValue());
+        }
+        return null;
+    }
+
+    private void writeMark(HttpServletResponse response, long mark) {
+        response.setHeader(WriteMark.HEADER, String.valueOf(mark));
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(WriteMark.COOKIE, String.valueOf(mark))
+                .path("/")
+                .maxAge(stickyWindow)
+                .httpOnly(true)
+                .build()
+                .toString());
+    }
+
+}
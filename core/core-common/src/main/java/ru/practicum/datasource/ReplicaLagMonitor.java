@@ -0,0 +1,99 @@
+package ru.practicum.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import ru.practicum.metrics.CoreMetrics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодически измеряет отставание реплики. Пока отставание больше max-lag, замер не удался
+ * или реплика отказала в соединении, ReplicaRoutingDataSource отправляет чтения на основную БД.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements InitializingBean, DisposableBean {
+
+    // на основной БД (реплика не настроена отдельно) отставание 0; если все принятое WAL уже применено,
+    // реплика догнала источник - время последней примененной транзакции при простое не показательно
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+            END""";
+
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+    private final ScheduledExecutorService executor;
+
+    // до первого успешного замера реплика считается недоступной
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable = false;
+    // пишется только потоком монитора, нужен, чтобы не повторять в логе одну и ту же ошибку
+    private boolean checkFailing = false;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+        this.executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-monitor").daemon().factory());
+        Gauge.builder(CoreMetrics.DATASOURCE_REPLICA_LAG, this, m -> m.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        executor.scheduleWithFixedDelay(this::check, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    // Реплика отказала в соединении - не используем ее до следующего успешного замера
+    public void markUnavailable(Exception e) {
+        if (usable) log.warn("Replica is unavailable, reads go to primary until next lag check: {}", e.getMessage());
+        usable = false;
+    }
+
+    // PRIVATE METHODS
+
+    private void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            resultSet.next();
+            double lag = resultSet.getDouble(1);
+            boolean lagging = lag * 1000 > maxLag.toMillis();
+            if (lagging && usable) log.warn("Replica lag {}s exceeds {}, reads go to primary", lag, maxLag);
+            if (!lagging && !usable) log.info("Replica is in sync (lag {}s), reads go to replica", lag);
+            lagSeconds = lag;
+            usable = !lagging;
+            checkFailing = false;
+        } catch (Exception e) {
+            if (!checkFailing) log.warn("Replica lag check failed, reads go to primary: {}", e.getMessage());
+            checkFailing = true;
+            lagSeconds = Double.NaN;
+            usable = false;
+        }
+    }
+
+}
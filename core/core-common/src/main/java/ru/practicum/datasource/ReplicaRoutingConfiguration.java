@@ -0,0 +1,98 @@
+package ru.practicum.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Чтение с реплики: read-only транзакции идут в пул реплики, остальные - в пул основной БД (spring.datasource.*).
+ * Оба пула не участвуют в автосвязывании (defaultCandidate = false), приложение получает routingDataSource.
+ * При explore-with-me.datasource.pools.enabled вместо одиночных пулов используются пулы по классам нагрузки
+ * (WorkloadPoolsConfiguration) с теми же квалификаторами.
+ * Соединение отдается Hibernate после каждой транзакции, иначе open-in-view держал бы одно соединение
+ * на весь HTTP-запрос и маршрутизация срабатывала бы только для первой транзакции.
+ */
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfiguration {
+
+    static final String PRIMARY = "primaryDataSource";
+    static final String REPLICA = "replicaDataSource";
+
+    @Bean(name = PRIMARY, defaultCandidate = false)
+    @Qualifier(PRIMARY)
+    @ConfigurationProperties("spring.datasource.hikari")
+    @ConditionalOnProperty(name = "explore-with-me.datasource.pools.enabled", havingValue = "false", matchIfMissing = true)
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(StringUtils.hasText(properties.getName()) ? properties.getName() : "primary");
+        return dataSource;
+    }
+
+    // логин и пароль по умолчанию те же, что у основной БД
+    @Bean(name = REPLICA, defaultCandidate = false)
+    @Qualifier(REPLICA)
+    @ConfigurationProperties("explore-with-me.datasource.replica.hikari")
+    @ConditionalOnProperty(name = "explore-with-me.datasource.pools.enabled", havingValue = "false", matchIfMissing = true)
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${explore-with-me.datasource.replica.url}") String url,
+            @Value("${explore-with-me.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${explore-with-me.datasource.replica.password:${spring.datasource.password}}") String password
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    // монитор ходит в пул напрямую, мимо обертки datasource-micrometer, чтобы замеры не плодили JDBC-span'ы
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier(REPLICA) DataSource replica,
+            MeterRegistry meterRegistry,
+            @Value("${explore-with-me.datasource.replica.max-lag:5s}") Duration maxLag,
+            @Value("${explore-with-me.datasource.replica.lag-check-interval:1s}") Duration checkInterval
+    ) throws SQLException {
+        return new ReplicaLagMonitor(replica.unwrap(HikariDataSource.class), maxLag, checkInterval, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource routingDataSource(
+            @Qualifier(PRIMARY) DataSource primary,
+            @Qualifier(REPLICA) DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry
+    ) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransactionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+}
@@ -0,0 +1,75 @@
+package ru.practicum.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.metrics.CoreMetrics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Выбирает пул по текущей транзакции: read-only транзакции - реплика, все остальное - основная БД.
+ * Решение принимается при получении соединения, поэтому источник оборачивается в LazyConnectionDataSourceProxy:
+ * Hibernate берет соединение в начале транзакции, а флаг read-only Spring выставляет чуть позже.
+ * Каждое решение считается в ewm.datasource.route с тегами target и reason.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                    MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (route() == Target.PRIMARY) return primary.getConnection();
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            // реплика недоступна - читаем с основной БД, монитор вернет реплику после успешного замера
+            lagMonitor.markUnavailable(e);
+            count(Target.PRIMARY, "replica-down");
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return route();
+    }
+
+    // PRIVATE METHODS
+
+    private Target route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return count(Target.PRIMARY, "read-write");
+        }
+        String pinReason = PrimaryPin.currentReason();
+        if (pinReason != null) return count(Target.PRIMARY, pinReason);
+        if (!lagMonitor.isReplicaUsable()) return count(Target.PRIMARY, "replica-lag");
+        return count(Target.REPLICA, "read-only");
+    }
+
+    private Target count(Target target, String reason) {
+        meterRegistry.counter(CoreMetrics.DATASOURCE_ROUTE, "target", target.name().toLowerCase(), "reason", reason)
+                .increment();
+        return target;
+    }
+
+}
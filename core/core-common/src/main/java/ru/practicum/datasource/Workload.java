@@ -0,0 +1,16 @@
+package ru.practicum.datasource;
+
+/**
+ * Класс нагрузки HTTP-запроса, у каждого свой пул соединений (explore-with-me.datasource.pools.*).
+ * INTERNAL - вызовы других сервисов (Feign, gRPC) и все, что выполняется вне HTTP-запроса.
+ */
+public enum Workload {
+
+    PUBLIC, PRIVATE, ADMIN, INTERNAL;
+
+    // имя в настройках и в pool name Hikari
+    public String key() {
+        return name().toLowerCase();
+    }
+
+}
@@ -0,0 +1,62 @@
+package ru.practicum.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Определяет класс нагрузки по обработчику запроса: @WorkloadPool на методе, затем на контроллере
+ * или API-интерфейсе, который объявляет метод. Результат кэшируется по методу контроллера.
+ * Асинхронное тело ответа (выгрузки) получает класс нагрузки через ContextPropagatingTaskDecorator.
+ */
+public class WorkloadInterceptor implements AsyncHandlerInterceptor {
+
+    private final Map<Method, Workload> workloads = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            CurrentWorkload.set(workloads.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> resolve(handlerMethod.getBeanType(), method)));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        CurrentWorkload.clear();
+    }
+
+    // для асинхронного запроса afterCompletion в исходном потоке не вызывается - поток возвращается в пул Tomcat
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        CurrentWorkload.clear();
+    }
+
+    // PRIVATE METHODS
+
+    private static Workload resolve(Class<?> beanType, Method method) {
+        WorkloadPool onMethod = AnnotatedElementUtils.findMergedAnnotation(method, WorkloadPool.class);
+        if (onMethod != null) return onMethod.value();
+
+        WorkloadPool onController = beanType.getAnnotation(WorkloadPool.class);
+        if (onController != null) return onController.value();
+
+        // контроллер может реализовывать несколько API-интерфейсов с разными пулами
+        for (Class<?> api : ClassUtils.getAllInterfacesForClassAsSet(beanType)) {
+            WorkloadPool onApi = api.getAnnotation(WorkloadPool.class);
+            if (onApi != null && ClassUtils.hasMethod(api, method.getName(), method.getParameterTypes())) {
+                return onApi.value();
+            }
+        }
+        return Workload.INTERNAL;
+    }
+
+}
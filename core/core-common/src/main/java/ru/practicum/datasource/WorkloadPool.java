@@ -0,0 +1,18 @@
+package ru.practicum.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Пул соединений для эндпоинтов API-интерфейса или отдельного метода (аннотация на методе важнее).
+ * Эндпоинты без аннотации обслуживает пул INTERNAL.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface WorkloadPool {
+
+    Workload value();
+
+}
@@ -0,0 +1,124 @@
+package ru.practicum.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Отдельные пулы соединений для классов нагрузки public/private/admin/internal.
+ * Настройки пула: spring.datasource.hikari, поверх них - explore-with-me.datasource.pools.<класс>.
+ * При включенной реплике так же делится и ее пул (база - explore-with-me.datasource.replica.hikari),
+ * а маршрутизацию между основной БД и репликой выполняет ReplicaRoutingConfiguration.
+ * Пулы не регистрируются бинами, поэтому метрики hikaricp.* (тег pool) подключаются здесь.
+ */
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.datasource.pools.enabled", havingValue = "true")
+public class WorkloadPoolsConfiguration implements WebMvcConfigurer {
+
+    private static final String POOLS_PREFIX = "explore-with-me.datasource.pools.";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new WorkloadInterceptor());
+    }
+
+    // Тело асинхронного ответа (StreamingResponseBody выгрузок) выполняется в applicationTaskExecutor:
+    // декоратор переносит туда класс нагрузки и остальной контекст потока запроса
+    @Bean
+    public ContextPropagatingTaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean(name = "workloadDataSource", defaultCandidate = false)
+    @Qualifier(ReplicaRoutingConfiguration.PRIMARY)
+    public DataSource workloadDataSource(DataSourceProperties properties, Environment environment,
+                                         MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            bind(binder, pool, "spring.datasource.hikari", POOLS_PREFIX + workload.key());
+            pool.setPoolName(workload.key());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    // без реплики приложение работает напрямую с пулами основной БД
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "explore-with-me.datasource.replica.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource routingDataSource(@Qualifier(ReplicaRoutingConfiguration.PRIMARY) DataSource workloadDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadDataSource);
+    }
+
+    // логин и пароль по умолчанию те же, что у основной БД
+    @Bean(name = "workloadReplicaDataSource", defaultCandidate = false)
+    @Qualifier(ReplicaRoutingConfiguration.REPLICA)
+    @ConditionalOnProperty(name = "explore-with-me.datasource.replica.enabled", havingValue = "true")
+    public DataSource workloadReplicaDataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${explore-with-me.datasource.replica.url}") String url,
+            @Value("${explore-with-me.datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${explore-with-me.datasource.replica.password:${spring.datasource.password}}") String password
+    ) {
+        Binder binder = Binder.get(environment);
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setDriverClassName(properties.determineDriverClassName());
+            bind(binder, pool, "spring.datasource.hikari", "explore-with-me.datasource.replica.hikari",
+                    POOLS_PREFIX + workload.key());
+            pool.setJdbcUrl(url);
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setReadOnly(true);
+            pool.setPoolName("replica-" + workload.key());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    // open-in-view держал бы соединение пула до конца HTTP-запроса, в том числе всю потоковую выгрузку
+    // с ее короткими транзакциями по пачкам
+    @Bean
+    public HibernatePropertiesCustomizer workloadConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // PRIVATE METHODS
+
+    // префиксы применяются по очереди, последующие переопределяют предыдущие
+    private static void bind(Binder binder, HikariDataSource pool, String... prefixes) {
+        for (String prefix : prefixes) {
+            binder.bind(prefix, Bindable.ofInstance(pool));
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package ru.practicum.datasource;
+
+import io.micrometer.context.ContextRegistry;
+
+import java.time.Duration;
+
+/**
+ * Метка последней записи клиента (epoch millis), по которой его чтения закрепляются за основной БД.
+ * Клиент получает ее в заголовке X-EWM-WRITE-MARK и cookie EWM_WRITE_MARK и возвращает в следующих запросах,
+ * сервисы передают ее дальше во внутренних Feign- и gRPC-вызовах, поэтому read-your-writes не зависит от того,
+ * на какой экземпляр попал запрос. Хранится в ThreadLocal и зарегистрирована в context-propagation, как и PrimaryPin.
+ */
+public final class WriteMark implements AutoCloseable {
+
+    public static final String HEADER = "X-EWM-WRITE-MARK";
+    public static final String COOKIE = "EWM_WRITE_MARK";
+    // имена gRPC-метаданных - в нижнем регистре
+    public static final String GRPC_KEY = "x-ewm-write-mark";
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("ewm.write-mark", CURRENT);
+    }
+
+    private final Long previous;
+
+    private WriteMark(Long previous) {
+        this.previous = previous;
+    }
+
+    // Делает метку текущей для потока; close() восстанавливает предыдущую
+    public static WriteMark open(long mark) {
+        WriteMark writeMark = new WriteMark(CURRENT.get());
+        CURRENT.set(mark);
+        return writeMark;
+    }
+
+    // Метка для передачи во внутренние вызовы или null
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    // Метка из заголовка, cookie или метаданных; некорректное значение считается отсутствующим
+    public static Long parse(String value) {
+        if (value == null) return null;
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Реплика могла еще не получить запись, сделанную меньше stickyWindow назад
+    public static boolean isRecent(Long mark, Duration stickyWindow) {
+        return mark != null && System.currentTimeMillis() - mark < stickyWindow.toMillis();
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package ru.practicum.datasource;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+
+/**
+ * Передает метку записи текущего запроса (WriteMark) в gRPC-метаданных внутреннего вызова.
+ */
+public class WriteMarkClientInterceptor implements ClientInterceptor {
+
+    static final Metadata.Key<String> KEY = Metadata.Key.of(WriteMark.GRPC_KEY, Metadata.ASCII_STRING_MARSHALLER);
+
+    @Override
+    public <Q, R> ClientCall<Q, R> interceptCall(MethodDescriptor<Q, R> method, CallOptions callOptions, Channel next) {
+        // блокирующий stub вызывает interceptCall в потоке запроса, где метка доступна
+        Long mark = WriteMark.current();
+        ClientCall<Q, R> call = next.newCall(method, callOptions);
+        if (mark == null) return call;
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(call) {
+            @Override
+            public void start(Listener<R> responseListener, Metadata headers) {
+                headers.put(KEY, String.valueOf(mark));
+                super.start(responseListener, headers);
+            }
+        };
+    }
+
+}
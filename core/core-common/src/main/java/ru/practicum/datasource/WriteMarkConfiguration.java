@@ -0,0 +1,43 @@
+package ru.practicum.datasource;
+
+import feign.RequestInterceptor;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Прием и передача метки записи (WriteMark) включены всегда, даже без реплики у самого сервиса:
+ * иначе метка терялась бы на пути к сервису, который читает с реплики.
+ */
+@Configuration
+public class WriteMarkConfiguration {
+
+    private final Duration stickyWindow;
+
+    public WriteMarkConfiguration(@Value("${explore-with-me.datasource.replica.sticky-window:5s}") Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(stickyWindow);
+    }
+
+    @Bean
+    public RequestInterceptor writeMarkFeignInterceptor() {
+        return template -> {
+            Long mark = WriteMark.current();
+            if (mark != null) template.header(WriteMark.HEADER, String.valueOf(mark));
+        };
+    }
+
+    @Bean
+    @GrpcGlobalServerInterceptor
+    public WriteMarkServerInterceptor writeMarkServerInterceptor() {
+        return new WriteMarkServerInterceptor(stickyWindow);
+    }
+
+}
@@ -0,0 +1,47 @@
+package ru.practicum.datasource;
+
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * gRPC-аналог ReadYourWritesFilter для чтений: вызов с меткой записи моложе sticky-window работает с основной БД.
+ * Метка и закрепление ставятся вокруг каждого обратного вызова слушателя - unary-метод выполняется в onHalfClose
+ * в потоке executor'а gRPC, а не в потоке interceptCall.
+ */
+public class WriteMarkServerInterceptor implements ServerInterceptor {
+
+    private final Duration stickyWindow;
+
+    public WriteMarkServerInterceptor(Duration stickyWindow) {
+        this.stickyWindow = stickyWindow;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        Long mark = WriteMark.parse(headers.get(WriteMarkClientInterceptor.KEY));
+        ServerCall.Listener<Q> listener = next.startCall(call, headers);
+        if (!WriteMark.isRecent(mark, stickyWindow)) return listener;
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(Q message) {
+                try (PrimaryPin ignored = PrimaryPin.pin("sticky"); WriteMark ignoredMark = WriteMark.open(mark)) {
+                    super.onMessage(message);
+                }
+            }
+
+            @Override
+            public void onHalfClose() {
+                try (PrimaryPin ignored = PrimaryPin.pin("sticky"); WriteMark ignoredMark = WriteMark.open(mark)) {
+                    super.onHalfClose();
+                }
+            }
+        };
+    }
+
+}
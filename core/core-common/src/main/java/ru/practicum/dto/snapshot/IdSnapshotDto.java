@@ -0,0 +1,42 @@
+package ru.practicum.dto.snapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Компактный снимок множества существующих id: бит i соответствует id = fromId + i.
+ * toId - максимальный существующий id страницы (fromId - 1, если записей нет).
+ * Снимок отдается страницами по limit id: при more = true следующая страница запрашивается с toId + 1.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdSnapshotDto {
+
+    private Long fromId;
+
+    private Long toId;
+
+    private byte[] bits;
+
+    private boolean more;
+
+    // ids - не больше limit id начиная с fromId в порядке возрастания
+    public static IdSnapshotDto of(Long fromId, Collection<Long> ids, int limit) {
+        BitSet bitSet = new BitSet();
+        long toId = fromId - 1;
+        for (Long id : ids) {
+            if (id < fromId) continue;
+            bitSet.set((int) (id - fromId));
+            toId = Math.max(toId, id);
+        }
+        return new IdSnapshotDto(fromId, toId, bitSet.toByteArray(), ids.size() >= limit);
+    }
+
+}
@@ -0,0 +1,34 @@
+package ru.practicum.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResultDto {
+
+    private long total;
+
+    private long created;
+
+    private long duplicates;
+
+    private long alreadyExists;
+
+    private long invalid;
+
+    // только строки, не ставшие пользователями (первые explore-with-me.user.import.max-reported-rows)
+    @Builder.Default
+    private List<UserImportRowResultDto> rows = new ArrayList<>();
+
+    // строки с ошибкой, не попавшие в rows из-за ограничения
+    private long omittedRows;
+
+}
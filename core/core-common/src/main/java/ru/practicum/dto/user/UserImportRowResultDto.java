@@ -0,0 +1,22 @@
+package ru.practicum.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRowResultDto {
+
+    private Long line;
+
+    private String email;
+
+    private UserImportStatus status;
+
+    private String reason;
+
+}
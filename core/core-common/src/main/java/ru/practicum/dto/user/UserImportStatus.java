@@ -0,0 +1,7 @@
+package ru.practicum.dto.user;
+
+public enum UserImportStatus {
+
+    DUPLICATE_IN_REQUEST, ALREADY_EXISTS, INVALID
+
+}
@@ -4,6 +4,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -89,6 +90,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiError, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(
+            OptimisticLockingFailureException.class                    // concurrent modification (@Version)
+    )
+    public ResponseEntity<ApiError> handleOptimisticLockingFailure(OptimisticLockingFailureException e, HttpServletRequest request) {
+        log.debug("CONCURRENT MODIFICATION: {}", e.getMessage());
+        ApiError apiError = ApiError.builder()
+                .status(HttpStatus.CONFLICT)
+                .reason("Concurrent modification")
+                .message("The object was changed by another request, reload it and retry")
+                .timestamp(LocalDateTime.now())
+                .build();
+        return new ResponseEntity<>(apiError, HttpStatus.CONFLICT);
+    }
+
     // CUSTOM EXCEPTIONS --------------------------------------------------------
 
     @ExceptionHandler(
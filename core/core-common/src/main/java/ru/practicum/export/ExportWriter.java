@@ -0,0 +1,97 @@
+package ru.practicum.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+// Построчная запись выгрузки: NDJSON через ObjectMapper, CSV по списку колонок
+public class ExportWriter<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer out;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final List<Column<T>> columns;
+    private boolean headerWritten;
+
+    public ExportWriter(OutputStream outputStream, ExportFormat format, ObjectMapper objectMapper,
+                        List<Column<T>> columns) {
+        this.out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.columns = columns;
+    }
+
+    public void write(T row) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            out.write(objectMapper.writeValueAsString(row));
+            out.write('\n');
+            return;
+        }
+        if (!headerWritten) {
+            writeCsvLine(columns.stream().map(Column::name).toList());
+            headerWritten = true;
+        }
+        List<Object> values = new ArrayList<>(columns.size());
+        for (Column<T> column : columns) values.add(column.getter().apply(row));
+        writeCsvLine(values);
+    }
+
+    // Сбрасываем буфер после каждой пачки, чтобы клиент получал данные по мере выгрузки
+    public void flush() throws IOException {
+        if (format == ExportFormat.CSV && !headerWritten) {
+            writeCsvLine(columns.stream().map(Column::name).toList());
+            headerWritten = true;
+        }
+        out.flush();
+    }
+
+    private void writeCsvLine(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) out.write(',');
+            Object value = values.get(i);
+            if (value != null) out.write(escapeCsv(value.toString()));
+        }
+        out.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    // Обход выгрузки пачками по возрастанию ключа: loadAfter читает не больше batchSize строк с ключом больше
+    // переданного своей короткой транзакцией, поэтому соединение с БД не удерживается, пока пачка обогащается
+    // и пишется клиенту. Для ключа нужен индекс (первичный ключ), иначе каждая пачка - полный проход
+    public static <E> void forEachKeysetBatch(int batchSize, LongFunction<List<E>> loadAfter, ToLongFunction<E> key,
+                                              BatchHandler<E> handler) throws IOException {
+        long afterKey = 0;
+        List<E> batch;
+        do {
+            batch = loadAfter.apply(afterKey);
+            if (batch.isEmpty()) return;
+            handler.handle(batch);
+            afterKey = key.applyAsLong(batch.getLast());
+        } while (batch.size() >= batchSize);
+    }
+
+    public record Column<T>(String name, Function<T, Object> getter) {
+    }
+
+    @FunctionalInterface
+    public interface BatchHandler<E> {
+        void handle(List<E> batch) throws IOException;
+    }
+
+}
@@ -0,0 +1,42 @@
+package ru.practicum.interaction;
+
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.advice.GrpcAdvice;
+import net.devh.boot.grpc.server.advice.GrpcExceptionHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import ru.practicum.exception.*;
+
+// gRPC-аналог GlobalExceptionHandler: исключения сервисного слоя переводятся в коды статуса
+@Slf4j
+@GrpcAdvice
+@ConditionalOnClass(GrpcAdvice.class)
+public class GrpcExceptionAdvice {
+
+    @GrpcExceptionHandler(NotFoundException.class)
+    public Status handleNotFound(NotFoundException e) {
+        return Status.NOT_FOUND.withDescription(e.getMessage());
+    }
+
+    @GrpcExceptionHandler({BadRequestException.class, IllegalArgumentException.class})
+    public Status handleBadRequest(RuntimeException e) {
+        return Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+    }
+
+    @GrpcExceptionHandler({ConflictException.class, ForbiddenException.class})
+    public Status handleConflict(RuntimeException e) {
+        return Status.FAILED_PRECONDITION.withDescription(e.getMessage());
+    }
+
+    @GrpcExceptionHandler(ServiceInteractionException.class)
+    public Status handleServiceInteraction(ServiceInteractionException e) {
+        return Status.UNAVAILABLE.withDescription(e.getMessage());
+    }
+
+    @GrpcExceptionHandler(Exception.class)
+    public Status handleOther(Exception e) {
+        log.warn("gRPC call failed: caught " + e.getClass().getSimpleName() + " - " + e.getMessage());
+        return Status.INTERNAL.withDescription(e.getMessage());
+    }
+
+}
@@ -0,0 +1,36 @@
+package ru.practicum.interaction;
+
+import com.netflix.appinfo.ApplicationInfoManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.event.GrpcServerStartedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Публикует в Eureka фактический порт gRPC-сервера.
+ * Стартер сам пишет в метаданные gRPC_port из настроек, но при grpc.server.port: 0 там оказывается 0.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnClass({GrpcServerStartedEvent.class, ApplicationInfoManager.class})
+public class GrpcPortMetadataRegistrar {
+
+    private static final String GRPC_PORT_METADATA = "gRPC_port";
+
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @EventListener
+    public void onGrpcServerStarted(GrpcServerStartedEvent event) {
+        ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+        if (infoManager == null) return;
+        infoManager.registerAppMetadata(Map.of(GRPC_PORT_METADATA, Integer.toString(event.getPort())));
+        log.info("Registered gRPC port {} in discovery metadata", event.getPort());
+    }
+
+}
@@ -0,0 +1,125 @@
+package ru.practicum.interaction;
+
+import com.google.protobuf.Timestamp;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import ru.practicum.dto.event.EventInteractionDto;
+import ru.practicum.dto.event.LocationDto;
+import ru.practicum.dto.event.State;
+import ru.practicum.dto.user.UserShortDto;
+import ru.practicum.grpc.interaction.message.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+
+public class InteractionProtoMapper {
+
+    // ID LIST
+
+    public static IdListProto toIdListProto(Collection<Long> ids) {
+        return IdListProto.newBuilder()
+                .addAllId(ids)
+                .build();
+    }
+
+    // USER
+
+    public static UserShortListProto toUserShortListProto(Collection<UserShortDto> users) {
+        UserShortListProto.Builder builder = UserShortListProto.newBuilder();
+        for (UserShortDto user : users) {
+            builder.addUser(UserShortProto.newBuilder()
+                    .setId(user.getId())
+                    .setName(user.getName() == null ? "" : user.getName()));
+        }
+        return builder.build();
+    }
+
+    public static List<UserShortDto> toUserShortDtoList(UserShortListProto proto) {
+        return proto.getUserList().stream()
+                .map(u -> new UserShortDto(u.getId(), u.getName()))
+                .toList();
+    }
+
+    // CONFIRMED REQUESTS
+
+    public static ConfirmedRequestsProto toConfirmedRequestsProto(Long2LongMap confirmedMap) {
+        ConfirmedRequestsProto.Builder builder = ConfirmedRequestsProto.newBuilder();
+        for (Long2LongMap.Entry entry : confirmedMap.long2LongEntrySet()) {
+            builder.addEventId(entry.getLongKey());
+            builder.addConfirmed(entry.getLongValue());
+        }
+        return builder.build();
+    }
+
+    public static Long2LongMap toConfirmedRequestsMap(ConfirmedRequestsProto proto) {
+        Long2LongOpenHashMap result = new Long2LongOpenHashMap(proto.getEventIdCount());
+        for (int i = 0; i < proto.getEventIdCount(); i++) {
+            result.put(proto.getEventId(i), proto.getConfirmed(i));
+        }
+        return result;
+    }
+
+    // EVENT
+
+    public static EventInteractionProto toEventInteractionProto(EventInteractionDto dto) {
+        EventInteractionProto.Builder builder = EventInteractionProto.newBuilder()
+                .setId(dto.getId());
+        if (dto.getInitiatorId() != null) builder.setInitiatorId(dto.getInitiatorId());
+        if (dto.getCategoryId() != null) builder.setCategoryId(dto.getCategoryId());
+        if (dto.getTitle() != null) builder.setTitle(dto.getTitle());
+        if (dto.getAnnotation() != null) builder.setAnnotation(dto.getAnnotation());
+        if (dto.getDescription() != null) builder.setDescription(dto.getDescription());
+        if (dto.getState() != null) builder.setState(EventStateProto.valueOf("STATE_" + dto.getState().name()));
+        if (dto.getLocation() != null && dto.getLocation().getLat() != null && dto.getLocation().getLon() != null)
+            builder.setLocation(LocationProto.newBuilder()
+                    .setLat(dto.getLocation().getLat())
+                    .setLon(dto.getLocation().getLon()));
+        if (dto.getParticipantLimit() != null) builder.setParticipantLimit(dto.getParticipantLimit());
+        if (dto.getRequestModeration() != null) builder.setRequestModeration(dto.getRequestModeration());
+        if (dto.getPaid() != null) builder.setPaid(dto.getPaid());
+        if (dto.getEventDate() != null) builder.setEventDate(toTimestamp(dto.getEventDate()));
+        if (dto.getPublishedOn() != null) builder.setPublishedOn(toTimestamp(dto.getPublishedOn()));
+        if (dto.getCreatedOn() != null) builder.setCreatedOn(toTimestamp(dto.getCreatedOn()));
+        return builder.build();
+    }
+
+    public static EventInteractionDto toEventInteractionDto(EventInteractionProto proto) {
+        return EventInteractionDto.builder()
+                .id(proto.getId())
+                .initiatorId(proto.hasInitiatorId() ? proto.getInitiatorId() : null)
+                .categoryId(proto.hasCategoryId() ? proto.getCategoryId() : null)
+                .title(proto.hasTitle() ? proto.getTitle() : null)
+                .annotation(proto.hasAnnotation() ? proto.getAnnotation() : null)
+                .description(proto.hasDescription() ? proto.getDescription() : null)
+                .state(proto.getState() == EventStateProto.STATE_UNSPECIFIED
+                        ? null
+                        : State.valueOf(proto.getState().name().substring("STATE_".length())))
+                .location(proto.hasLocation()
+                        ? new LocationDto(proto.getLocation().getLat(), proto.getLocation().getLon())
+                        : null)
+                .participantLimit(proto.hasParticipantLimit() ? proto.getParticipantLimit() : null)
+                .requestModeration(proto.hasRequestModeration() ? proto.getRequestModeration() : null)
+                .paid(proto.hasPaid() ? proto.getPaid() : null)
+                .eventDate(proto.hasEventDate() ? toLocalDateTime(proto.getEventDate()) : null)
+                .publishedOn(proto.hasPublishedOn() ? toLocalDateTime(proto.getPublishedOn()) : null)
+                .createdOn(proto.hasCreatedOn() ? toLocalDateTime(proto.getCreatedOn()) : null)
+                .build();
+    }
+
+    // PRIVATE METHODS
+
+    // LocalDateTime передается как есть, без учета часового пояса - обе стороны используют этот маппер
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.newBuilder()
+                .setSeconds(dateTime.toEpochSecond(ZoneOffset.UTC))
+                .setNanos(dateTime.getNano())
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return LocalDateTime.ofEpochSecond(timestamp.getSeconds(), timestamp.getNanos(), ZoneOffset.UTC);
+    }
+
+}
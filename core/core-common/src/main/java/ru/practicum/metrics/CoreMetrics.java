@@ -0,0 +1,53 @@
+package ru.practicum.metrics;
+
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Имена бизнес-метрик основного приложения, публикуются в /actuator/prometheus.
+ * Таймеры методов пишет TimedAspect (management.observations.annotations.enabled) с тегами class и method,
+ * гистограммы включаются в management.metrics.distribution.percentiles-histogram.<имя>.
+ * Время запросов к БД - стандартная метрика spring.data.repository.invocations.
+ */
+public final class CoreMetrics {
+
+    // методы сервисного слоя
+    public static final String SERVICE_METHOD = "ewm.service.method";
+
+    // обращения хелперов к другим сервисам
+    public static final String CLIENT_CALL = "ewm.client.call";
+
+    // ответы хелперов заглушками (makeDummy) вместо данных недоступного сервиса
+    public static final String CLIENT_FALLBACK = "ewm.client.fallback";
+
+    // обращения хелперов к локальному кэшу DTO другого сервиса (см. LocalDtoCache), тег result: hit/miss
+    public static final String CLIENT_CACHE = "ewm.client.cache";
+
+    // SQL-операторы и удаленные вызовы на HTTP-запрос, превышения бюджета (см. QueryBudgetFilter)
+    public static final String REQUEST_STATEMENTS = "ewm.request.statements";
+    public static final String REQUEST_REMOTE_CALLS = "ewm.request.remote.calls";
+    public static final String REQUEST_BUDGET_EXCEEDED = "ewm.request.budget.exceeded";
+
+    // маршрутизация соединений между основной БД и репликой, отставание реплики (см. ReplicaRoutingDataSource)
+    public static final String DATASOURCE_ROUTE = "ewm.datasource.route";
+    public static final String DATASOURCE_REPLICA_LAG = "ewm.datasource.replica.lag";
+
+    // строки, перенесенные фоновой архивацией прошедших событий в архивные таблицы (тег table)
+    public static final String ARCHIVE_MOVED = "ewm.archive.moved";
+
+    private CoreMetrics() {
+    }
+
+    // глобальный реестр: Spring Boot добавляет в него реестры приложения (management.metrics.use-global-registry)
+    public static void countFallback(String service, String dto, int count) {
+        Metrics.counter(CLIENT_FALLBACK, "service", service, "dto", dto).increment(count);
+    }
+
+    public static void countCacheLookup(String service, String dto, boolean hit) {
+        Metrics.counter(CLIENT_CACHE, "service", service, "dto", dto, "result", hit ? "hit" : "miss").increment();
+    }
+
+    public static void countArchived(String table, int count) {
+        Metrics.counter(ARCHIVE_MOVED, "table", table).increment(count);
+    }
+
+}
@@ -0,0 +1,14 @@
+package ru.practicum.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate вызывает инспектор перед подготовкой каждого оператора, SQL не изменяется
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.countStatement();
+        return sql;
+    }
+
+}
@@ -0,0 +1,52 @@
+package ru.practicum.querybudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Бюджет SQL-операторов и удаленных вызовов на HTTP-запрос - детектор N+1 и лишних обращений к сервисам.
+ * Операторы считает StatementInspector Hibernate, удаленные вызовы - обработчик клиентских observation.
+ */
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.query-budget.enabled", havingValue = "true")
+public class QueryBudgetConfiguration {
+
+    @Bean
+    public QueryBudgetStats queryBudgetStats() {
+        return new QueryBudgetStats();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    @Bean
+    public RemoteCallObservationHandler remoteCallObservationHandler() {
+        return new RemoteCallObservationHandler();
+    }
+
+    @Bean
+    public QueryBudgetFilter queryBudgetFilter(
+            QueryBudgetStats stats,
+            MeterRegistry meterRegistry,
+            @Value("${explore-with-me.query-budget.max-statements:20}") int maxStatements,
+            @Value("${explore-with-me.query-budget.max-remote-calls:5}") int maxRemoteCalls
+    ) {
+        return new QueryBudgetFilter(stats, meterRegistry, maxStatements, maxRemoteCalls);
+    }
+
+    @Bean
+    public QueryBudgetEndpoint queryBudgetEndpoint(
+            QueryBudgetStats stats,
+            @Value("${explore-with-me.query-budget.top:10}") int top
+    ) {
+        return new QueryBudgetEndpoint(stats, top);
+    }
+
+}
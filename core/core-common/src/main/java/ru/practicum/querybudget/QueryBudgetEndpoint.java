@@ -0,0 +1,30 @@
+package ru.practicum.querybudget;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import ru.practicum.querybudget.QueryBudgetStats.EndpointQueryStats;
+
+import java.util.List;
+
+// GET /actuator/querybudget?limit=N - худшие эндпоинты, DELETE - сброс статистики
+@Endpoint(id = "querybudget")
+@RequiredArgsConstructor
+public class QueryBudgetEndpoint {
+
+    private final QueryBudgetStats stats;
+    private final int defaultLimit;
+
+    @ReadOperation
+    public List<EndpointQueryStats> worst(@Nullable Integer limit) {
+        return stats.worst(limit != null ? limit : defaultLimit);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        stats.reset();
+    }
+
+}
@@ -0,0 +1,69 @@
+package ru.practicum.querybudget;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.metrics.CoreMetrics;
+
+import java.io.IOException;
+
+/**
+ * Считает SQL-операторы и удаленные вызовы каждого HTTP-запроса и сравнивает их с бюджетом.
+ * Превышение пишется в лог и в счетчик ewm.request.budget.exceeded, статистика по эндпоинтам -
+ * в QueryBudgetStats (actuator-эндпоинт querybudget).
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final QueryBudgetStats stats;
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final int maxRemoteCalls;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter counter = QueryCounter.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            counter.close();
+            record(request, counter);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    // PRIVATE METHODS
+
+    private void record(HttpServletRequest request, QueryCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED;
+        String endpoint = request.getMethod() + " " + uri;
+        int statements = counter.statements();
+        int remoteCalls = counter.remoteCalls();
+        boolean overBudget = statements > maxStatements || remoteCalls > maxRemoteCalls;
+
+        stats.record(endpoint, statements, remoteCalls, overBudget);
+        meterRegistry.summary(CoreMetrics.REQUEST_STATEMENTS, "method", request.getMethod(), "uri", uri).record(statements);
+        meterRegistry.summary(CoreMetrics.REQUEST_REMOTE_CALLS, "method", request.getMethod(), "uri", uri).record(remoteCalls);
+        if (overBudget) {
+            meterRegistry.counter(CoreMetrics.REQUEST_BUDGET_EXCEEDED, "method", request.getMethod(), "uri", uri).increment();
+            log.warn("Query budget exceeded: {} ({}) - {} statements (budget {}), {} remote calls (budget {})",
+                    endpoint, request.getRequestURI(), statements, maxStatements, remoteCalls, maxRemoteCalls);
+        }
+    }
+
+}
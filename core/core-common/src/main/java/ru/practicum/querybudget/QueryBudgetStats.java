@@ -0,0 +1,71 @@
+package ru.practicum.querybudget;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Накопленная статистика SQL-операторов и удаленных вызовов по эндпоинтам (метод + шаблон пути).
+ */
+public class QueryBudgetStats {
+
+    private final ConcurrentMap<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, int statements, int remoteCalls, boolean overBudget) {
+        endpoints.computeIfAbsent(endpoint, k -> new EndpointCounters()).add(statements, remoteCalls, overBudget);
+    }
+
+    // Худшие эндпоинты по средней сумме операторов и удаленных вызовов на запрос
+    public List<EndpointQueryStats> worst(int limit) {
+        return endpoints.entrySet().stream()
+                .map(e -> e.getValue().toStats(e.getKey()))
+                .sorted(Comparator.comparingDouble(EndpointQueryStats::avgCost).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    public record EndpointQueryStats(String endpoint, long requests, double avgStatements, int maxStatements,
+                                     double avgRemoteCalls, int maxRemoteCalls, long overBudget) {
+
+        double avgCost() {
+            return avgStatements + avgRemoteCalls;
+        }
+
+    }
+
+    private static class EndpointCounters {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder remoteCalls = new LongAdder();
+        private final LongAdder overBudget = new LongAdder();
+        private final AtomicInteger maxStatements = new AtomicInteger();
+        private final AtomicInteger maxRemoteCalls = new AtomicInteger();
+
+        private void add(int statementCount, int remoteCallCount, boolean exceeded) {
+            requests.increment();
+            statements.add(statementCount);
+            remoteCalls.add(remoteCallCount);
+            if (exceeded) overBudget.increment();
+            maxStatements.accumulateAndGet(statementCount, Math::max);
+            maxRemoteCalls.accumulateAndGet(remoteCallCount, Math::max);
+        }
+
+        private EndpointQueryStats toStats(String endpoint) {
+            long count = Math.max(1, requests.sum());
+            return new EndpointQueryStats(endpoint, requests.sum(),
+                    (double) statements.sum() / count, maxStatements.get(),
+                    (double) remoteCalls.sum() / count, maxRemoteCalls.get(),
+                    overBudget.sum());
+        }
+
+    }
+
+}
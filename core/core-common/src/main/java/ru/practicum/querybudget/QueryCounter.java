@@ -0,0 +1,63 @@
+package ru.practicum.querybudget;
+
+import io.micrometer.context.ContextRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Счетчик SQL-операторов и удаленных вызовов в рамках одного HTTP-запроса.
+ * Хранится в ThreadLocal и зарегистрирован в context-propagation, поэтому переносится в пулы,
+ * обернутые ContextExecutorService (circuit breaker Feign, hedging вызовов анализатора).
+ * Можно использовать и в тестах: try (QueryCounter counter = QueryCounter.begin()) { ... counter.statements() }
+ */
+public final class QueryCounter implements AutoCloseable {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("ewm.query-counter", CURRENT);
+    }
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+    private final QueryCounter previous;
+
+    private QueryCounter(QueryCounter previous) {
+        this.previous = previous;
+    }
+
+    // Начинает подсчет в текущем потоке; close() восстанавливает предыдущий счетчик
+    public static QueryCounter begin() {
+        QueryCounter counter = new QueryCounter(CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    static void countStatement() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) counter.statements.incrementAndGet();
+    }
+
+    static void countRemoteCall() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) counter.remoteCalls.incrementAndGet();
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public int remoteCalls() {
+        return remoteCalls.get();
+    }
+
+    @Override
+    public void close() {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package ru.practicum.querybudget;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+
+// Считает исходящие вызовы по клиентским observation: Feign, gRPC-каналы с ObservationGrpcClientInterceptor.
+// JDBC-observation (datasource-micrometer) - простой SenderContext и сюда не попадает
+public class RemoteCallObservationHandler implements ObservationHandler<RequestReplySenderContext<?, ?>> {
+
+    @Override
+    public void onStart(RequestReplySenderContext<?, ?> context) {
+        QueryCounter.countRemoteCall();
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof RequestReplySenderContext<?, ?>;
+    }
+
+}
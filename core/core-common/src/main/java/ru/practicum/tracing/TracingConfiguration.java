@@ -0,0 +1,66 @@
+package ru.practicum.tracing;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Дополнения к автоконфигурации трассировки (micrometer-tracing + OpenTelemetry).
+ * HTTP, Feign, gRPC-сервер и JDBC инструментируются автоматически, клиентские gRPC-каналы - в их конфигурациях.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    // Экспорт span'ов в лог сервиса - для локальной отладки без OTLP-коллектора
+    @Bean
+    @ConditionalOnProperty(name = "explore-with-me.tracing.log-exporter.enabled", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+    // Общий пул для circuit breaker'ов всех групп, закрывается вместе с контекстом
+    @Bean(destroyMethod = "close")
+    public CircuitBreakerExecutor circuitBreakerExecutor() {
+        return new CircuitBreakerExecutor();
+    }
+
+    // Feign-вызовы под circuit breaker выполняются в его пуле потоков - переносим туда текущий span
+    @Bean
+    public Customizer<Resilience4JCircuitBreakerFactory> tracingCircuitBreakerExecutorCustomizer(
+            CircuitBreakerExecutor circuitBreakerExecutor) {
+        return factory -> {
+            factory.configureExecutorService(circuitBreakerExecutor.executorService());
+            factory.configureGroupExecutorService(group -> circuitBreakerExecutor.executorService());
+        };
+    }
+
+    /**
+     * Пул виртуальных потоков с переносом контекста (трассировка, бюджет запросов, класс нагрузки).
+     * Число одновременных вызовов ограничивают bulkhead'ы сервисов (DownstreamBulkheads), а не размер пула.
+     * Не объявлен бином ExecutorService, чтобы не отключать автоконфигурацию applicationTaskExecutor.
+     */
+    public static class CircuitBreakerExecutor implements AutoCloseable {
+
+        private final ExecutorService executorService = ContextExecutorService.wrap(
+                Executors.newVirtualThreadPerTaskExecutor(), ContextSnapshotFactory.builder().build());
+
+        public ExecutorService executorService() {
+            return executorService;
+        }
+
+        @Override
+        public void close() {
+            executorService.shutdownNow();
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package ru.practicum.client.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.*;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final String SERVICE_ID = "event-service";
+    private static final long FAILURE_PENALTY_MS = 2000;
+
+    private final ServiceInstance first = new DefaultServiceInstance("first", SERVICE_ID, "10.0.0.1", 8080, false);
+    private final ServiceInstance second = new DefaultServiceInstance("second", SERVICE_ID, "10.0.0.2", 8080, false);
+
+    private LatencyAwareLoadBalancer balancer;
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<ServiceInstanceListSupplier> supplier = mock(ObjectProvider.class);
+        when(supplier.getIfAvailable(any()))
+                .thenReturn(ServiceInstanceListSuppliers.from(SERVICE_ID, first, second));
+        balancer = new LatencyAwareLoadBalancer(supplier, SERVICE_ID, 10000, FAILURE_PENALTY_MS);
+    }
+
+    @Test
+    void slowerInstanceLosesTheChoice() {
+        complete(first, 5, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+        complete(second, 200, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+
+        // из двух экземпляров P2C всегда сравнивает оба
+        for (int i = 0; i < 20; i++) {
+            assertEquals(first, choose());
+        }
+    }
+
+    @Test
+    void requestsInFlightRaiseTheCost() {
+        complete(first, 10, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+        complete(second, 15, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+
+        // ewma * (inflight + 1): два незавершенных запроса делают быстрый экземпляр дороже
+        Request<Object> request = new DefaultRequest<>(new DefaultRequestContext());
+        balancer.onStartRequest(request, new DefaultResponse(first));
+        balancer.onStartRequest(request, new DefaultResponse(first));
+
+        assertEquals(second, choose());
+    }
+
+    @Test
+    void fastServerErrorIsPenalized() {
+        complete(first, 1, CompletionContext.Status.SUCCESS, HttpStatus.INTERNAL_SERVER_ERROR);
+        complete(second, 200, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+
+        assertEquals(second, choose());
+    }
+
+    @Test
+    void failedExchangeIsPenalized() {
+        complete(first, 1, CompletionContext.Status.FAILED, null);
+        complete(second, 200, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+
+        assertEquals(second, choose());
+    }
+
+    @Test
+    void clientErrorIsNotPenalized() {
+        complete(first, 1, CompletionContext.Status.SUCCESS, HttpStatus.NOT_FOUND);
+        complete(second, 200, CompletionContext.Status.SUCCESS, HttpStatus.OK);
+
+        assertEquals(first, choose());
+    }
+
+    // PRIVATE METHODS
+
+    private ServiceInstance choose() {
+        return balancer.choose(new DefaultRequest<>()).block().getServer();
+    }
+
+    // обмен с экземпляром, занявший rttMs; время начала сдвигается назад вместо ожидания
+    private void complete(ServiceInstance instance, long rttMs, CompletionContext.Status status, HttpStatusCode httpStatus) {
+        DefaultRequestContext context = new DefaultRequestContext();
+        Request<Object> request = new DefaultRequest<>(context);
+        Response<ServiceInstance> lbResponse = new DefaultResponse(instance);
+        balancer.onStartRequest(request, lbResponse);
+        context.setRequestStartTime(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(rttMs));
+        Object clientResponse = httpStatus == null ? null : new ResponseData(httpStatus, null, null, null);
+        balancer.onComplete(new CompletionContext<>(status, request, lbResponse, clientResponse));
+    }
+
+}
@@ -0,0 +1,68 @@
+package ru.practicum.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Кэш второго уровня Hibernate (JCache поверх Caffeine) для Event и Category: внутренние запросы request-service
+ * и comment-service по id события (dto/interaction, dto/comment) в основном обходятся без БД.
+ * Регионы создаются здесь с ограничением размера и времени жизни (explore-with-me.entity-cache.<регион>.*),
+ * регион без настроек - ошибка старта. Кэш локален для экземпляра: измененные события сбрасываются на всех
+ * экземплярах через EntityCacheEvictor, потерянный сброс ограничен expire-after-write.
+ * Попадания и промахи по регионам - метрики hibernate.second.level.cache.* (hibernate-micrometer).
+ */
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.entity-cache.enabled", havingValue = "true")
+public class EntityCacheConfiguration {
+
+    public static final String EVENTS = "events";
+    public static final String CATEGORIES = "categories";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${explore-with-me.entity-cache.events.max-size:10000}") long eventsMaxSize,
+            @Value("${explore-with-me.entity-cache.events.expire-after-write:60s}") Duration eventsTtl,
+            @Value("${explore-with-me.entity-cache.categories.max-size:1000}") long categoriesMaxSize,
+            @Value("${explore-with-me.entity-cache.categories.expire-after-write:10m}") Duration categoriesTtl
+    ) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+        cacheManager.createCache(EVENTS, region(eventsMaxSize, eventsTtl));
+        cacheManager.createCache(CATEGORIES, region(categoriesMaxSize, categoriesTtl));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    // PRIVATE METHODS
+
+    // Hibernate кладет в регион разобранное неизменяемое состояние сущности, копировать его при чтении не нужно
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+}
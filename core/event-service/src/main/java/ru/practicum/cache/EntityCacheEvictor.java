@@ -0,0 +1,134 @@
+package ru.practicum.cache;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import ru.practicum.event.dal.Event;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сброс Event в кэше второго уровня на всех экземплярах event-service. Кэш локален для экземпляра, поэтому после
+ * изменения события запрос уходит каждому экземпляру из DiscoveryClient (включая текущий - лишнее перечитывание
+ * дешевле, чем определение своего адреса при server.port: 0).
+ * Отправка асинхронная и без повторов: если сброс потерян, устаревшее событие читается не дольше
+ * explore-with-me.entity-cache.events.expire-after-write; запись устаревшей копии отклоняет @Version.
+ */
+@Slf4j
+@Component
+public class EntityCacheEvictor implements DisposableBean {
+
+    private static final String EVICT_EVENT_PATH = "/events/cache/{eventId}";
+    private static final String EVICT_EVENTS_PATH = "/events/cache";
+
+    private final boolean enabled;
+    private final String serviceId;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final RestClient restClient;
+    private final ExecutorService executor;
+
+    public EntityCacheEvictor(
+            EntityManagerFactory entityManagerFactory,
+            ObjectProvider<DiscoveryClient> discoveryClient,
+            RestClient.Builder restClientBuilder,
+            @Value("${explore-with-me.entity-cache.enabled:false}") boolean cacheEnabled,
+            @Value("${explore-with-me.entity-cache.evict.enabled:false}") boolean evictEnabled,
+            @Value("${explore-with-me.entity-cache.evict.service-id:event-service}") String serviceId,
+            @Value("${explore-with-me.entity-cache.evict.timeout-ms:1000}") int timeoutMs,
+            @Value("${explore-with-me.entity-cache.evict.threads:2}") int threads,
+            @Value("${explore-with-me.entity-cache.evict.queue-size:1000}") int queueSize
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.enabled = cacheEnabled && evictEnabled;
+        this.serviceId = serviceId;
+        this.entityManagerFactory = entityManagerFactory;
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.executor = enabled ? newEvictionExecutor(threads, queueSize) : null;
+    }
+
+    // Вызывается после коммита изменения события. afterEviction выполняется, когда все экземпляры ответили:
+    // так кэш request-service сбрасывается, только когда перечитать устаревшее событие уже негде
+    public void evictEvent(Long eventId, Runnable afterEviction) {
+        broadcast(afterEviction, EVICT_EVENT_PATH, eventId);
+    }
+
+    // вызывается после архивации: перенесенные события не должны читаться из кэша как действующие
+    public void evictAllEvents() {
+        broadcast(() -> { }, EVICT_EVENTS_PATH);
+    }
+
+    // обработка запроса от экземпляра, изменившего событие
+    public void evictEventLocally(Long eventId) {
+        entityManagerFactory.getCache().evict(Event.class, eventId);
+    }
+
+    public void evictAllEventsLocally() {
+        entityManagerFactory.getCache().evict(Event.class);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) executor.shutdown();
+    }
+
+    // PRIVATE METHODS
+
+    // экземпляры обходятся последовательно в одной задаче, afterEviction - после последнего из них
+    private void broadcast(Runnable afterEviction, String path, Object... uriVariables) {
+        DiscoveryClient discovery = enabled ? discoveryClient.getIfAvailable() : null;
+        if (discovery == null) {
+            afterEviction.run();
+            return;
+        }
+        List<ServiceInstance> instances = discovery.getInstances(serviceId);
+        executor.execute(() -> {
+            for (ServiceInstance instance : instances) {
+                evict(instance, path, uriVariables);
+            }
+            afterEviction.run();
+        });
+    }
+
+    private void evict(ServiceInstance instance, String path, Object... uriVariables) {
+        try {
+            restClient.delete()
+                    .uri(instance.getUri() + path, uriVariables)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: entity cache eviction " + path + " failed on "
+                    + instance.getUri() + " - " + e.getMessage());
+        }
+    }
+
+    // очередь ограничена: при лавине изменений лишние сбросы отбрасываются вместе с afterEviction,
+    // их подстраховывают TTL региона и кэша request-service
+    private static ExecutorService newEvictionExecutor(int threads, int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> new Thread(task, "entity-cache-evict-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.DiscardPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build());
+    }
+
+}
@@ -1,9 +1,13 @@
 package ru.practicum.category.dal;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     boolean existsByName(String name);
 
+    Slice<Category> findAllBy(Pageable pageable);
+
 }
\ No newline at end of file
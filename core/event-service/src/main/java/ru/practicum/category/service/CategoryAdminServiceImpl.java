@@ -40,7 +40,7 @@ public class CategoryAdminServiceImpl implements CategoryAdminService {
             log.error("Category with this id does not exist {}", catId);
             throw new NotFoundException("Category with this id does not exist");
         }
-        if (eventRepository.existsByCategoryId(catId)) {
+        if (eventRepository.existsByCategoryId(catId) || eventRepository.existsArchivedByCategoryId(catId)) {
             throw new ConflictException("Can't delete a category with associated events");
         }
         log.info("Result: category with id - {} - deleted", catId);
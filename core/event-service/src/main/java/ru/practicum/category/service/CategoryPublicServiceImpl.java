@@ -2,8 +2,8 @@ package ru.practicum.category.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,8 +25,8 @@ public class CategoryPublicServiceImpl implements CategoryPublicService {
     @Transactional(readOnly = true)
     public List<CategoryDto> readAllCategories(Integer from, Integer size) {
         log.info("readAllCategories - invoked");
-        Page<Category> page = categoryRepository.findAll(PageRequest.of(from, size, Sort.Direction.ASC, "id"));
-        List<Category> cat = page.getContent();
+        Slice<Category> slice = categoryRepository.findAllBy(PageRequest.of(from, size, Sort.Direction.ASC, "id"));
+        List<Category> cat = slice.getContent();
         log.info("Result: categories size = {}", cat.size());
         return CategoryMapper.toListCategoriesDto(cat);
     }
@@ -0,0 +1,98 @@
+package ru.practicum.client;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сброс EventInteractionDto в кэше request-service (explore-with-me.event-cache там) после изменения события.
+ * Feign через балансировщик попадает в один экземпляр, поэтому запрос уходит каждому экземпляру из DiscoveryClient.
+ * Вызывается после сброса события в кэше второго уровня всех экземпляров event-service (EntityCacheEvictor).
+ * Отправка асинхронная и без повторов: если сброс потерян, запись устареет не дольше TTL кэша request-service.
+ */
+@Slf4j
+@Component
+public class RequestCacheEvictor implements DisposableBean {
+
+    private static final String EVICT_PATH = "/requests/cache/events/{eventId}";
+
+    private final boolean enabled;
+    private final String serviceId;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final RestClient restClient;
+    private final ExecutorService executor;
+
+    public RequestCacheEvictor(
+            ObjectProvider<DiscoveryClient> discoveryClient,
+            RestClient.Builder restClientBuilder,
+            @Value("${explore-with-me.event-cache.evict.enabled:false}") boolean enabled,
+            @Value("${explore-with-me.event-cache.evict.service-id:request-service}") String serviceId,
+            @Value("${explore-with-me.event-cache.evict.timeout-ms:1000}") int timeoutMs,
+            @Value("${explore-with-me.event-cache.evict.threads:2}") int threads,
+            @Value("${explore-with-me.event-cache.evict.queue-size:1000}") int queueSize
+    ) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.enabled = enabled;
+        this.serviceId = serviceId;
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.executor = enabled ? newEvictionExecutor(threads, queueSize) : null;
+    }
+
+    // вызывается после коммита изменения, иначе request-service может успеть перечитать старое состояние
+    public void evictEventInteraction(Long eventId) {
+        if (!enabled) return;
+        DiscoveryClient discovery = discoveryClient.getIfAvailable();
+        if (discovery == null) return;
+        for (ServiceInstance instance : discovery.getInstances(serviceId)) {
+            executor.execute(() -> evict(instance, eventId));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) executor.shutdown();
+    }
+
+    // PRIVATE METHODS
+
+    private void evict(ServiceInstance instance, Long eventId) {
+        try {
+            restClient.delete()
+                    .uri(instance.getUri() + EVICT_PATH, eventId)
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RuntimeException e) {
+            log.warn("Service Interaction Error: event " + eventId + " cache eviction failed on "
+                    + instance.getUri() + " - " + e.getMessage());
+        }
+    }
+
+    // очередь ограничена: при лавине изменений лишние сбросы отбрасываются, их подстраховывает TTL кэша
+    private static ExecutorService newEvictionExecutor(int threads, int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> new Thread(task, "request-cache-evict-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.DiscardPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build());
+    }
+
+}
@@ -1,13 +1,22 @@
 package ru.practicum.client;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import ru.practicum.api.request.RequestApi;
+import ru.practicum.client.grpc.RequestInteractionGrpcClient;
 
 @Component
 public class RequestClientHelper extends RequestClientAbstractHelper {
 
-    public RequestClientHelper(RequestApi requestApiClient) {
+    public RequestClientHelper(
+            RequestApi requestApiClient,
+            BulkheadRegistry bulkheadRegistry,
+            ObjectProvider<RequestInteractionGrpcClient> requestGrpcClient
+    ) {
         super(requestApiClient);
+        this.requestBulkhead = bulkheadRegistry.bulkhead(DownstreamBulkheads.REQUEST_SERVICE);
+        this.requestGrpcClient = requestGrpcClient.getIfAvailable();
     }
 
-}
\ No newline at end of file
+}
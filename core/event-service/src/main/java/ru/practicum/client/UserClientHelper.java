@@ -1,13 +1,22 @@
 package ru.practicum.client;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 import ru.practicum.api.user.UserApi;
+import ru.practicum.client.grpc.UserInteractionGrpcClient;
 
 @Component
 public class UserClientHelper extends UserClientAbstractHelper {
 
-    public UserClientHelper(UserApi userApiClient) {
+    public UserClientHelper(
+            UserApi userApiClient,
+            BulkheadRegistry bulkheadRegistry,
+            ObjectProvider<UserInteractionGrpcClient> userGrpcClient
+    ) {
         super(userApiClient);
+        this.userBulkhead = bulkheadRegistry.bulkhead(DownstreamBulkheads.USER_SERVICE);
+        this.userGrpcClient = userGrpcClient.getIfAvailable();
     }
 
-}
\ No newline at end of file
+}
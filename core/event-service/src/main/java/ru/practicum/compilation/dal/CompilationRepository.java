@@ -1,11 +1,13 @@
 package ru.practicum.compilation.dal;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface CompilationRepository extends JpaRepository<Compilation, Long> {
 
-    Page<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+    Slice<Compilation> findAllBy(Pageable pageable);
+
+    Slice<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
 
 }
@@ -1,5 +1,6 @@
 package ru.practicum.compilation.service;
 
+import it.unimi.dsi.fastutil.longs.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,13 +15,11 @@ import ru.practicum.dto.compilation.UpdateCompilationDto;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.event.dal.Event;
 import ru.practicum.event.dal.EventRepository;
+import ru.practicum.event.service.EventMapper;
 import ru.practicum.exception.NotFoundException;
 
-import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,7 +35,7 @@ public class CompilationAdminServiceImpl implements CompilationAdminService {
     @Override
     public CompilationDto createCompilation(NewCompilationDto newCompilationDto) {
         Set<Event> events = new HashSet<>();
-        Map<Long, UserShortDto> userMap = new HashMap<>();
+        Long2ObjectMap<UserShortDto> userMap = new Long2ObjectOpenHashMap<>();
 
         if (newCompilationDto.getPinned() == null) newCompilationDto.setPinned(false);
 
@@ -44,12 +43,12 @@ public class CompilationAdminServiceImpl implements CompilationAdminService {
             events = transactionTemplate.execute(status -> {
                 return new HashSet<>(eventRepository.findAllById(newCompilationDto.getEvents()));
             });
-            Set<Long> userIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
+            LongSet userIds = EventMapper.toInitiatorIdSet(events);
             userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
         }
 
         Set<Event> eventsFinal = events;
-        Map<Long, UserShortDto> userMapFinal = userMap;
+        Long2ObjectMap<UserShortDto> userMapFinal = userMap;
 
         return transactionTemplate.execute(status -> {
             Compilation compilation = Compilation.builder()
@@ -72,13 +71,13 @@ public class CompilationAdminServiceImpl implements CompilationAdminService {
 
     @Override
     public CompilationDto updateCompilation(Long compId, UpdateCompilationDto updateCompilationDto) {
-        Set<Long> userIds = transactionTemplate.execute(status -> {
+        LongSet userIds = transactionTemplate.execute(status -> {
             Compilation compilation = compilationRepository.findById(compId)
                     .orElseThrow(() -> new NotFoundException("Not found Compilation " + compId));
-            return compilation.getEvents().stream().map(Event::getInitiatorId).collect(Collectors.toSet());
+            return EventMapper.toInitiatorIdSet(compilation.getEvents());
         });
 
-        Map<Long, UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
 
         return transactionTemplate.execute(status -> {
             Compilation compilation = compilationRepository.findById(compId)
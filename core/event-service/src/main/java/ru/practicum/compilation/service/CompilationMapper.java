@@ -1,5 +1,6 @@
 package ru.practicum.compilation.service;
 
+import it.unimi.dsi.fastutil.longs.*;
 import ru.practicum.compilation.dal.Compilation;
 import ru.practicum.dto.compilation.CompilationDto;
 import ru.practicum.dto.event.EventShortDto;
@@ -7,13 +8,12 @@ import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.event.service.EventMapper;
 
 import java.util.List;
-import java.util.Map;
 
 public class CompilationMapper {
 
-    public static CompilationDto toCompilationDto(Compilation compilation, Map<Long, UserShortDto> userMap) {
+    public static CompilationDto toCompilationDto(Compilation compilation, Long2ObjectMap<UserShortDto> userMap) {
         List<EventShortDto> eventShortDtoList = compilation.getEvents().stream()
-                .map(e -> EventMapper.toEventShortDto(e, userMap.get(e.getInitiatorId()), 0L, 0.0))
+                .map(e -> EventMapper.toEventShortDto(e, userMap.get(e.getInitiatorId().longValue()), 0L, 0.0))
                 .toList();
 
         return CompilationDto.builder()
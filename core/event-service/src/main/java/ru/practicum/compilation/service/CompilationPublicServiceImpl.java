@@ -1,46 +1,43 @@
 package ru.practicum.compilation.service;
 
+import it.unimi.dsi.fastutil.longs.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.client.UserClientHelper;
 import ru.practicum.compilation.dal.Compilation;
 import ru.practicum.compilation.dal.CompilationRepository;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
 import ru.practicum.dto.compilation.CompilationDto;
 import ru.practicum.dto.user.UserShortDto;
-import ru.practicum.event.dal.Event;
+import ru.practicum.event.service.EventMapper;
 import ru.practicum.exception.NotFoundException;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CompilationPublicServiceImpl implements CompilationPublicService {
 
-    private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
     private final CompilationRepository compilationRepository;
 
     private final UserClientHelper userClientHelper;
 
     @Override
     public CompilationDto readCompilationById(Long compId) {
-        Compilation compilation = transactionTemplate.execute(status -> {
+        Compilation compilation = readOnlyTransactionTemplate.execute(status -> {
             return compilationRepository.findById(compId)
                     .orElseThrow(() -> new NotFoundException("Compilation not found"));
         });
 
-        Map<Long, UserShortDto> userMap = new HashMap<>();
+        Long2ObjectMap<UserShortDto> userMap = new Long2ObjectOpenHashMap<>();
         if (compilation.getEvents() != null && !compilation.getEvents().isEmpty()) {
-            Set<Long> userIds = compilation.getEvents().stream().map(Event::getInitiatorId).collect(Collectors.toSet());
+            LongSet userIds = EventMapper.toInitiatorIdSet(compilation.getEvents());
             userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
         }
 
@@ -49,21 +46,21 @@ public class CompilationPublicServiceImpl implements CompilationPublicService {
 
     @Override
     public List<CompilationDto> readAllCompilations(Boolean pinned, int from, int size) {
-        List<Compilation> compilations = transactionTemplate.execute(status -> {
+        List<Compilation> compilations = readOnlyTransactionTemplate.execute(status -> {
             Pageable pageable = PageRequest.of(from / size, size, Sort.Direction.ASC, "id");
             if (pinned == null) {
-                return compilationRepository.findAll(pageable).getContent();
+                return compilationRepository.findAllBy(pageable).getContent();
             } else {
                 return compilationRepository.findAllByPinned(pinned, pageable).getContent();
             }
         });
         if (compilations == null || compilations.isEmpty()) return List.of();
 
-        Set<Long> userIds = compilations.stream()
-                .flatMap(c -> c.getEvents().stream())
-                .map(Event::getInitiatorId)
-                .collect(Collectors.toSet());
-        Map<Long, UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+        LongSet userIds = new LongOpenHashSet();
+        for (Compilation compilation : compilations) {
+            userIds.addAll(EventMapper.toInitiatorIdSet(compilation.getEvents()));
+        }
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
 
         return compilations.stream()
                 .map(c -> CompilationMapper.toCompilationDto(c, userMap))
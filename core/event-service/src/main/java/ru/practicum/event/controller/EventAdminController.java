@@ -1,14 +1,19 @@
 package ru.practicum.event.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.api.event.EventAdminApi;
+import ru.practicum.api.event.EventExportApi;
 import ru.practicum.dto.event.EventAdminParams;
 import ru.practicum.dto.event.EventFullDto;
 import ru.practicum.dto.event.State;
 import ru.practicum.dto.event.UpdateEventDto;
 import ru.practicum.event.service.EventAdminService;
+import ru.practicum.event.service.EventExportService;
+import ru.practicum.export.ExportFormat;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -17,9 +22,10 @@ import java.util.List;
 @RestController
 @RequiredArgsConstructor
 @Validated
-public class EventAdminController implements EventAdminApi {
+public class EventAdminController implements EventAdminApi, EventExportApi {
 
     private final EventAdminService eventAdminService;
+    private final EventExportService eventExportService;
 
     // Поиск событий
     @Override
@@ -43,4 +49,19 @@ public class EventAdminController implements EventAdminApi {
         return eventAdminService.updateEventByAdmin(eventId, updateEventDto);
     }
 
+    // Потоковая выгрузка событий
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportEvents(List<Long> users, List<State> states, List<Long> categories,
+                                                              LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                                                              ExportFormat format) {
+        EventAdminParams params = EventAdminParams.builder()
+                .users(users)
+                .states(states)
+                .categories(categories)
+                .rangeStart(rangeStart)
+                .rangeEnd(rangeEnd)
+                .build();
+        return format.toResponse("events", out -> eventExportService.exportEvents(params, format, out));
+    }
+
 }
\ No newline at end of file
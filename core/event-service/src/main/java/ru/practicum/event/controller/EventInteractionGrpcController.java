@@ -0,0 +1,26 @@
+package ru.practicum.event.controller;
+
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.service.GrpcService;
+import ru.practicum.event.service.EventPublicService;
+import ru.practicum.grpc.interaction.EventInteractionControllerGrpc;
+import ru.practicum.grpc.interaction.message.EventInteractionProto;
+import ru.practicum.grpc.interaction.message.IdProto;
+import ru.practicum.interaction.InteractionProtoMapper;
+
+@GrpcService
+@RequiredArgsConstructor
+public class EventInteractionGrpcController extends EventInteractionControllerGrpc.EventInteractionControllerImplBase {
+
+    private final EventPublicService eventPublicService;
+
+    @Override
+    public void getEventInteraction(IdProto request, StreamObserver<EventInteractionProto> responseObserver) {
+        responseObserver.onNext(InteractionProtoMapper.toEventInteractionProto(
+                eventPublicService.getEventInteractionDto(request.getId())
+        ));
+        responseObserver.onCompleted();
+    }
+
+}
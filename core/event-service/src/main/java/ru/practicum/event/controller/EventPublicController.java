@@ -6,6 +6,7 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.api.event.EventPublicApi;
 import ru.practicum.dto.event.*;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 import ru.practicum.event.service.EventPublicService;
 
 import java.time.LocalDateTime;
@@ -49,13 +50,14 @@ public class EventPublicController implements EventPublicApi {
 
     // Получение подробной информации об опубликованном событии по его идентификатору
     @Override
-    public EventFullDto getInformationAboutEventByEventId(Long userId, Long eventId, HttpServletRequest request) {
-        return eventPublicService.getEventById(userId, eventId, request);
+    public EventFullDto getInformationAboutEventByEventId(Long userId, Long eventId, Boolean includeArchived,
+                                                          HttpServletRequest request) {
+        return eventPublicService.getEventById(userId, eventId, includeArchived, request);
     }
 
     @Override
-    public EventCommentDto getEventCommentDto(Long eventId) {
-        return eventPublicService.getEventCommentDto(eventId);
+    public EventCommentDto getEventCommentDto(Long eventId, Boolean includeArchived) {
+        return eventPublicService.getEventCommentDto(eventId, includeArchived);
     }
 
     @Override
@@ -68,11 +70,36 @@ public class EventPublicController implements EventPublicApi {
         return eventPublicService.getEventInteractionDto(eventId);
     }
 
+    @Override
+    public void evictEventCache(Long eventId) {
+        eventPublicService.evictEventCache(eventId);
+    }
+
+    @Override
+    public void evictEventsCache() {
+        eventPublicService.evictEventsCache();
+    }
+
+    @Override
+    public IdSnapshotDto getEventIdSnapshot(Long fromId) {
+        return eventPublicService.getEventIdSnapshot(fromId);
+    }
+
+    @Override
+    public Collection<Long> getArchivedEventIds(Collection<Long> eventIds) {
+        return eventPublicService.getArchivedEventIds(eventIds);
+    }
+
     @Override
     public Collection<EventShortDto> getRecommendations(Long userId, Integer size) {
         return eventPublicService.getRecommendations(userId, size);
     }
 
+    @Override
+    public Collection<EventShortDto> getSimilarEvents(Long eventId, Integer size) {
+        return eventPublicService.getSimilarEvents(eventId, size);
+    }
+
     @Override
     public String sendLike(Long userId, Long eventId) {
         return eventPublicService.sendLike(userId, eventId);
@@ -2,6 +2,8 @@ package ru.practicum.event.dal;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import ru.practicum.category.dal.Category;
@@ -14,17 +16,17 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "events", indexes = {
-        @Index(name = "idx_events_initiator_id", columnList = "initiator_id"),
-        @Index(name = "idx_events_categories_id", columnList = "categories_id")
-})
+@Table(name = "events")
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     @EqualsAndHashCode.Include
     @Column(name = "id")
     private Long id;
@@ -43,9 +45,6 @@ public class Event {
     @Column(name = "annotation", length = 2000, nullable = false)
     private String annotation;
 
-    @Column(name = "description", length = 7000, nullable = false)
-    private String description;
-
     @Enumerated(EnumType.STRING)
     @Column(name = "state", length = 20, nullable = false)
     private State state;
@@ -71,4 +70,10 @@ public class Event {
     @Column(name = "created_on", nullable = false)
     private LocalDateTime createdOn;
 
+    // Оптимистическая блокировка: экземпляры кэшируют событие локально, и запись устаревшей копии
+    // завершается конфликтом (409), а не перезаписью чужих изменений
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
 }
@@ -0,0 +1,32 @@
+package ru.practicum.event.dal;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Полное описание события хранится отдельно от events и загружается только для EventFullDto
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@ToString
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "event_descriptions")
+public class EventDescription {
+
+    @Id
+    @EqualsAndHashCode.Include
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id")
+    @ToString.Exclude
+    private Event event;
+
+    @Column(name = "description", length = 7000, nullable = false)
+    private String description;
+
+}
@@ -0,0 +1,32 @@
+package ru.practicum.event.dal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EventDescriptionRepository extends JpaRepository<EventDescription, Long> {
+
+    @Query("SELECT d.description FROM EventDescription d WHERE d.eventId = :eventId")
+    Optional<String> findTextByEventId(@Param("eventId") Long eventId);
+
+    // Только тексты, без сущностей в контексте персистентности
+    @Query("SELECT d.eventId, d.description FROM EventDescription d WHERE d.eventId IN :eventIds")
+    List<Object[]> findTextsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Описания списка событий одним запросом: id события -> текст
+    default Long2ObjectMap<String> findTextMap(Collection<Long> eventIds) {
+        Long2ObjectOpenHashMap<String> result = new Long2ObjectOpenHashMap<>(eventIds.size());
+        if (eventIds.isEmpty()) return result;
+        for (Object[] row : findTextsByEventIds(eventIds)) {
+            result.put(((Long) row[0]).longValue(), (String) row[1]);
+        }
+        return result;
+    }
+
+}
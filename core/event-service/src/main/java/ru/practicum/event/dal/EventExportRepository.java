@@ -0,0 +1,12 @@
+package ru.practicum.event.dal;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface EventExportRepository {
+
+    // Пачка выгрузки по спецификации: не больше limit событий с id больше afterId в порядке id
+    List<Event> findExportBatch(Specification<Event> specification, long afterId, int limit);
+
+}
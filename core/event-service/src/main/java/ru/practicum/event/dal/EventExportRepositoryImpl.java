@@ -0,0 +1,38 @@
+package ru.practicum.event.dal;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class EventExportRepositoryImpl implements EventExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Event> findExportBatch(Specification<Event> specification, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Event> query = cb.createQuery(Event.class);
+        Root<Event> root = query.from(Event.class);
+        // категорию забираем тем же запросом, иначе на каждую строку уйдет отдельный SELECT
+        root.fetch("category");
+        query.select(root)
+                .where(cb.and(specification.toPredicate(root, query, cb), cb.greaterThan(root.get("id"), afterId)))
+                .orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                // выгрузка проходит по всей таблице и не должна вытеснять горячие события из кэша второго уровня
+                .setHint(HibernateHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+                .getResultList();
+    }
+
+}
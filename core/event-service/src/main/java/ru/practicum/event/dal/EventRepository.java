@@ -1,19 +1,101 @@
 package ru.practicum.event.dal;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.dto.event.EventCommentDto;
 import ru.practicum.dto.event.State;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventExportRepository {
 
     List<Event> findByInitiatorId(Long initiatorId, Pageable pageable);
 
+    // Страница без COUNT(*): Slice выбирает size + 1 строк, только чтобы узнать о наличии следующей
+    default Slice<Event> findSlice(Specification<Event> specification, Pageable pageable) {
+        return findBy(specification, query -> query.slice(pageable));
+    }
+
     Optional<Event> findByIdAndState(Long id, State state);
 
+    // Чтение мимо кэша второго уровня: запрос всегда идет в БД, а свежая строка заменяет запись в локальном кэше
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findFreshById(@Param("id") Long id);
+
+    // Данные для сервиса комментариев без загрузки сущностей и категорий
+    @Query("SELECT new ru.practicum.dto.event.EventCommentDto(e.id, e.title, e.state) FROM Event e WHERE e.id IN :ids")
+    List<EventCommentDto> findCommentDtosByIdIn(@Param("ids") Collection<Long> ids);
+
     boolean existsByCategoryId(Long catId);
 
+    // Страница снимка id: index-only scan по первичному ключу, не больше limit id
+    @Query("SELECT e.id FROM Event e WHERE e.id >= :fromId ORDER BY e.id")
+    List<Long> findIdsFrom(@Param("fromId") Long fromId, Limit limit);
+
+    // АРХИВ ПРОШЕДШИХ СОБЫТИЙ
+
+    // Перенос пачки событий, завершившихся до cutoff, в events_archive; события из подборок остаются на месте.
+    // Описание читается из снимка запроса и удаляется каскадно вместе с событием.
+    // SKIP LOCKED: несколько экземпляров сервиса архивируют разные пачки
+    // Затронутая таблица объявлена явно: иначе нативный запрос сбрасывает все регионы кэша второго уровня, а не только events
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "events"))
+    @Query(nativeQuery = true, value = """
+            WITH moved AS (
+                DELETE FROM events
+                WHERE id IN (
+                    SELECT e.id FROM events e
+                    WHERE e.event_date < :cutoff
+                    AND NOT EXISTS (SELECT 1 FROM compilations_events ce WHERE ce.events_id = e.id)
+                    ORDER BY e.event_date
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING *
+            )
+            INSERT INTO events_archive (id, initiator_id, categories_id, title, annotation, description, state, lat, lon,
+                                        participant_limit, request_moderation, paid, event_date, published_on,
+                                        created_on, version, archived_at)
+            SELECT m.id, m.initiator_id, m.categories_id, m.title, m.annotation, d.description, m.state, m.lat, m.lon,
+                   m.participant_limit, m.request_moderation, m.paid, m.event_date, m.published_on, m.created_on,
+                   m.version, now()
+            FROM moved m
+            JOIN event_descriptions d ON d.event_id = m.id
+            """)
+    int archiveFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Событие из архива отображается на ту же сущность: читать только в read-only транзакции и мимо кэша
+    // второго уровня, иначе findById по тому же id отдал бы архивное событие как действующее
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query(nativeQuery = true, value = "SELECT * FROM events_archive WHERE id = :id")
+    Optional<Event> findArchivedById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query(nativeQuery = true, value = "SELECT * FROM events_archive WHERE id = :id AND state = :state")
+    Optional<Event> findArchivedByIdAndState(@Param("id") Long id, @Param("state") String state);
+
+    // В архиве описание остается в строке события: архив читается редко и по одному событию
+    @Query(nativeQuery = true, value = "SELECT description FROM events_archive WHERE id = :id")
+    Optional<String> findArchivedDescription(@Param("id") Long id);
+
+    @Query(nativeQuery = true, value = "SELECT id FROM events_archive WHERE id IN :ids")
+    List<Long> findArchivedIds(@Param("ids") Collection<Long> ids);
+
+    @Query(nativeQuery = true, value = "SELECT EXISTS (SELECT 1 FROM events_archive WHERE categories_id = :catId)")
+    boolean existsArchivedByCategoryId(@Param("catId") Long catId);
+
 }
\ No newline at end of file
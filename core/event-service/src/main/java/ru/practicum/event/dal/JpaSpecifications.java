@@ -1,6 +1,9 @@
 package ru.practicum.event.dal;
 
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 import ru.practicum.dto.event.EventAdminParams;
 import ru.practicum.dto.event.EventParams;
@@ -39,9 +42,19 @@ public class JpaSpecifications {
 
             if (params.getText() != null && !params.getText().isEmpty()) {
                 String searchPattern = "%" + params.getText().toLowerCase() + "%";
-                Predicate annotationPredicate = cb.like(cb.lower(root.get("annotation")), searchPattern);
-                Predicate descriptionPredicate = cb.like(cb.lower(root.get("description")), searchPattern);
-                predicates.add(cb.or(annotationPredicate, descriptionPredicate));
+                // описание лежит в отдельной таблице: id IN (... UNION ...) читает оба триграммных индекса,
+                // тогда как OR с подзапросом приводит к полному просмотру events
+                Subquery<Long> annotated = query.subquery(Long.class);
+                Root<Event> event = annotated.from(Event.class);
+                annotated.select(event.get("id"))
+                        .where(cb.like(cb.lower(event.get("annotation")), searchPattern));
+
+                Subquery<Long> described = query.subquery(Long.class);
+                Root<EventDescription> description = described.from(EventDescription.class);
+                described.select(description.get("eventId"))
+                        .where(cb.like(cb.lower(description.get("description")), searchPattern));
+
+                predicates.add(root.get("id").in(((HibernateCriteriaBuilder) cb).union(annotated, described)));
             }
 
             if (params.getCategories() != null && !params.getCategories().isEmpty())
@@ -1,18 +1,23 @@
 package ru.practicum.event.service;
 
+import it.unimi.dsi.fastutil.longs.*;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.cache.EntityCacheEvictor;
 import ru.practicum.category.dal.Category;
 import ru.practicum.category.dal.CategoryRepository;
+import ru.practicum.client.RequestCacheEvictor;
 import ru.practicum.client.RequestClientHelper;
 import ru.practicum.client.UserClientHelper;
 import ru.practicum.dto.event.*;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.event.dal.Event;
+import ru.practicum.event.dal.EventDescription;
+import ru.practicum.event.dal.EventDescriptionRepository;
 import ru.practicum.event.dal.EventRepository;
 import ru.practicum.event.dal.JpaSpecifications;
 import ru.practicum.ewm.client.StatClient;
@@ -21,10 +26,7 @@ import ru.practicum.exception.NotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,9 +34,12 @@ public class EventAdminServiceImpl implements EventAdminService {
 
     private final TransactionTemplate transactionTemplate;
     private final EventRepository eventRepository;
+    private final EventDescriptionRepository eventDescriptionRepository;
     private final CategoryRepository categoryRepository;
 
     private final RequestClientHelper requestClientHelper;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final RequestCacheEvictor requestCacheEvictor;
     private final UserClientHelper userClientHelper;
 
     private final StatClient statClient;
@@ -42,25 +47,29 @@ public class EventAdminServiceImpl implements EventAdminService {
     // Поиск событий
     @Override
     public List<EventFullDto> getAllEventsByParams(EventAdminParams params) {
-        Page<Event> events = transactionTemplate.execute(status -> {
+        Slice<Event> events = transactionTemplate.execute(status -> {
             Pageable pageable = PageRequest.of(params.getFrom() / params.getSize(), params.getSize());
-            return eventRepository.findAll(JpaSpecifications.adminFilters(params), pageable);
+            return eventRepository.findSlice(JpaSpecifications.adminFilters(params), pageable);
         });
         if (events == null) return List.of();
 
-        Set<Long> userIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
+        LongSet userIds = EventMapper.toInitiatorIdSet(events.getContent());
+        LongList eventIds = EventMapper.toIdList(events.getContent());
+        Long2ObjectMap<String> descriptionMap = transactionTemplate.execute(status -> {
+            return eventDescriptionRepository.findTextMap(eventIds);
+        });
 
-        Map<Long, UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(eventIds);
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(eventIds);
 
         return events.stream()
                 .map(e -> EventMapper.toEventFullDto(
                         e,
-                        userMap.get(e.getInitiatorId()),
-                        confirmedRequestsMap.get(e.getId()),
-                        ratingMap.get(e.getId())
+                        descriptionMap.get(e.getId().longValue()),
+                        userMap.get(e.getInitiatorId().longValue()),
+                        confirmedRequestsMap.get(e.getId().longValue()),
+                        ratingMap.get(e.getId().longValue())
                 ))
                 .toList();
     }
@@ -75,11 +84,13 @@ public class EventAdminServiceImpl implements EventAdminService {
         });
 
         UserShortDto userShortDto = userClientHelper.retrieveUserShortDtoByUserId(initiatorId);
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(List.of(eventId));
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(List.of(eventId));
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(LongList.of(eventId));
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(LongList.of(eventId));
 
-        return transactionTemplate.execute(status -> {
-            Event event = eventRepository.findById(eventId)
+        EventFullDto result = transactionTemplate.execute(status -> {
+            // изменяемое событие читается из БД, а не из кэша второго уровня: копия могла устареть после записи
+            // другого экземпляра, а @Version отклонит запись, если событие изменят до коммита
+            Event event = eventRepository.findFreshById(eventId)
                     .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found"));
 
             if (updateEventDto.getCategory() != null) {
@@ -88,9 +99,12 @@ public class EventAdminServiceImpl implements EventAdminService {
                 event.setCategory(category);
             }
 
+            EventDescription description = eventDescriptionRepository.findById(eventId)
+                    .orElseThrow(() -> new NotFoundException("Description of Event " + eventId + " was not found"));
+            if (updateEventDto.getDescription() != null) description.setDescription(updateEventDto.getDescription());
+
             if (updateEventDto.getTitle() != null) event.setTitle(updateEventDto.getTitle());
             if (updateEventDto.getAnnotation() != null) event.setAnnotation(updateEventDto.getAnnotation());
-            if (updateEventDto.getDescription() != null) event.setDescription(updateEventDto.getDescription());
             if (updateEventDto.getLocation() != null)
                 event.setLocation(LocationMapper.toEntity(updateEventDto.getLocation()));
             if (updateEventDto.getPaid() != null) event.setPaid(updateEventDto.getPaid());
@@ -121,8 +135,12 @@ public class EventAdminServiceImpl implements EventAdminService {
 
             eventRepository.save(event);
 
-            return EventMapper.toEventFullDto(event, userShortDto, confirmedRequestsMap.get(eventId), ratingMap.get(eventId));
+            return EventMapper.toEventFullDto(event, description.getDescription(), userShortDto, confirmedRequestsMap.get((long) eventId), ratingMap.get((long) eventId));
         });
+
+        // публикация и отклонение меняют проверки заявок: кэши сбрасываются после коммита
+        entityCacheEvictor.evictEvent(eventId, () -> requestCacheEvictor.evictEventInteraction(eventId));
+        return result;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package ru.practicum.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.cache.EntityCacheEvictor;
+import ru.practicum.event.dal.EventRepository;
+import ru.practicum.metrics.CoreMetrics;
+
+import java.time.LocalDateTime;
+
+// Фоновая архивация: события, завершившиеся больше afterDays дней назад, пачками переносятся из events
+// в events_archive. Заявки и комментарии к ним архивируют request-service и comment-service,
+// сверяясь с архивом через POST /events/archived/ids
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "explore-with-me.archive.enabled", havingValue = "true")
+public class EventArchiver {
+
+    private final TransactionTemplate transactionTemplate;
+    private final EventRepository eventRepository;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final int afterDays;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public EventArchiver(
+            TransactionTemplate transactionTemplate,
+            EventRepository eventRepository,
+            EntityCacheEvictor entityCacheEvictor,
+            @Value("${explore-with-me.archive.after-days:30}") int afterDays,
+            @Value("${explore-with-me.archive.batch-size:500}") int batchSize,
+            @Value("${explore-with-me.archive.max-batches:20}") int maxBatches
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.eventRepository = eventRepository;
+        this.entityCacheEvictor = entityCacheEvictor;
+        this.afterDays = afterDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${explore-with-me.archive.interval-ms:60000}",
+            initialDelayString = "${explore-with-me.archive.interval-ms:60000}")
+    public void archiveFinishedEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        int total = 0;
+        // каждая пачка - отдельная короткая транзакция, блокировки строк не копятся
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer moved = transactionTemplate.execute(status -> eventRepository.archiveFinishedBefore(cutoff, batchSize));
+            if (moved == null || moved == 0) break;
+            total += moved;
+            if (moved < batchSize) break;
+        }
+        if (total == 0) return;
+        // локальный регион events сброшен нативным запросом, на остальных экземплярах - по запросу
+        entityCacheEvictor.evictAllEvents();
+        CoreMetrics.countArchived("events", total);
+        log.info("Archived {} events finished before {}", total, cutoff);
+    }
+
+}
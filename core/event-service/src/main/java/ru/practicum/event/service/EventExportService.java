@@ -0,0 +1,13 @@
+package ru.practicum.event.service;
+
+import ru.practicum.dto.event.EventAdminParams;
+import ru.practicum.export.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface EventExportService {
+
+    void exportEvents(EventAdminParams params, ExportFormat format, OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,114 @@
+package ru.practicum.event.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import it.unimi.dsi.fastutil.longs.*;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.client.RequestClientHelper;
+import ru.practicum.client.UserClientHelper;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
+import ru.practicum.dto.event.EventAdminParams;
+import ru.practicum.dto.event.EventFullDto;
+import ru.practicum.dto.user.UserShortDto;
+import ru.practicum.event.dal.Event;
+import ru.practicum.event.dal.EventDescriptionRepository;
+import ru.practicum.event.dal.EventRepository;
+import ru.practicum.event.dal.JpaSpecifications;
+import ru.practicum.ewm.client.StatClient;
+import ru.practicum.export.ExportFormat;
+import ru.practicum.export.ExportWriter;
+import ru.practicum.export.ExportWriter.Column;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EventExportServiceImpl implements EventExportService {
+
+    private static final List<Column<EventFullDto>> CSV_COLUMNS = List.of(
+            new Column<>("id", EventFullDto::getId),
+            new Column<>("title", EventFullDto::getTitle),
+            new Column<>("annotation", EventFullDto::getAnnotation),
+            new Column<>("description", EventFullDto::getDescription),
+            new Column<>("state", EventFullDto::getState),
+            new Column<>("category_id", e -> e.getCategory() == null ? null : e.getCategory().getId()),
+            new Column<>("category_name", e -> e.getCategory() == null ? null : e.getCategory().getName()),
+            new Column<>("initiator_id", e -> e.getInitiator() == null ? null : e.getInitiator().getId()),
+            new Column<>("initiator_name", e -> e.getInitiator() == null ? null : e.getInitiator().getName()),
+            new Column<>("lat", e -> e.getLocation() == null ? null : e.getLocation().getLat()),
+            new Column<>("lon", e -> e.getLocation() == null ? null : e.getLocation().getLon()),
+            new Column<>("participant_limit", EventFullDto::getParticipantLimit),
+            new Column<>("request_moderation", EventFullDto::getRequestModeration),
+            new Column<>("paid", EventFullDto::getPaid),
+            new Column<>("event_date", EventFullDto::getEventDate),
+            new Column<>("published_on", EventFullDto::getPublishedOn),
+            new Column<>("created_on", EventFullDto::getCreatedOn),
+            new Column<>("confirmed_requests", EventFullDto::getConfirmedRequests),
+            new Column<>("rating", EventFullDto::getRating)
+    );
+
+    private final EventRepository eventRepository;
+    private final EventDescriptionRepository eventDescriptionRepository;
+    private final EntityManager entityManager;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final RequestClientHelper requestClientHelper;
+    private final UserClientHelper userClientHelper;
+
+    private final StatClient statClient;
+
+    private int exportBatchSize = 500;
+
+    @Value("${explore-with-me.export.batch-size:500}")
+    public void setExportBatchSize(int exportBatchSize) {
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    // Каждая пачка читается отдельной короткой транзакцией по id, поэтому соединение из небольшого пула admin
+    // не удерживается, пока идут вызовы других сервисов и запись медленному клиенту; после каждой пачки
+    // контекст персистентности очищается, поэтому память не растет с числом строк
+    @Override
+    public void exportEvents(EventAdminParams params, ExportFormat format, OutputStream out) throws IOException {
+        ExportWriter<EventFullDto> writer = new ExportWriter<>(out, format, objectMapper, CSV_COLUMNS);
+        Specification<Event> specification = JpaSpecifications.adminFilters(params);
+        ExportWriter.forEachKeysetBatch(exportBatchSize,
+                afterId -> readOnlyTransactionTemplate.execute(status ->
+                        eventRepository.findExportBatch(specification, afterId, exportBatchSize)),
+                Event::getId,
+                batch -> {
+                    writeBatch(batch, writer);
+                    entityManager.clear();
+                });
+        writer.flush();
+    }
+
+    // Обогащение одним запросом на пачку в каждый сервис
+    private void writeBatch(List<Event> batch, ExportWriter<EventFullDto> writer) throws IOException {
+        LongSet userIds = EventMapper.toInitiatorIdSet(batch);
+        LongList eventIds = EventMapper.toIdList(batch);
+
+        Long2ObjectMap<String> descriptionMap = readOnlyTransactionTemplate.execute(status ->
+                eventDescriptionRepository.findTextMap(eventIds));
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(eventIds);
+
+        for (Event e : batch) {
+            writer.write(EventMapper.toEventFullDto(
+                    e,
+                    descriptionMap.get(e.getId().longValue()),
+                    userMap.get(e.getInitiatorId().longValue()),
+                    confirmedRequestsMap.get(e.getId().longValue()),
+                    ratingMap.get(e.getId().longValue())
+            ));
+        }
+        writer.flush();
+    }
+
+}
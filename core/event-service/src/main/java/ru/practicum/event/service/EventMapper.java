@@ -1,12 +1,18 @@
 package ru.practicum.event.service;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import ru.practicum.category.dal.Category;
 import ru.practicum.category.service.CategoryMapper;
 import ru.practicum.dto.event.*;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.event.dal.Event;
+import ru.practicum.event.dal.EventDescription;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 public class EventMapper {
 
@@ -21,7 +27,6 @@ public class EventMapper {
                 .category(category)
                 .title(newEventDto.getTitle())
                 .annotation(newEventDto.getAnnotation())
-                .description(newEventDto.getDescription())
                 .state(State.PENDING)
                 .location(LocationMapper.toEntity(newEventDto.getLocation()))
                 .participantLimit(newEventDto.getParticipantLimit())
@@ -32,22 +37,28 @@ public class EventMapper {
                 .build();
     }
 
+    public static EventDescription toEventDescription(Event event, String description) {
+        return EventDescription.builder()
+                .event(event)
+                .description(description)
+                .build();
+    }
 
+    // Описание хранится отдельно от события (EventDescription) и передается вызывающим
     public static EventFullDto toEventFullDto(
             Event event,
+            String description,
             UserShortDto userShortDto,
-            Long confirmedRequests,
-            Double rating
+            long confirmedRequests,
+            double rating
     ) {
-        if (confirmedRequests == null) confirmedRequests = 0L;
-        if (rating == null) rating = 0.0;
         return EventFullDto.builder()
                 .id(event.getId())
                 .initiator(userShortDto)
                 .category(CategoryMapper.toCategoryDto(event.getCategory()))
                 .title(event.getTitle())
                 .annotation(event.getAnnotation())
-                .description(event.getDescription())
+                .description(description)
                 .state(event.getState())
                 .location(LocationMapper.toDto(event.getLocation()))
                 .participantLimit(event.getParticipantLimit())
@@ -64,11 +75,9 @@ public class EventMapper {
     public static EventShortDto toEventShortDto(
             Event event,
             UserShortDto userShortDto,
-            Long confirmedRequests,
-            Double rating
+            long confirmedRequests,
+            double rating
     ) {
-        if (confirmedRequests == null) confirmedRequests = 0L;
-        if (rating == null) rating = 0.0;
         return EventShortDto.builder()
                 .id(event.getId())
                 .initiator(userShortDto)
@@ -82,6 +91,24 @@ public class EventMapper {
                 .build();
     }
 
+    // ID COLLECTIONS
+
+    public static LongSet toInitiatorIdSet(Collection<Event> events) {
+        LongOpenHashSet result = new LongOpenHashSet(events.size());
+        for (Event event : events) {
+            result.add(event.getInitiatorId().longValue());
+        }
+        return result;
+    }
+
+    public static LongList toIdList(Collection<Event> events) {
+        LongArrayList result = new LongArrayList(events.size());
+        for (Event event : events) {
+            result.add(event.getId().longValue());
+        }
+        return result;
+    }
+
     public static EventCommentDto toEventComment(Event event) {
         return EventCommentDto.builder()
                 .id(event.getId())
@@ -90,6 +117,7 @@ public class EventMapper {
                 .build();
     }
 
+    // Описание другим сервисам не нужно и в межсервисный ответ не попадает
     public static EventInteractionDto toInteractionDto(Event event) {
         return EventInteractionDto.builder()
                 .id(event.getId())
@@ -97,7 +125,6 @@ public class EventMapper {
                 .categoryId(event.getCategory().getId())
                 .title(event.getTitle())
                 .annotation(event.getAnnotation())
-                .description(event.getDescription())
                 .state(event.getState())
                 .location(LocationMapper.toDto(event.getLocation()))
                 .participantLimit(event.getParticipantLimit())
@@ -1,18 +1,24 @@
 package ru.practicum.event.service;
 
+import it.unimi.dsi.fastutil.longs.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.cache.EntityCacheEvictor;
 import ru.practicum.category.dal.Category;
 import ru.practicum.category.dal.CategoryRepository;
+import ru.practicum.client.RequestCacheEvictor;
 import ru.practicum.client.RequestClientHelper;
 import ru.practicum.client.UserClientHelper;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
 import ru.practicum.dto.event.*;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.event.dal.Event;
+import ru.practicum.event.dal.EventDescription;
+import ru.practicum.event.dal.EventDescriptionRepository;
 import ru.practicum.event.dal.EventRepository;
 import ru.practicum.ewm.client.StatClient;
 import ru.practicum.exception.ConflictException;
@@ -20,7 +26,6 @@ import ru.practicum.exception.NotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 @Service
@@ -28,11 +33,15 @@ import java.util.Objects;
 public class EventPrivateServiceImpl implements EventPrivateService {
 
     private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
     private final CategoryRepository categoryRepository;
     private final EventRepository eventRepository;
+    private final EventDescriptionRepository eventDescriptionRepository;
 
     private final UserClientHelper userClientHelper;
     private final RequestClientHelper requestClientHelper;
+    private final EntityCacheEvictor entityCacheEvictor;
+    private final RequestCacheEvictor requestCacheEvictor;
 
     private final StatClient statClient;
 
@@ -47,26 +56,33 @@ public class EventPrivateServiceImpl implements EventPrivateService {
 
             Event newEvent = EventMapper.toNewEvent(newEventDto, userId, category);
             eventRepository.save(newEvent);
-            return EventMapper.toEventFullDto(newEvent, userShortDto, 0L, 0.0);
+            eventDescriptionRepository.save(EventMapper.toEventDescription(newEvent, newEventDto.getDescription()));
+            return EventMapper.toEventFullDto(newEvent, newEventDto.getDescription(), userShortDto, 0L, 0.0);
         });
     }
 
     // Получение полной информации о событии добавленном текущим пользователем
     @Override
     public EventFullDto getEventByUserIdAndEventId(Long userId, Long eventId) {
-        Event event = transactionTemplate.execute(status -> {
-            return eventRepository.findById(eventId)
+        EventWithDescription loaded = readOnlyTransactionTemplate.execute(status -> {
+            Event found = eventRepository.findById(eventId)
                     .orElseThrow(() -> new NotFoundException("Not found Event " + eventId));
+            // описание читается в той же транзакции, что и событие
+            String text = eventDescriptionRepository.findTextByEventId(eventId)
+                    .or(() -> eventRepository.findArchivedDescription(eventId))
+                    .orElse(null);
+            return new EventWithDescription(found, text);
         });
+        Event event = loaded.event();
 
         if (!Objects.equals(userId, event.getInitiatorId()))
             throw new ConflictException("User " + userId + " is not an initiator of event " + eventId, "Forbidden action");
 
         UserShortDto userShortDto = userClientHelper.retrieveUserShortDtoByUserId(userId);
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(List.of(eventId));
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(List.of(eventId));
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(LongList.of(eventId));
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(LongList.of(eventId));
 
-        return EventMapper.toEventFullDto(event, userShortDto, confirmedRequestsMap.get(eventId), ratingMap.get(eventId));
+        return EventMapper.toEventFullDto(event, loaded.description(), userShortDto, confirmedRequestsMap.get((long) eventId), ratingMap.get((long) eventId));
     }
 
     // Получение событий, добавленных текущим пользователем
@@ -74,22 +90,22 @@ public class EventPrivateServiceImpl implements EventPrivateService {
     public List<EventShortDto> getEventsByUserId(Long userId, Integer from, Integer size) {
         UserShortDto userShortDto = userClientHelper.retrieveUserShortDtoByUserId(userId);
 
-        List<Event> events = transactionTemplate.execute(status -> {
+        List<Event> events = readOnlyTransactionTemplate.execute(status -> {
             Pageable pageable = PageRequest.of(from / size, size, Sort.by("eventDate").descending());
             return eventRepository.findByInitiatorId(userId, pageable);
         });
         if (events == null || events.isEmpty()) return List.of();
 
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(eventIds);
+        LongList eventIds = EventMapper.toIdList(events);
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(eventIds);
 
         return events.stream()
                 .map(e -> EventMapper.toEventShortDto(
                         e,
                         userShortDto,
-                        confirmedRequestsMap.get(e.getId()),
-                        ratingMap.get(e.getId())
+                        confirmedRequestsMap.get(e.getId().longValue()),
+                        ratingMap.get(e.getId().longValue())
                 ))
                 .toList();
     }
@@ -98,11 +114,12 @@ public class EventPrivateServiceImpl implements EventPrivateService {
     @Override
     public EventFullDto updateEventByUserIdAndEventId(Long userId, Long eventId, UpdateEventDto updateEventDto) {
         UserShortDto userShortDto = userClientHelper.retrieveUserShortDtoByUserId(userId);
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(List.of(eventId));
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(List.of(eventId));
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(LongList.of(eventId));
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(LongList.of(eventId));
 
-        return transactionTemplate.execute(status -> {
-            Event event = eventRepository.findById(eventId)
+        EventFullDto result = transactionTemplate.execute(status -> {
+            // изменяемое событие читается из БД, а не из кэша второго уровня (см. EventAdminServiceImpl)
+            Event event = eventRepository.findFreshById(eventId)
                     .orElseThrow(() -> new NotFoundException("Event with id=" + eventId + " was not found"));
 
             if (!Objects.equals(userId, event.getInitiatorId()))
@@ -123,9 +140,11 @@ public class EventPrivateServiceImpl implements EventPrivateService {
                         .orElseThrow(() -> new NotFoundException("Category with id=" + updateEventDto.getCategory() + " not found"));
                 event.setCategory(category);
             }
+            EventDescription description = eventDescriptionRepository.findById(eventId)
+                    .orElseThrow(() -> new NotFoundException("Description of Event " + eventId + " was not found"));
+            if (updateEventDto.getDescription() != null) description.setDescription(updateEventDto.getDescription());
             if (updateEventDto.getTitle() != null) event.setTitle(updateEventDto.getTitle());
             if (updateEventDto.getAnnotation() != null) event.setAnnotation(updateEventDto.getAnnotation());
-            if (updateEventDto.getDescription() != null) event.setDescription(updateEventDto.getDescription());
             if (updateEventDto.getLocation() != null)
                 event.setLocation(LocationMapper.toEntity(updateEventDto.getLocation()));
             if (updateEventDto.getPaid() != null) event.setPaid(updateEventDto.getPaid());
@@ -142,8 +161,13 @@ public class EventPrivateServiceImpl implements EventPrivateService {
 
             eventRepository.save(event);
 
-            return EventMapper.toEventFullDto(event, userShortDto, confirmedRequestsMap.get(eventId), ratingMap.get(eventId));
+            return EventMapper.toEventFullDto(event, description.getDescription(), userShortDto, confirmedRequestsMap.get((long) eventId), ratingMap.get((long) eventId));
         });
+
+        // экземпляры event-service кэшируют событие, request-service - его состояние, лимит и пре-модерацию:
+        // сбрасываем после коммита
+        entityCacheEvictor.evictEvent(eventId, () -> requestCacheEvictor.evictEventInteraction(eventId));
+        return result;
     }
 
 }
\ No newline at end of file
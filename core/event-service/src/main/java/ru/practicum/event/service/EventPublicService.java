@@ -2,6 +2,7 @@ package ru.practicum.event.service;
 
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.dto.event.*;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 
 import java.util.Collection;
 import java.util.List;
@@ -10,16 +11,26 @@ public interface EventPublicService {
 
     List<EventShortDto> getAllEventsByParams(EventParams eventParams, HttpServletRequest request);
 
-    EventFullDto getEventById(Long userId, Long eventId, HttpServletRequest request);
+    EventFullDto getEventById(Long userId, Long eventId, boolean includeArchived, HttpServletRequest request);
 
-    EventCommentDto getEventCommentDto(Long id);
+    EventCommentDto getEventCommentDto(Long id, boolean includeArchived);
 
     Collection<EventCommentDto> getEventCommentDtoList(Collection<Long> ids);
 
+    Collection<Long> getArchivedEventIds(Collection<Long> ids);
+
     EventInteractionDto getEventInteractionDto(Long id);
 
+    void evictEventCache(Long eventId);
+
+    void evictEventsCache();
+
+    IdSnapshotDto getEventIdSnapshot(Long fromId);
+
     Collection<EventShortDto> getRecommendations(Long userId, Integer size);
 
+    Collection<EventShortDto> getSimilarEvents(Long eventId, Integer size);
+
     String sendLike(Long userId, Long eventId);
 
 }
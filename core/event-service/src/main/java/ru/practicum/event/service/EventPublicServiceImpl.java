@@ -1,37 +1,57 @@
 package ru.practicum.event.service;
 
+import io.micrometer.core.annotation.Timed;
+import it.unimi.dsi.fastutil.longs.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.cache.EntityCacheEvictor;
 import ru.practicum.client.RequestClientHelper;
 import ru.practicum.client.UserClientHelper;
+import ru.practicum.datasource.PrimaryPin;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
 import ru.practicum.dto.event.*;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.event.dal.Event;
+import ru.practicum.event.dal.EventDescriptionRepository;
 import ru.practicum.event.dal.EventRepository;
 import ru.practicum.event.dal.JpaSpecifications;
 import ru.practicum.ewm.client.StatClient;
 import ru.practicum.exception.BadRequestException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.metrics.CoreMetrics;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(CoreMetrics.SERVICE_METHOD)
 @RequiredArgsConstructor
 public class EventPublicServiceImpl implements EventPublicService {
 
-    private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
     private final EventRepository eventRepository;
+    private final EventDescriptionRepository eventDescriptionRepository;
 
     private final UserClientHelper userClientHelper;
     private final RequestClientHelper requestClientHelper;
 
     private final StatClient statClient;
+    private final SimilarEventsCache similarEventsCache;
+    private final RecommendationCache recommendationCache;
+    private final EntityCacheEvictor entityCacheEvictor;
+
+    private int idSnapshotPageSize = 100_000;
+
+    @Value("${explore-with-me.id-snapshot.page-size:100000}")
+    public void setIdSnapshotPageSize(int idSnapshotPageSize) {
+        this.idSnapshotPageSize = idSnapshotPageSize;
+    }
 
     // Получение событий с возможностью фильтрации
     @Override
@@ -45,36 +65,36 @@ public class EventPublicServiceImpl implements EventPublicService {
             params.setRangeEnd(null);
         }
 
-        List<Event> events = transactionTemplate.execute(status -> {
+        List<Event> events = readOnlyTransactionTemplate.execute(status -> {
             PageRequest pageRequest = PageRequest.of(params.getFrom() / params.getSize(), params.getSize());
-            return eventRepository.findAll(JpaSpecifications.publicFilters(params), pageRequest).getContent();
+            return eventRepository.findSlice(JpaSpecifications.publicFilters(params), pageRequest).getContent();
         });
         if (events == null) return List.of();
 
-        Set<Long> userIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
-        Map<Long, UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+        LongSet userIds = EventMapper.toInitiatorIdSet(events);
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
 
         // информация о каждом событии должна включать в себя количество просмотров и количество уже одобренных заявок на участие
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(eventIds);
+        LongList eventIds = EventMapper.toIdList(events);
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(eventIds);
 
         if (params.getOnlyAvailable() == true && !confirmedRequestsMap.isEmpty()) {
             events = events.stream()
                     .filter(e -> {
                         if (Objects.equals(e.getParticipantLimit(), 0L)) return true;
-                        Long confirmedRequests = confirmedRequestsMap.get(e.getId());
-                        if (confirmedRequests == null) return true;
-                        return confirmedRequests < e.getParticipantLimit();
+                        long eventId = e.getId();
+                        if (!confirmedRequestsMap.containsKey(eventId)) return true;
+                        return confirmedRequestsMap.get(eventId) < e.getParticipantLimit();
                     }).toList();
         }
 
         List<EventShortDto> unsortedResult = events.stream()
                 .map(e -> EventMapper.toEventShortDto(
                         e,
-                        userMap.get(e.getInitiatorId()),
-                        confirmedRequestsMap.get(e.getId()),
-                        ratingMap.get(e.getId())
+                        userMap.get(e.getInitiatorId().longValue()),
+                        confirmedRequestsMap.get(e.getId().longValue()),
+                        ratingMap.get(e.getId().longValue())
                 ))
                 .toList();
 
@@ -90,28 +110,40 @@ public class EventPublicServiceImpl implements EventPublicService {
 
     // Получение подробной информации об опубликованном событии по его идентификатору
     @Override
-    public EventFullDto getEventById(Long userId, Long eventId, HttpServletRequest request) {
-        Event event = transactionTemplate.execute(status -> {
-            // событие должно быть опубликовано
-            return eventRepository.findByIdAndState(eventId, State.PUBLISHED)
+    public EventFullDto getEventById(Long userId, Long eventId, boolean includeArchived, HttpServletRequest request) {
+        EventWithDescription loaded = readOnlyTransactionTemplate.execute(status -> {
+            // событие должно быть опубликовано; архив проверяется, только если об этом попросили
+            Event found = eventRepository.findByIdAndState(eventId, State.PUBLISHED)
+                    .or(() -> includeArchived
+                            ? eventRepository.findArchivedByIdAndState(eventId, State.PUBLISHED.name())
+                            : Optional.empty())
                     .orElseThrow(() -> new NotFoundException("Event not found"));
+            // описание читается в той же транзакции; если архиватор успел перенести событие после чтения строки,
+            // описание уже лежит в архиве, поэтому туда смотрим всегда
+            String text = eventDescriptionRepository.findTextByEventId(eventId)
+                    .or(() -> eventRepository.findArchivedDescription(eventId))
+                    .orElse(null);
+            return new EventWithDescription(found, text);
         });
+        Event event = loaded.event();
 
         UserShortDto userShortDto = userClientHelper.retrieveUserShortDtoByUserId(event.getInitiatorId());
         // информация о событии должна включать в себя количество просмотров и количество подтвержденных запросов
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(List.of(eventId));
-        Map<Long, Double> ratingMap = statClient.getRatingsByEventIdList(List.of(eventId));
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(LongList.of(eventId), includeArchived);
+        Long2DoubleMap ratingMap = statClient.getRatingsByEventIdList(LongList.of(eventId));
 
         // информацию о том, что по этому эндпоинту был осуществлен и обработан запрос, нужно сохранить в сервисе статистики
         statClient.sendView(userId, eventId);
 
-        return EventMapper.toEventFullDto(event, userShortDto, confirmedRequestsMap.get(eventId), ratingMap.get(eventId));
+        return EventMapper.toEventFullDto(event, loaded.description(), userShortDto, confirmedRequestsMap.get((long) eventId), ratingMap.get((long) eventId));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public EventCommentDto getEventCommentDto(Long eventId) {
+    public EventCommentDto getEventCommentDto(Long eventId, boolean includeArchived) {
+        // findById обслуживается кэшем второго уровня
         Event event = eventRepository.findById(eventId)
+                .or(() -> includeArchived ? eventRepository.findArchivedById(eventId) : Optional.empty())
                 .orElseThrow(() -> new NotFoundException("Not found Event " + eventId));
         return EventMapper.toEventComment(event);
     }
@@ -120,44 +152,82 @@ public class EventPublicServiceImpl implements EventPublicService {
     @Transactional(readOnly = true)
     public Collection<EventCommentDto> getEventCommentDtoList(Collection<Long> ids) {
         if (ids == null || ids.isEmpty()) return List.of();
-        List<Event> events = eventRepository.findAllById(ids);
-        return events.stream()
-                .map(EventMapper::toEventComment)
-                .toList();
+        return eventRepository.findCommentDtosByIdIn(ids);
     }
 
     @Override
     @Transactional(readOnly = true)
+    public Collection<Long> getArchivedEventIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) return List.of();
+        return eventRepository.findArchivedIds(ids);
+    }
+
+    @Override
     public EventInteractionDto getEventInteractionDto(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new NotFoundException("Not found Event " + eventId));
-        return EventMapper.toInteractionDto(event);
+        // findById обслуживается кэшем второго уровня: к моменту сброса кэша request-service измененное событие
+        // уже сброшено на всех экземплярах (EntityCacheEvictor). Промах читается с основной БД, чтобы
+        // в оба кэша не попало устаревшее состояние с отстающей реплики
+        try (PrimaryPin ignored = PrimaryPin.pin("cache-refill")) {
+            return readOnlyTransactionTemplate.execute(status -> eventRepository.findById(eventId)
+                    .map(EventMapper::toInteractionDto)
+                    .orElseThrow(() -> new NotFoundException("Not found Event " + eventId)));
+        }
+    }
+
+    @Override
+    public void evictEventCache(Long eventId) {
+        entityCacheEvictor.evictEventLocally(eventId);
+    }
+
+    @Override
+    public void evictEventsCache() {
+        entityCacheEvictor.evictAllEventsLocally();
+    }
+
+    @Override
+    public IdSnapshotDto getEventIdSnapshot(Long fromId) {
+        // по хвосту снимка клиенты подтверждают отсутствие id, поэтому отстающая реплика не подходит
+        try (PrimaryPin ignored = PrimaryPin.pin("id-snapshot")) {
+            return readOnlyTransactionTemplate.execute(status -> IdSnapshotDto.of(fromId,
+                    eventRepository.findIdsFrom(fromId, Limit.of(idSnapshotPageSize)), idSnapshotPageSize));
+        }
     }
 
     @Override
     public Collection<EventShortDto> getRecommendations(Long userId, Integer size) {
-        Map<Long, Double> recommendationMap = statClient.getUserRecommendations(userId, size);
-        if (recommendationMap.isEmpty()) return List.of();
+        return recommendationCache.get(userId, size);
+    }
 
-        List<Event> events = transactionTemplate.execute(status -> {
-            return eventRepository.findAllById(recommendationMap.keySet());
+    @Override
+    public Collection<EventShortDto> getSimilarEvents(Long eventId, Integer size) {
+        Long2DoubleMap similarityMap = similarEventsCache.get(eventId);
+
+        List<Event> events = readOnlyTransactionTemplate.execute(status -> {
+            eventRepository.findByIdAndState(eventId, State.PUBLISHED)
+                    .orElseThrow(() -> new NotFoundException("Not found Event " + eventId));
+            if (similarityMap.isEmpty()) return List.<Event>of();
+            // в выдачу попадают только опубликованные события, самые похожие - первыми
+            return eventRepository.findAllById(similarityMap.keySet()).stream()
+                    .filter(e -> e.getState() == State.PUBLISHED)
+                    .sorted(Comparator.comparingDouble((Event e) -> similarityMap.get(e.getId().longValue())).reversed())
+                    .limit(size)
+                    .toList();
         });
         if (events == null || events.isEmpty()) return List.of();
 
-        Set<Long> userIds = events.stream().map(Event::getInitiatorId).collect(Collectors.toSet());
-        Map<Long, UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+        LongSet userIds = EventMapper.toInitiatorIdSet(events);
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
 
-        List<Long> eventIds = events.stream().map(Event::getId).toList();
-        Map<Long, Long> confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
+        LongList eventIds = EventMapper.toIdList(events);
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
 
         return events.stream()
                 .map(e -> EventMapper.toEventShortDto(
                         e,
-                        userMap.get(e.getInitiatorId()),
-                        confirmedRequestsMap.get(e.getId()),
-                        recommendationMap.get(e.getId())
+                        userMap.get(e.getInitiatorId().longValue()),
+                        confirmedRequestsMap.get(e.getId().longValue()),
+                        similarityMap.get(e.getId().longValue())
                 ))
-                .sorted(Comparator.comparing(EventShortDto::getRating).reversed())
                 .toList();
     }
 
@@ -0,0 +1,7 @@
+package ru.practicum.event.service;
+
+import ru.practicum.event.dal.Event;
+
+// Событие вместе с описанием, прочитанные в одной транзакции
+record EventWithDescription(Event event, String description) {
+}
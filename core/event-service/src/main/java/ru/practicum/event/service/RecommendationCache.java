@@ -0,0 +1,144 @@
+package ru.practicum.event.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import it.unimi.dsi.fastutil.longs.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.client.RequestClientHelper;
+import ru.practicum.client.UserClientHelper;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
+import ru.practicum.dto.event.EventShortDto;
+import ru.practicum.dto.user.UserShortDto;
+import ru.practicum.event.dal.Event;
+import ru.practicum.event.dal.EventRepository;
+import ru.practicum.ewm.client.StatClient;
+import ru.practicum.ewm.client.UserActionSentEvent;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+// Кэш персональных рекомендаций: ответ всегда отдается из последнего посчитанного списка,
+// а пересчет (анализатор + события + пользователи + заявки) идет в фоне
+@Slf4j
+@Component
+public class RecommendationCache {
+
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
+    private final EventRepository eventRepository;
+
+    private final UserClientHelper userClientHelper;
+    private final RequestClientHelper requestClientHelper;
+
+    private final StatClient statClient;
+
+    private final Executor executor;
+    private final LoadingCache<Long, List<EventShortDto>> cache;
+    private final int maxResults;
+    private final long actionRefreshDelayMs;
+
+    public RecommendationCache(
+            ReadOnlyTransactionTemplate readOnlyTransactionTemplate,
+            EventRepository eventRepository,
+            UserClientHelper userClientHelper,
+            RequestClientHelper requestClientHelper,
+            StatClient statClient,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor,
+            @Value("${explore-with-me.recommendations.cache-ttl-ms:1800000}") long ttlMs,
+            @Value("${explore-with-me.recommendations.refresh-ms:60000}") long refreshMs,
+            @Value("${explore-with-me.recommendations.cache-max-size:100000}") long maxSize,
+            @Value("${explore-with-me.recommendations.max-results:50}") int maxResults,
+            @Value("${explore-with-me.recommendations.action-refresh-delay-ms:2000}") long actionRefreshDelayMs
+    ) {
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.eventRepository = eventRepository;
+        this.userClientHelper = userClientHelper;
+        this.requestClientHelper = requestClientHelper;
+        this.statClient = statClient;
+        this.executor = executor;
+        this.maxResults = maxResults;
+        this.actionRefreshDelayMs = actionRefreshDelayMs;
+        // refreshAfterWrite отдает старое значение и перезагружает его в фоне,
+        // expireAfterWrite ограничивает возраст списка для неактивных пользователей
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .refreshAfterWrite(Duration.ofMillis(refreshMs))
+                .executor(executor)
+                .build(new RecommendationLoader());
+    }
+
+    public List<EventShortDto> get(Long userId, int size) {
+        List<EventShortDto> recommendations = cache.get(userId);
+        return recommendations.size() <= size ? recommendations : recommendations.subList(0, size);
+    }
+
+    // Новое действие пользователя меняет его рекомендации: пересчитываем список в фоне,
+    // с задержкой на доставку действия через collector до анализатора.
+    // Регистрации отправляет request-service, их учитывает плановое обновление по refresh-ms
+    @EventListener
+    public void onUserAction(UserActionSentEvent event) {
+        long userId = event.userId();
+        if (cache.getIfPresent(userId) == null) return;
+        Executor delayed = CompletableFuture.delayedExecutor(actionRefreshDelayMs, TimeUnit.MILLISECONDS, executor);
+        CompletableFuture.runAsync(() -> cache.refresh(userId), delayed);
+    }
+
+    // PRIVATE METHODS
+
+    private List<EventShortDto> loadRecommendations(long userId) {
+        Long2DoubleMap recommendationMap = statClient.getUserRecommendations(userId, maxResults);
+        if (recommendationMap.isEmpty()) return List.of();
+
+        List<Event> events = readOnlyTransactionTemplate.execute(status -> {
+            return eventRepository.findAllById(recommendationMap.keySet());
+        });
+        if (events == null || events.isEmpty()) return List.of();
+
+        LongSet userIds = EventMapper.toInitiatorIdSet(events);
+        Long2ObjectMap<UserShortDto> userMap = userClientHelper.retrieveUserShortDtoMapByUserIdList(userIds);
+
+        LongList eventIds = EventMapper.toIdList(events);
+        Long2LongMap confirmedRequestsMap = requestClientHelper.retrieveConfirmedRequestsMapByEventIdList(eventIds);
+
+        return events.stream()
+                .map(e -> EventMapper.toEventShortDto(
+                        e,
+                        userMap.get(e.getInitiatorId().longValue()),
+                        confirmedRequestsMap.get(e.getId().longValue()),
+                        recommendationMap.get(e.getId().longValue())
+                ))
+                .sorted(Comparator.comparing(EventShortDto::getRating).reversed())
+                .toList();
+    }
+
+    private class RecommendationLoader implements CacheLoader<Long, List<EventShortDto>> {
+
+        @Override
+        public List<EventShortDto> load(Long userId) {
+            return loadRecommendations(userId);
+        }
+
+        // Пустой ответ при фоновом обновлении обычно означает сбой анализатора - оставляем прежний список
+        @Override
+        public List<EventShortDto> reload(Long userId, List<EventShortDto> oldValue) {
+            List<EventShortDto> recommendations = loadRecommendations(userId);
+            if (recommendations.isEmpty() && !oldValue.isEmpty()) {
+                log.debug("Keeping previous recommendations for user {}", userId);
+                return oldValue;
+            }
+            return recommendations;
+        }
+
+    }
+
+}
@@ -0,0 +1,57 @@
+package ru.practicum.event.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import it.unimi.dsi.fastutil.longs.Long2DoubleMap;
+import it.unimi.dsi.fastutil.longs.Long2DoubleMaps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.client.StatClient;
+
+import java.time.Duration;
+
+// Кэш списков похожих событий: матрица сходства пересчитывается анализатором редко,
+// а страницы популярных событий запрашиваются часто
+@Slf4j
+@Component
+public class SimilarEventsCache {
+
+    // запрос без пользователя: анализатор не исключает просмотренные события, список общий для всех
+    // (см. описание GET /events/{eventId}/similar в EventPublicApi)
+    private static final long ANONYMOUS_USER_ID = 0L;
+
+    private final StatClient statClient;
+    private final Cache<Long, Long2DoubleMap> cache;
+    private final int maxResults;
+
+    public SimilarEventsCache(
+            StatClient statClient,
+            @Value("${explore-with-me.similar-events.cache-ttl-ms:600000}") long ttlMs,
+            @Value("${explore-with-me.similar-events.empty-ttl-ms:30000}") long emptyTtlMs,
+            @Value("${explore-with-me.similar-events.cache-max-size:10000}") long maxSize,
+            @Value("${explore-with-me.similar-events.max-results:50}") int maxResults
+    ) {
+        this.statClient = statClient;
+        this.maxResults = maxResults;
+        Duration ttl = Duration.ofMillis(ttlMs);
+        Duration emptyTtl = Duration.ofMillis(emptyTtlMs);
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(Expiry.creating((Long eventId, Long2DoubleMap similar) -> similar.isEmpty() ? emptyTtl : ttl))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // Возвращает до maxResults похожих событий со score. Пустой ответ (в т.ч. заглушка при сбое анализатора)
+    // кэшируется на короткий empty-ttl-ms: пока анализатор недоступен, запросы не ждут его таймаута каждый раз.
+    // Одновременные промахи по одному событию ждут один вызов анализатора
+    public Long2DoubleMap get(Long eventId) {
+        return cache.get(eventId, id -> {
+            Long2DoubleMap similar = statClient.getSimilarEvents(id, ANONYMOUS_USER_ID, maxResults);
+            log.debug("Cached {} similar events for event {}", similar.size(), id);
+            return similar.isEmpty() ? Long2DoubleMaps.EMPTY_MAP : Long2DoubleMaps.unmodifiable(similar);
+        });
+    }
+
+}
@@ -0,0 +1,51 @@
+-- Исходная схема event-service: сущности Category, Event, Compilation, последовательности с шагом allocationSize = 50
+CREATE SEQUENCE categories_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE compilations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE categories
+(
+    id       BIGINT      NOT NULL,
+    cat_name VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_categories PRIMARY KEY (id),
+    CONSTRAINT uq_categories_cat_name UNIQUE (cat_name)
+);
+
+CREATE TABLE events
+(
+    id                 BIGINT        NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    categories_id      BIGINT        NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    annotation         VARCHAR(2000) NOT NULL,
+    description        VARCHAR(7000) NOT NULL,
+    state              VARCHAR(20)   NOT NULL,
+    lat                REAL,
+    lon                REAL,
+    participant_limit  BIGINT        NOT NULL,
+    request_moderation BOOLEAN       NOT NULL,
+    paid               BOOLEAN       NOT NULL,
+    event_date         TIMESTAMP(6)  NOT NULL,
+    published_on       TIMESTAMP(6),
+    created_on         TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_events PRIMARY KEY (id),
+    CONSTRAINT fk_events_categories FOREIGN KEY (categories_id) REFERENCES categories (id) ON DELETE RESTRICT,
+    CONSTRAINT ck_events_state CHECK (state IN ('PENDING', 'PUBLISHED', 'CANCELED'))
+);
+
+CREATE TABLE compilations
+(
+    id     BIGINT      NOT NULL,
+    pinned BOOLEAN     NOT NULL,
+    title  VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_compilations PRIMARY KEY (id)
+);
+
+CREATE TABLE compilations_events
+(
+    compilations_id BIGINT NOT NULL,
+    events_id       BIGINT NOT NULL,
+    CONSTRAINT pk_compilations_events PRIMARY KEY (compilations_id, events_id),
+    CONSTRAINT fk_compilations_events_compilations FOREIGN KEY (compilations_id) REFERENCES compilations (id) ON DELETE CASCADE,
+    CONSTRAINT fk_compilations_events_events FOREIGN KEY (events_id) REFERENCES events (id)
+);
@@ -0,0 +1,3 @@
+-- Триграммы для поиска по подстроке (LIKE '%text%'); расширение ставится в public, операторные классы указываются
+-- с префиксом схемы, так как search_path сервиса содержит только event_service
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
@@ -0,0 +1,29 @@
+-- Индексы под запросы EventRepository, JpaSpecifications и CompilationRepository.
+-- CONCURRENTLY не блокирует запись в таблицы, поэтому Flyway выполняет миграцию вне транзакции.
+-- Индексы из старых @Index, созданные Hibernate (ddl-auto: create), заменяются составными.
+
+-- админский поиск: state IN (...) и диапазон event_date
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_state_event_date ON events (state, event_date);
+
+-- публичный поиск: по умолчанию event_date >= now()
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_event_date ON events (event_date);
+
+-- фильтр по категориям с диапазоном дат, existsByCategoryId и проверка внешнего ключа при удалении категории
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_categories_id_event_date ON events (categories_id, event_date);
+
+-- события пользователя, отсортированные по eventDate DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_initiator_id_event_date ON events (initiator_id, event_date DESC);
+
+-- текстовый поиск: lower(annotation) LIKE '%text%' OR lower(description) LIKE '%text%'
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_annotation_trgm ON events USING gin (lower(annotation) public.gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_events_description_trgm ON events USING gin (lower(description) public.gin_trgm_ops);
+
+-- подборки с фильтром pinned и сортировкой по id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_compilations_pinned_id ON compilations (pinned, id);
+
+-- проверка внешнего ключа при удалении события
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_compilations_events_events_id ON compilations_events (events_id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_events_initiator_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_events_categories_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_categories_cat_name;
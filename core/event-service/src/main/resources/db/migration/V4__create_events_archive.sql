@@ -0,0 +1,26 @@
+-- Архив прошедших событий: EventArchiver переносит сюда события, завершившиеся больше
+-- explore-with-me.archive.after-days дней назад, чтобы горячая таблица и ее индексы не росли бесконечно.
+-- Ссылка на категорию сохраняется: категорию с архивными событиями удалить нельзя.
+CREATE TABLE events_archive
+(
+    id                 BIGINT        NOT NULL,
+    initiator_id       BIGINT        NOT NULL,
+    categories_id      BIGINT        NOT NULL,
+    title              VARCHAR(120)  NOT NULL,
+    annotation         VARCHAR(2000) NOT NULL,
+    description        VARCHAR(7000) NOT NULL,
+    state              VARCHAR(20)   NOT NULL,
+    lat                REAL,
+    lon                REAL,
+    participant_limit  BIGINT        NOT NULL,
+    request_moderation BOOLEAN       NOT NULL,
+    paid               BOOLEAN       NOT NULL,
+    event_date         TIMESTAMP(6)  NOT NULL,
+    published_on       TIMESTAMP(6),
+    created_on         TIMESTAMP(6)  NOT NULL,
+    archived_at        TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT pk_events_archive PRIMARY KEY (id),
+    CONSTRAINT fk_events_archive_categories FOREIGN KEY (categories_id) REFERENCES categories (id) ON DELETE RESTRICT
+);
+
+CREATE INDEX idx_events_archive_categories_id ON events_archive (categories_id);
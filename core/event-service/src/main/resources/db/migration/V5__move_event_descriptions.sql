@@ -0,0 +1,27 @@
+-- Полное описание события (до 7000 символов) вынесено из events в отдельную таблицу: списки, короткие DTO,
+-- подборки и межсервисные запросы читают только горячую строку, а текст нужен лишь для EventFullDto.
+-- Строки events после удаления колонки не сжимаются сами: место освобождает VACUUM FULL (или pg_repack)
+-- в окне обслуживания.
+
+LOCK TABLE events IN ACCESS EXCLUSIVE MODE;
+
+CREATE TABLE event_descriptions
+(
+    event_id    BIGINT        NOT NULL,
+    description VARCHAR(7000) NOT NULL,
+    CONSTRAINT pk_event_descriptions PRIMARY KEY (event_id),
+    CONSTRAINT fk_event_descriptions_events FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+);
+
+INSERT INTO event_descriptions (event_id, description)
+SELECT id, description
+FROM events;
+
+-- вместе с колонкой удаляется и idx_events_description_trgm
+ALTER TABLE events DROP COLUMN description;
+
+-- текстовый поиск: lower(annotation) LIKE '%text%' OR id IN (описания с lower(description) LIKE '%text%')
+CREATE INDEX idx_event_descriptions_description_trgm
+    ON event_descriptions USING gin (lower(description) public.gin_trgm_ops);
+
+ANALYZE event_descriptions;
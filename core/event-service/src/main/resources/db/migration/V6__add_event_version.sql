@@ -0,0 +1,7 @@
+-- Версия строки события для оптимистической блокировки: экземпляры event-service кэшируют Event локально,
+-- и UPDATE устаревшей копии должен завершаться конфликтом, а не перезаписью изменений другого экземпляра.
+-- Колонка с константным DEFAULT добавляется без перезаписи таблицы.
+ALTER TABLE events ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- архивное событие читается в ту же сущность (SELECT * FROM events_archive), поэтому версия есть и в архиве
+ALTER TABLE events_archive ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
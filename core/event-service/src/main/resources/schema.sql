@@ -1 +0,0 @@
-CREATE SCHEMA IF NOT EXISTS event_service;
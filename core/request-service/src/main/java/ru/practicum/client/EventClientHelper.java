@@ -1,13 +1,37 @@
 package ru.practicum.client;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import ru.practicum.api.event.EventAllApi;
+import ru.practicum.client.grpc.EventInteractionGrpcClient;
 
 @Component
 public class EventClientHelper extends EventClientAbstractHelper {
 
-    public EventClientHelper(EventAllApi eventApiClient) {
+    public EventClientHelper(
+            EventAllApi eventApiClient,
+            BulkheadRegistry bulkheadRegistry,
+            ObjectProvider<EventInteractionGrpcClient> eventGrpcClient,
+            @Value("${explore-with-me.id-filter.enabled:false}") boolean filterEnabled,
+            @Value("${explore-with-me.id-filter.strict:false}") boolean filterStrict,
+            @Value("${explore-with-me.event-cache.enabled:false}") boolean cacheEnabled,
+            @Value("${explore-with-me.event-cache.ttl-ms:5000}") long cacheTtlMs,
+            @Value("${explore-with-me.event-cache.max-size:10000}") long cacheMaxSize
+    ) {
         super(eventApiClient);
+        this.eventBulkhead = bulkheadRegistry.bulkhead(DownstreamBulkheads.EVENT_SERVICE);
+        this.eventGrpcClient = eventGrpcClient.getIfAvailable();
+        this.eventIdFilter = new IdExistenceFilter(filterEnabled, filterStrict);
+        this.eventInteractionCache = new LocalDtoCache<>(cacheEnabled, cacheTtlMs, cacheMaxSize,
+                DownstreamBulkheads.EVENT_SERVICE, "EventInteractionDto");
+    }
+
+    @Scheduled(fixedDelayString = "${explore-with-me.id-filter.refresh-ms:5000}")
+    public void refreshEventIdFilter() {
+        reloadEventIdFilter();
     }
 
 }
@@ -1,13 +1,32 @@
 package ru.practicum.client;
 
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import ru.practicum.api.user.UserApi;
+import ru.practicum.client.grpc.UserInteractionGrpcClient;
 
 @Component
 public class UserClientHelper extends UserClientAbstractHelper {
 
-    public UserClientHelper(UserApi userApiClient) {
+    public UserClientHelper(
+            UserApi userApiClient,
+            BulkheadRegistry bulkheadRegistry,
+            ObjectProvider<UserInteractionGrpcClient> userGrpcClient,
+            @Value("${explore-with-me.id-filter.enabled:false}") boolean filterEnabled,
+            @Value("${explore-with-me.id-filter.strict:false}") boolean filterStrict
+    ) {
         super(userApiClient);
+        this.userBulkhead = bulkheadRegistry.bulkhead(DownstreamBulkheads.USER_SERVICE);
+        this.userGrpcClient = userGrpcClient.getIfAvailable();
+        this.userIdFilter = new IdExistenceFilter(filterEnabled, filterStrict);
     }
 
-}
\ No newline at end of file
+    @Scheduled(fixedDelayString = "${explore-with-me.id-filter.refresh-ms:5000}")
+    public void refreshUserIdFilter() {
+        reloadUserIdFilter();
+    }
+
+}
@@ -1,12 +1,18 @@
 package ru.practicum.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.api.request.RequestApi;
+import ru.practicum.api.request.RequestExportApi;
 import ru.practicum.dto.request.EventRequestStatusUpdateRequestDto;
 import ru.practicum.dto.request.EventRequestStatusUpdateResultDto;
 import ru.practicum.dto.request.ParticipationRequestDto;
+import ru.practicum.dto.request.ParticipationRequestStatus;
+import ru.practicum.export.ExportFormat;
+import ru.practicum.request.service.RequestExportService;
 import ru.practicum.request.service.RequestService;
 
 import java.util.Collection;
@@ -15,9 +21,10 @@ import java.util.Map;
 @RestController
 @RequiredArgsConstructor
 @Validated
-public class RequestController implements RequestApi {
+public class RequestController implements RequestApi, RequestExportApi {
 
     private final RequestService requestService;
+    private final RequestExportService requestExportService;
 
     // ЗАЯВКИ ТЕКУЩЕГО ПОЛЬЗОВАТЕЛЯ
 
@@ -35,8 +42,8 @@ public class RequestController implements RequestApi {
 
     // Получение информации о заявках текущего пользователя на участие в чужих событиях
     @Override
-    public Collection<ParticipationRequestDto> getRequesterRequests(Long userId) {
-        return requestService.findRequesterRequests(userId);
+    public Collection<ParticipationRequestDto> getRequesterRequests(Long userId, Boolean includeArchived) {
+        return requestService.findRequesterRequests(userId, includeArchived);
     }
 
     // ЗАЯВКИ НА КОНКРЕТНОЕ СОБЫТИЕ
@@ -55,8 +62,8 @@ public class RequestController implements RequestApi {
     }
 
     @Override
-    public Map<Long, Long> getConfirmedRequestsByEventIds(Collection<Long> eventIds) {
-        return requestService.getConfirmedRequestsByEventIds(eventIds);
+    public Map<Long, Long> getConfirmedRequestsByEventIds(Collection<Long> eventIds, Boolean includeArchived) {
+        return requestService.getConfirmedRequestsByEventIds(eventIds, includeArchived);
     }
 
     @Override
@@ -64,4 +71,17 @@ public class RequestController implements RequestApi {
         return requestService.checkParticipation(userId, eventId);
     }
 
+    @Override
+    public void evictEventInteraction(Long eventId) {
+        requestService.evictEventInteraction(eventId);
+    }
+
+    // ВЫГРУЗКА
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportRequests(Long event, ParticipationRequestStatus status,
+                                                                ExportFormat format) {
+        return format.toResponse("requests", out -> requestExportService.exportRequests(event, status, format, out));
+    }
+
 }
\ No newline at end of file
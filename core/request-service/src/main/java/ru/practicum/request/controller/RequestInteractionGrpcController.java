@@ -0,0 +1,26 @@
+package ru.practicum.request.controller;
+
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.service.GrpcService;
+import ru.practicum.grpc.interaction.RequestInteractionControllerGrpc;
+import ru.practicum.grpc.interaction.message.ConfirmedRequestsProto;
+import ru.practicum.grpc.interaction.message.IdListProto;
+import ru.practicum.interaction.InteractionProtoMapper;
+import ru.practicum.request.service.RequestService;
+
+@GrpcService
+@RequiredArgsConstructor
+public class RequestInteractionGrpcController extends RequestInteractionControllerGrpc.RequestInteractionControllerImplBase {
+
+    private final RequestService requestService;
+
+    @Override
+    public void getConfirmedRequests(IdListProto request, StreamObserver<ConfirmedRequestsProto> responseObserver) {
+        responseObserver.onNext(InteractionProtoMapper.toConfirmedRequestsProto(
+                requestService.getConfirmedRequestsByEventIds(request.getIdList(), false)
+        ));
+        responseObserver.onCompleted();
+    }
+
+}
@@ -14,15 +14,12 @@ import java.time.LocalDateTime;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "requests", indexes = {
-        @Index(name = "idx_requests_requester_id", columnList = "requester_id"),
-        @Index(name = "idx_requests_event_id", columnList = "event_id")
-})
+@Table(name = "requests")
 
 public class Request {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @RequestShardId
     @EqualsAndHashCode.Include
     @Column(name = "id")
     private Long id;
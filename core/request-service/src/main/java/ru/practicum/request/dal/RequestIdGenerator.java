@@ -0,0 +1,78 @@
+package ru.practicum.request.dal;
+
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Генератор id заявок с блоками отдельно для каждого шарда.
+ * Стандартный pooled-оптимизатор Hibernate держит один блок на SessionFactory, и блок, полученный из
+ * последовательности одного шарда, раздавался бы заявкам других шардов. Здесь блок берется из requests_seq
+ * соединения текущей транзакции (она открыта внутри RequestShards.onEvent) и используется только для этого шарда.
+ * Значение последовательности - верхняя граница блока, как у pooled (миграции V1 и V4).
+ */
+public class RequestIdGenerator implements IdentifierGenerator {
+
+    // совпадает с INCREMENT BY requests_seq
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final String NEXTVAL_SQL = "SELECT nextval('requests_seq')";
+
+    private final Map<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return next(RequestShards.current(), () -> nextval(session));
+    }
+
+    // Следующий id шарда; nextval вызывается, только когда блок шарда исчерпан
+    long next(int shard, LongSupplier nextval) {
+        Block block = blocks.computeIfAbsent(shard, s -> new Block());
+        synchronized (block) {
+            if (block.next > block.hi) {
+                long hi = nextval.getAsLong();
+                if (hi / RequestShards.ID_RANGE != shard)
+                    throw new IllegalStateException("requests_seq value " + hi + " is outside the id range of request shard " + shard);
+                block.hi = hi;
+                // первое значение последовательности (START WITH 1) меньше размера блока
+                block.next = Math.max(hi - ALLOCATION_SIZE + 1, shard * RequestShards.ID_RANGE + 1);
+            }
+            return block.next++;
+        }
+    }
+
+    // PRIVATE METHODS
+
+    private static long nextval(SharedSessionContractImplementor session) {
+        JdbcCoordinator jdbc = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbc.getStatementPreparer().prepareStatement(NEXTVAL_SQL);
+        try {
+            ResultSet resultSet = jdbc.getResultSetReturn().extract(statement, NEXTVAL_SQL);
+            try {
+                resultSet.next();
+                return resultSet.getLong(1);
+            } finally {
+                jdbc.getLogicalConnection().getResourceRegistry().release(resultSet, statement);
+            }
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper()
+                    .convert(e, "Could not get next value of requests_seq", NEXTVAL_SQL);
+        } finally {
+            jdbc.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbc.afterStatementExecution();
+        }
+    }
+
+    private static final class Block {
+        private long next = 1;
+        private long hi = 0;
+    }
+
+}
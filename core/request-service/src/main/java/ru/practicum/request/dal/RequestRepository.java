@@ -1,8 +1,12 @@
 package ru.practicum.request.dal;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.dto.request.ParticipationRequestStatus;
 
@@ -21,9 +25,12 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
 
     List<Request> findByEventId(Long eventId);
 
+    List<Request> findByEventIdAndIdIn(Long eventId, Collection<Long> ids);
+
     @Modifying(clearAutomatically = true)
-    @Query("UPDATE Request r SET r.status = :status WHERE r.id IN :ids")
-    void updateStatusByIds(
+    @Query("UPDATE Request r SET r.status = :status WHERE r.eventId = :eventId AND r.id IN :ids")
+    void updateStatusByEventIdAndIds(
+            @Param("eventId") Long eventId,
             @Param("ids") List<Long> ids,
             @Param("status") ParticipationRequestStatus status
     );
@@ -50,4 +57,62 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
             @Param("eventIds") Collection<Long> eventIds
     );
 
+    // АРХИВ ЗАЯВОК НА ПРОШЕДШИЕ СОБЫТИЯ
+
+    // Очередная порция id событий, на которые есть заявки (обход в порядке event_id для RequestArchiver)
+    @Query(nativeQuery = true, value = """
+            SELECT DISTINCT event_id FROM requests
+            WHERE event_id > :afterEventId
+            ORDER BY event_id
+            LIMIT :limit
+            """)
+    List<Long> findEventIdsAfter(@Param("afterEventId") long afterEventId, @Param("limit") int limit);
+
+    // Перенос всех заявок на архивированные события в requests_archive
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            WITH moved AS (
+                DELETE FROM requests
+                WHERE event_id IN (:eventIds)
+                RETURNING *
+            )
+            INSERT INTO requests_archive (id, requester_id, event_id, status, created_at, archived_at)
+            SELECT id, requester_id, event_id, status, created_at, now()
+            FROM moved
+            """)
+    int archiveByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Заявки из архива отображаются на ту же сущность: читать только в read-only транзакции
+    @Query(nativeQuery = true, value = """
+            SELECT id, requester_id, event_id, status, created_at
+            FROM requests_archive
+            WHERE requester_id = :userId
+            """)
+    List<Request> findArchivedByRequesterId(@Param("userId") Long userId);
+
+    @Query(nativeQuery = true, value = """
+            SELECT event_id, count(*)
+            FROM requests_archive
+            WHERE event_id IN (:eventIds)
+            AND status = 'CONFIRMED'
+            GROUP BY event_id
+            """)
+    List<Object[]> getArchivedConfirmedRequestsByEventIds(@Param("eventIds") Collection<Long> eventIds);
+
+    // Пачка выгрузки: не больше limit заявок с id больше afterId в порядке id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT r FROM Request r
+            WHERE (:eventId IS NULL OR r.eventId = :eventId)
+            AND (:status IS NULL OR r.status = :status)
+            AND r.id > :afterId
+            ORDER BY r.id
+            """)
+    List<Request> findExportBatch(
+            @Param("eventId") Long eventId,
+            @Param("status") ParticipationRequestStatus status,
+            @Param("afterId") Long afterId,
+            Limit limit
+    );
+
 }
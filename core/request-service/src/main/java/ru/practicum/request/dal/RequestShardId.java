@@ -0,0 +1,17 @@
+package ru.practicum.request.dal;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id заявки из requests_seq того шарда, на котором она сохраняется (RequestIdGenerator).
+ */
+@IdGeneratorType(RequestIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface RequestShardId {
+}
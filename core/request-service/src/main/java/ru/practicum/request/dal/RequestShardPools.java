@@ -0,0 +1,35 @@
+package ru.practicum.request.dal;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * Пулы соединений дополнительных шардов заявок (шарды 1..N-1), шард 0 - основная БД spring.datasource.
+ */
+public class RequestShardPools implements AutoCloseable {
+
+    private final List<HikariDataSource> pools;
+
+    RequestShardPools(List<HikariDataSource> pools) {
+        this.pools = pools;
+    }
+
+    public int count() {
+        return pools.size() + 1;
+    }
+
+    HikariDataSource get(int shard) {
+        return pools.get(shard - 1);
+    }
+
+    @Override
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    // адрес дополнительного шарда; логин и пароль по умолчанию те же, что у основной БД
+    record Shard(String url, String username, String password) {
+    }
+
+}
@@ -0,0 +1,32 @@
+package ru.practicum.request.dal;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Выбор шарда заявок по ключу потока RequestShards: шард 0 - основной стек соединений приложения
+ * (реплика, пулы по классам нагрузки), остальные шарды - пулы RequestShardPools.
+ */
+class RequestShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    RequestShardRoutingDataSource(DataSource primary, RequestShardPools pools) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(0, primary);
+        for (int shard = 1; shard < pools.count(); shard++) {
+            targets.put(shard, pools.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return RequestShards.current();
+    }
+
+}
@@ -0,0 +1,115 @@
+package ru.practicum.request.dal;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Шардирование заявок по id события между несколькими БД.
+ * Шард 0 - основная БД со всеми пулами приложения, дополнительные шарды - explore-with-me.request.sharding.shards
+ * (настройки пула: spring.datasource.hikari, поверх них - explore-with-me.request.sharding.hikari).
+ * Схему дополнительных шардов накатывает тот же Flyway с placeholder'ом request_shard = номер шарда.
+ * Число шардов после запуска в эксплуатацию не меняется: перераспределение заявок не поддерживается.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "explore-with-me.request.sharding.enabled", havingValue = "true")
+public class RequestShardingConfiguration {
+
+    private static final String SHARDING_PREFIX = "explore-with-me.request.sharding.";
+
+    // основной DataSource приложения: маршрутизатор реплики/пулов из core-common либо DataSource Spring Boot
+    private static final Set<String> PRIMARY_DATA_SOURCE_NAMES = Set.of("routingDataSource", "dataSource");
+
+    @Bean(destroyMethod = "close")
+    public RequestShardPools requestShardPools(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        List<RequestShardPools.Shard> shards = binder
+                .bind(SHARDING_PREFIX + "shards", Bindable.listOf(RequestShardPools.Shard.class))
+                .orElse(List.of());
+        List<HikariDataSource> pools = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            RequestShardPools.Shard shard = shards.get(i);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setDriverClassName(properties.determineDriverClassName());
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            binder.bind(SHARDING_PREFIX + "hikari", Bindable.ofInstance(pool));
+            pool.setJdbcUrl(shard.url());
+            pool.setUsername(StringUtils.hasText(shard.username()) ? shard.username() : properties.getUsername());
+            pool.setPassword(shard.password() != null ? shard.password() : properties.getPassword());
+            pool.setPoolName("shard-" + (i + 1));
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        log.info("Request sharding enabled: {} shards", pools.size() + 1);
+        return new RequestShardPools(pools);
+    }
+
+    // Flyway основной БД сам зависит от DataSource, поэтому дополнительные шарды мигрируются
+    // после создания всех бинов, но до старта веб-сервера и gRPC
+    @Bean
+    public SmartInitializingSingleton requestShardMigrations(ObjectProvider<Flyway> flyway, RequestShardPools pools) {
+        return () -> flyway.ifAvailable(primaryFlyway -> migrate(primaryFlyway, pools));
+    }
+
+    // основной DataSource заменяется маршрутизатором шардов, остальные бины получают его уже обернутым
+    @Bean
+    public static BeanPostProcessor requestShardDataSourcePostProcessor(ObjectProvider<RequestShardPools> pools) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && PRIMARY_DATA_SOURCE_NAMES.contains(beanName)) {
+                    return new RequestShardRoutingDataSource(primary, pools.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // open-in-view держал бы соединение первого шарда до конца HTTP-запроса
+    @Bean
+    public HibernatePropertiesCustomizer requestShardConnectionHandlingCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    // PRIVATE METHODS
+
+    private static void migrate(Flyway primaryFlyway, RequestShardPools pools) {
+        for (int shard = 1; shard < pools.count(); shard++) {
+            Map<String, String> placeholders = new HashMap<>(primaryFlyway.getConfiguration().getPlaceholders());
+            placeholders.put("request_shard", String.valueOf(shard));
+            Flyway.configure()
+                    .configuration(primaryFlyway.getConfiguration())
+                    .dataSource(pools.get(shard))
+                    .placeholders(placeholders)
+                    .load()
+                    .migrate();
+        }
+    }
+
+}
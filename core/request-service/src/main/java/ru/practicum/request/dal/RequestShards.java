@@ -0,0 +1,156 @@
+package ru.practicum.request.dal;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.exception.NotFoundException;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Маршрутизация работы с заявками по шардам: шард события - hash(eventId) mod N, шард заявки - диапазон ее id.
+ * Без шардирования (explore-with-me.request.sharding.enabled: false) шард один и действия выполняются как есть.
+ * Транзакцию нужно открывать внутри действия: соединение берется из пула шарда в начале транзакции.
+ */
+@Component
+public class RequestShards implements DisposableBean {
+
+    // каждый шард выдает id заявок из своего диапазона (сдвиг последовательности - миграция V4)
+    public static final long ID_RANGE = 1_000_000_000_000_000L;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final ExecutorService executor;
+
+    public RequestShards(
+            ObjectProvider<RequestShardPools> shardPools,
+            @Value("${explore-with-me.request.sharding.scatter-gather.threads:16}") int threads,
+            @Value("${explore-with-me.request.sharding.scatter-gather.queue-size:256}") int queueSize
+    ) {
+        RequestShardPools pools = shardPools.getIfAvailable();
+        this.count = pools != null ? pools.count() : 1;
+        this.executor = count > 1 ? newScatterGatherExecutor(threads, queueSize) : null;
+    }
+
+    // шард текущего потока для RequestShardRoutingDataSource
+    static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public int ofEvent(long eventId) {
+        return count == 1 ? 0 : Math.floorMod(mix(eventId), count);
+    }
+
+    public int ofRequest(long requestId) {
+        long shard = requestId / ID_RANGE;
+        if (shard >= count) throw new NotFoundException("Not found Request " + requestId);
+        return (int) shard;
+    }
+
+    // Группировка id событий по шардам для запросов по списку событий
+    public Map<Integer, List<Long>> groupByEventShard(Collection<Long> eventIds) {
+        if (count == 1) return Map.of(0, List.copyOf(eventIds));
+        Map<Integer, List<Long>> groups = new TreeMap<>();
+        for (Long eventId : eventIds) {
+            groups.computeIfAbsent(ofEvent(eventId), shard -> new ArrayList<>()).add(eventId);
+        }
+        return groups;
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        if (count == 1) return action.get();
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public <T> T onEvent(long eventId, Supplier<T> action) {
+        return onShard(ofEvent(eventId), action);
+    }
+
+    public <T> T onRequest(long requestId, Supplier<T> action) {
+        return onShard(ofRequest(requestId), action);
+    }
+
+    // Scatter-gather: действие параллельно на каждом из шардов, результаты в порядке шардов
+    public <T> List<T> onShards(Collection<Integer> shards, IntFunction<T> action) {
+        if (shards.size() == 1) {
+            int shard = shards.iterator().next();
+            return Collections.singletonList(onShard(shard, () -> action.apply(shard)));
+        }
+        List<Future<T>> futures = new ArrayList<>(shards.size());
+        for (int shard : shards) {
+            futures.add(executor.submit(() -> onShard(shard, () -> action.apply(shard))));
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) results.add(future.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for request shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException("Request shard query failed", e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    public <T> List<T> onEach(IntFunction<T> action) {
+        List<Integer> shards = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) shards.add(shard);
+        return onShards(shards, action);
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) executor.shutdownNow();
+    }
+
+    // PRIVATE METHODS
+
+    // Ограниченный пул: при заполненной очереди подзапрос выполняет поток вызова, а не новый поток.
+    // Контекст (трассировка, бюджет запросов, класс нагрузки) переносится в потоки scatter-gather
+    private static ExecutorService newScatterGatherExecutor(int threads, int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                task -> new Thread(task, "request-shards-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        return ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build());
+    }
+
+    // перемешивание битов (финализатор murmur3): соседние id событий расходятся по разным шардам
+    private static int mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb93fe53a87d5L;
+        value ^= value >>> 33;
+        return (int) value;
+    }
+
+}
@@ -0,0 +1,96 @@
+package ru.practicum.request.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.client.EventClientHelper;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
+import ru.practicum.exception.ServiceInteractionException;
+import ru.practicum.metrics.CoreMetrics;
+import ru.practicum.request.dal.RequestRepository;
+import ru.practicum.request.dal.RequestShards;
+
+import java.util.Collection;
+import java.util.List;
+
+// Фоновая архивация заявок на прошедшие события: обходит id событий из requests порциями, спрашивает
+// event-service, какие из них уже в архиве, и переносит заявки этих событий в requests_archive.
+// Обход идет по кругу, позиция хранится в памяти отдельно для каждого шарда
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "explore-with-me.archive.enabled", havingValue = "true")
+public class RequestArchiver {
+
+    private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
+    private final RequestRepository requestRepository;
+    private final RequestShards requestShards;
+    private final EventClientHelper eventClientHelper;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long[] cursors;
+
+    public RequestArchiver(
+            TransactionTemplate transactionTemplate,
+            ReadOnlyTransactionTemplate readOnlyTransactionTemplate,
+            RequestRepository requestRepository,
+            RequestShards requestShards,
+            EventClientHelper eventClientHelper,
+            @Value("${explore-with-me.archive.batch-size:500}") int batchSize,
+            @Value("${explore-with-me.archive.max-batches:20}") int maxBatches
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = readOnlyTransactionTemplate;
+        this.requestRepository = requestRepository;
+        this.requestShards = requestShards;
+        this.eventClientHelper = eventClientHelper;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.cursors = new long[requestShards.count()];
+    }
+
+    @Scheduled(fixedDelayString = "${explore-with-me.archive.interval-ms:60000}",
+            initialDelayString = "${explore-with-me.archive.interval-ms:60000}")
+    public void archiveRequestsOfArchivedEvents() {
+        int total = 0;
+        try {
+            for (int shard = 0; shard < requestShards.count(); shard++) {
+                int current = shard;
+                total += requestShards.onShard(shard, () -> sweep(current));
+            }
+        } catch (ServiceInteractionException e) {
+            // event-service недоступен: обход продолжится со следующим запуском с той же позиции
+            log.debug("Request archiving postponed: {}", e.getMessage());
+        }
+        if (total == 0) return;
+        CoreMetrics.countArchived("requests", total);
+        log.info("Archived {} requests of archived events", total);
+    }
+
+    // PRIVATE METHODS
+
+    private int sweep(int shard) {
+        int moved = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long afterEventId = cursors[shard];
+            List<Long> eventIds = readOnlyTransactionTemplate.execute(status ->
+                    requestRepository.findEventIdsAfter(afterEventId, batchSize));
+            if (eventIds == null || eventIds.isEmpty()) {
+                // круг пройден, следующий запуск начнет сначала
+                cursors[shard] = 0;
+                break;
+            }
+            Collection<Long> archived = eventClientHelper.retrieveArchivedEventIds(eventIds);
+            if (!archived.isEmpty()) {
+                Integer count = transactionTemplate.execute(status -> requestRepository.archiveByEventIds(archived));
+                if (count != null) moved += count;
+            }
+            cursors[shard] = eventIds.getLast();
+        }
+        return moved;
+    }
+
+}
@@ -0,0 +1,80 @@
+package ru.practicum.request.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
+import ru.practicum.dto.request.ParticipationRequestDto;
+import ru.practicum.dto.request.ParticipationRequestStatus;
+import ru.practicum.export.ExportFormat;
+import ru.practicum.export.ExportWriter;
+import ru.practicum.export.ExportWriter.Column;
+import ru.practicum.request.dal.Request;
+import ru.practicum.request.dal.RequestRepository;
+import ru.practicum.request.dal.RequestShards;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RequestExportService {
+
+    private static final List<Column<ParticipationRequestDto>> CSV_COLUMNS = List.of(
+            new Column<>("id", ParticipationRequestDto::getId),
+            new Column<>("requester", ParticipationRequestDto::getRequester),
+            new Column<>("event", ParticipationRequestDto::getEvent),
+            new Column<>("status", ParticipationRequestDto::getStatus),
+            new Column<>("created", ParticipationRequestDto::getCreated)
+    );
+
+    private final RequestRepository requestRepository;
+    private final RequestShards requestShards;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private int exportBatchSize = 500;
+
+    @Value("${explore-with-me.export.batch-size:500}")
+    public void setExportBatchSize(int exportBatchSize) {
+        this.exportBatchSize = exportBatchSize;
+    }
+
+    // Заявка содержит только идентификаторы, поэтому обогащения нет. Каждая пачка читается отдельной короткой
+    // транзакцией по id, поэтому соединение не удерживается, пока пачка пишется медленному клиенту.
+    // Выгрузка по событию читает его шард, полная - шарды по очереди: диапазоны id шардов
+    // возрастают, поэтому порядок по id сохраняется
+    public void exportRequests(Long eventId, ParticipationRequestStatus status, ExportFormat format,
+                               OutputStream out) throws IOException {
+        ExportWriter<ParticipationRequestDto> writer = new ExportWriter<>(out, format, objectMapper, CSV_COLUMNS);
+        if (eventId != null) {
+            exportShard(requestShards.ofEvent(eventId), eventId, status, writer);
+        } else {
+            for (int shard = 0; shard < requestShards.count(); shard++) {
+                exportShard(shard, null, status, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    // PRIVATE METHODS
+
+    private void exportShard(int shard, Long eventId, ParticipationRequestStatus status,
+                             ExportWriter<ParticipationRequestDto> writer) throws IOException {
+        ExportWriter.forEachKeysetBatch(exportBatchSize,
+                afterId -> requestShards.onShard(shard, () -> readOnlyTransactionTemplate.execute(tx ->
+                        requestRepository.findExportBatch(eventId, status, afterId, Limit.of(exportBatchSize)))),
+                Request::getId,
+                batch -> {
+                    for (Request request : batch) writer.write(RequestMapper.toDto(request));
+                    writer.flush();
+                    entityManager.clear();
+                });
+    }
+
+}
@@ -1,11 +1,16 @@
 package ru.practicum.request.service;
 
+import io.micrometer.core.annotation.Timed;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.client.EventClientAbstractHelper;
 import ru.practicum.client.UserClientHelper;
+import ru.practicum.datasource.ReadOnlyTransactionTemplate;
 import ru.practicum.dto.event.EventInteractionDto;
 import ru.practicum.dto.event.State;
 import ru.practicum.dto.request.EventRequestStatusUpdateRequestDto;
@@ -15,19 +20,24 @@ import ru.practicum.dto.request.ParticipationRequestStatus;
 import ru.practicum.ewm.client.StatClient;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
+import ru.practicum.metrics.CoreMetrics;
 import ru.practicum.request.dal.Request;
 import ru.practicum.request.dal.RequestRepository;
+import ru.practicum.request.dal.RequestShards;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
+@Timed(CoreMetrics.SERVICE_METHOD)
 @RequiredArgsConstructor
 public class RequestService {
 
     private final TransactionTemplate transactionTemplate;
+    private final ReadOnlyTransactionTemplate readOnlyTransactionTemplate;
     private final RequestRepository requestRepository;
+    // шард выбирается до начала транзакции: по id события, для отмены - по id заявки
+    private final RequestShards requestShards;
 
     private final UserClientHelper userClientHelper;
     private final EventClientAbstractHelper eventClientHelper;
@@ -38,43 +48,49 @@ public class RequestService {
 
     // Добавление запроса от текущего пользователя на участие в событии
     public ParticipationRequestDto addRequest(Long userId, Long eventId) {
-        userClientHelper.retrieveUserShortDtoByUserIdOrFall(userId);
+        userClientHelper.checkUserExistsOrFall(userId);
 
         EventInteractionDto eventDto = eventClientHelper.retrieveEventInteractionDtoByEventIdOrFall(eventId);
 
-        ParticipationRequestDto result = transactionTemplate.execute(status -> {
-            // нельзя добавить повторный запрос (Ожидается код ошибки 409)
-            if (requestRepository.existsByRequesterIdAndEventId(userId, eventId))
-                throw new ConflictException("User tries to make duplicate request", "Forbidden action");
-
-            // инициатор события не может добавить запрос на участие в своём событии (Ожидается код ошибки 409)
-            if (Objects.equals(userId, eventDto.getInitiatorId()))
-                throw new ConflictException("User tries to request for his own event", "Forbidden action");
-
-            // нельзя участвовать в неопубликованном событии (Ожидается код ошибки 409)
-            if (eventDto.getState() != State.PUBLISHED)
-                throw new ConflictException("User tries to request for non-published event", "Forbidden action");
-
-            // если у события достигнут лимит запросов на участие - необходимо вернуть ошибку (Ожидается код ошибки 409)
-            long confirmedRequestCount = requestRepository.countByEventIdAndStatus(eventId, ParticipationRequestStatus.CONFIRMED);
-            if (eventDto.getParticipantLimit() > 0 && confirmedRequestCount >= eventDto.getParticipantLimit())
-                throw new ConflictException("Participants limit is already reached", "Forbidden action");
-
-            // если для события отключена пре-модерация запросов на участие, то запрос должен автоматически перейти в состояние подтвержденного
-            ParticipationRequestStatus newRequestStatus = ParticipationRequestStatus.PENDING;
-            if (!eventDto.getRequestModeration()) newRequestStatus = ParticipationRequestStatus.CONFIRMED;
-            if (Objects.equals(eventDto.getParticipantLimit(), 0L))
-                newRequestStatus = ParticipationRequestStatus.CONFIRMED;
-
-            Request newRequest = Request.builder()
-                    .requesterId(userId)
-                    .eventId(eventId)
-                    .status(newRequestStatus)
-                    .created(LocalDateTime.now())
-                    .build();
-            requestRepository.save(newRequest);
-            return RequestMapper.toDto(newRequest);
-        });
+        ParticipationRequestDto result;
+        try {
+            result = requestShards.onEvent(eventId, () -> transactionTemplate.execute(status -> {
+                // нельзя добавить повторный запрос (Ожидается код ошибки 409)
+                if (requestRepository.existsByRequesterIdAndEventId(userId, eventId))
+                    throw new ConflictException("User tries to make duplicate request", "Forbidden action");
+
+                // инициатор события не может добавить запрос на участие в своём событии (Ожидается код ошибки 409)
+                if (Objects.equals(userId, eventDto.getInitiatorId()))
+                    throw new ConflictException("User tries to request for his own event", "Forbidden action");
+
+                // нельзя участвовать в неопубликованном событии (Ожидается код ошибки 409)
+                if (eventDto.getState() != State.PUBLISHED)
+                    throw new ConflictException("User tries to request for non-published event", "Forbidden action");
+
+                // если у события достигнут лимит запросов на участие - необходимо вернуть ошибку (Ожидается код ошибки 409)
+                long confirmedRequestCount = requestRepository.countByEventIdAndStatus(eventId, ParticipationRequestStatus.CONFIRMED);
+                if (eventDto.getParticipantLimit() > 0 && confirmedRequestCount >= eventDto.getParticipantLimit())
+                    throw new ConflictException("Participants limit is already reached", "Forbidden action");
+
+                // если для события отключена пре-модерация запросов на участие, то запрос должен автоматически перейти в состояние подтвержденного
+                ParticipationRequestStatus newRequestStatus = ParticipationRequestStatus.PENDING;
+                if (!eventDto.getRequestModeration()) newRequestStatus = ParticipationRequestStatus.CONFIRMED;
+                if (Objects.equals(eventDto.getParticipantLimit(), 0L))
+                    newRequestStatus = ParticipationRequestStatus.CONFIRMED;
+
+                Request newRequest = Request.builder()
+                        .requesterId(userId)
+                        .eventId(eventId)
+                        .status(newRequestStatus)
+                        .created(LocalDateTime.now())
+                        .build();
+                requestRepository.save(newRequest);
+                return RequestMapper.toDto(newRequest);
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // параллельный повторный запрос отсекает уникальный индекс (requester_id, event_id)
+            throw new ConflictException("User tries to make duplicate request", "Forbidden action");
+        }
 
         statClient.sendRegister(userId, eventId);
 
@@ -82,23 +98,35 @@ public class RequestService {
     }
 
     // Отмена своего запроса на участие в событии
-    @Transactional
     public ParticipationRequestDto cancelRequest(Long userId, Long requestId) {
-        Request request = requestRepository.findById(requestId)
-                .orElseThrow(() -> new NotFoundException("Not found Request " + requestId));
+        return requestShards.onRequest(requestId, () -> transactionTemplate.execute(status -> {
+            Request request = requestRepository.findById(requestId)
+                    .orElseThrow(() -> new NotFoundException("Not found Request " + requestId));
 
-        if (!Objects.equals(request.getRequesterId(), userId))
-            throw new ConflictException("User can cancel only his own event", "Forbidden action");
+            if (!Objects.equals(request.getRequesterId(), userId))
+                throw new ConflictException("User can cancel only his own event", "Forbidden action");
 
-        request.setStatus(ParticipationRequestStatus.CANCELED);
-        requestRepository.save(request);
-        return RequestMapper.toDto(request);
+            request.setStatus(ParticipationRequestStatus.CANCELED);
+            requestRepository.save(request);
+            return RequestMapper.toDto(request);
+        }));
     }
 
     // Получение информации о заявках текущего пользователя на участие в чужих событиях
-    @Transactional(readOnly = true)
-    public Collection<ParticipationRequestDto> findRequesterRequests(Long userId) {
-        return requestRepository.findByRequesterId(userId).stream()
+    // заявки пользователя лежат на всех шардах (и во всех секциях): scatter-gather с общей сортировкой;
+    // архив заявок на прошедшие события читается, только если об этом попросили
+    public Collection<ParticipationRequestDto> findRequesterRequests(Long userId, boolean includeArchived) {
+        List<List<Request>> shardRequests = requestShards.onEach(shard ->
+                readOnlyTransactionTemplate.execute(status -> {
+                    List<Request> requests = requestRepository.findByRequesterId(userId);
+                    if (!includeArchived) return requests;
+                    List<Request> all = new ArrayList<>(requests);
+                    all.addAll(requestRepository.findArchivedByRequesterId(userId));
+                    return all;
+                }));
+        return shardRequests.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Request::getCreated).thenComparing(Request::getId))
                 .map(RequestMapper::toDto)
                 .toList();
     }
@@ -113,9 +141,10 @@ public class RequestService {
         if (!Objects.equals(userId, eventDto.getInitiatorId()))
             throw new ConflictException("User " + userId + " is not an initiator of event " + eventId, "Forbidden action");
 
-        return requestRepository.findByEventId(eventId).stream()
-                .map(RequestMapper::toDto)
-                .toList();
+        return requestShards.onEvent(eventId, () -> readOnlyTransactionTemplate.execute(status ->
+                requestRepository.findByEventId(eventId).stream()
+                        .map(RequestMapper::toDto)
+                        .toList()));
     }
 
     // Изменение статуса (подтверждена, отменена) заявок на участие в событии текущего пользователя
@@ -134,9 +163,10 @@ public class RequestService {
         if (eventDto.getParticipantLimit() < 1 || !eventDto.getRequestModeration())
             return new EventRequestStatusUpdateResultDto();
 
-        return transactionTemplate.execute(status -> {
+        return requestShards.onEvent(eventId, () -> transactionTemplate.execute(status -> {
             // статус можно изменить только у заявок, находящихся в состоянии ожидания (Ожидается код ошибки 409)
-            List<Request> requests = requestRepository.findAllById(updateRequestDto.getRequestIds());
+            // выборки и обновления ограничены событием: запрос читает одну секцию таблицы
+            List<Request> requests = requestRepository.findByEventIdAndIdIn(eventId, updateRequestDto.getRequestIds());
             for (Request request : requests) {
                 if (!Objects.equals(request.getStatus(), ParticipationRequestStatus.PENDING))
                     throw new ConflictException("Request " + request.getId() + " must have status PENDING", "Incorrectly made request");
@@ -154,7 +184,7 @@ public class RequestService {
                     throw new ConflictException("The participant limit has been reached for event " + eventId, "Forbidden action");
                 } else if (updateRequestDto.getRequestIds().size() < eventDto.getParticipantLimit() - confirmedRequestCount) {
                     requestsToConfirm = updateRequestDto.getRequestIds();
-                    requestRepository.updateStatusByIds(requestsToConfirm, ParticipationRequestStatus.CONFIRMED);
+                    requestRepository.updateStatusByEventIdAndIds(eventId, requestsToConfirm, ParticipationRequestStatus.CONFIRMED);
                 } else {
                     long freeSeats = eventDto.getParticipantLimit() - confirmedRequestCount;
                     requestsToConfirm = updateRequestDto.getRequestIds().stream()
@@ -163,47 +193,66 @@ public class RequestService {
                     requestsToReject = updateRequestDto.getRequestIds().stream()
                             .skip(freeSeats)
                             .toList();
-                    requestRepository.updateStatusByIds(requestsToConfirm, ParticipationRequestStatus.CONFIRMED);
+                    requestRepository.updateStatusByEventIdAndIds(eventId, requestsToConfirm, ParticipationRequestStatus.CONFIRMED);
                     // если при подтверждении данной заявки, лимит заявок для события исчерпан, то все неподтверждённые заявки необходимо отклонить
                     requestRepository.setStatusToRejectForAllPending(eventId);
                 }
 
             } else if (updateRequestDto.getStatus() == ParticipationRequestStatus.REJECTED) {
                 requestsToReject = updateRequestDto.getRequestIds();
-                requestRepository.updateStatusByIds(requestsToReject, ParticipationRequestStatus.REJECTED);
+                requestRepository.updateStatusByEventIdAndIds(eventId, requestsToReject, ParticipationRequestStatus.REJECTED);
             } else {
                 throw new ConflictException("Only CONFIRMED and REJECTED statuses are allowed", "Forbidden action");
             }
 
             EventRequestStatusUpdateResultDto resultDto = new EventRequestStatusUpdateResultDto();
-            List<ParticipationRequestDto> confirmedRequests = requestRepository.findAllById(requestsToConfirm).stream()
+            List<ParticipationRequestDto> confirmedRequests = requestRepository.findByEventIdAndIdIn(eventId, requestsToConfirm).stream()
                     .map(RequestMapper::toDto)
                     .toList();
             resultDto.setConfirmedRequests(confirmedRequests);
-            List<ParticipationRequestDto> rejectedRequests = requestRepository.findAllById(requestsToReject).stream()
+            List<ParticipationRequestDto> rejectedRequests = requestRepository.findByEventIdAndIdIn(eventId, requestsToReject).stream()
                     .map(RequestMapper::toDto)
                     .toList();
             resultDto.setRejectedRequests(rejectedRequests);
             return resultDto;
-        });
+        }));
     }
 
-    @Transactional(readOnly = true)
-    public Map<Long, Long> getConfirmedRequestsByEventIds(Collection<Long> eventIds) {
-        if (eventIds == null || eventIds.isEmpty()) return Map.of();
-        return requestRepository.getConfirmedRequestsByEventIds(eventIds).stream()
-                .collect(Collectors.toMap(
-                        r -> (Long) r[0],
-                        r -> (Long) r[1]
-                ));
+    // id событий группируются по шардам, запрос на каждом шарде затрагивает только секции своих событий
+    public Long2LongMap getConfirmedRequestsByEventIds(Collection<Long> eventIds, boolean includeArchived) {
+        if (eventIds == null || eventIds.isEmpty()) return Long2LongMaps.EMPTY_MAP;
+        Map<Integer, List<Long>> eventIdsByShard = requestShards.groupByEventShard(eventIds);
+        List<List<Object[]>> shardRows = requestShards.onShards(eventIdsByShard.keySet(), shard ->
+                readOnlyTransactionTemplate.execute(status -> {
+                    List<Long> shardEventIds = eventIdsByShard.get(shard);
+                    List<Object[]> rows = requestRepository.getConfirmedRequestsByEventIds(shardEventIds);
+                    if (!includeArchived) return rows;
+                    // пока архивация событий не завершена, заявки события могут быть и в горячей таблице, и в архиве
+                    List<Object[]> all = new ArrayList<>(rows);
+                    all.addAll(requestRepository.getArchivedConfirmedRequestsByEventIds(shardEventIds));
+                    return all;
+                }));
+        Long2LongOpenHashMap result = new Long2LongOpenHashMap(eventIds.size());
+        for (List<Object[]> rows : shardRows) {
+            for (Object[] r : rows) {
+                result.addTo(((Number) r[0]).longValue(), ((Number) r[1]).longValue());
+            }
+        }
+        return result;
     }
 
-    @Transactional(readOnly = true)
     public String checkParticipation(Long userId, Long eventId) {
-        if (requestRepository.existsByRequesterIdAndEventIdAndStatus(userId, eventId, ParticipationRequestStatus.CONFIRMED)) {
+        boolean participates = requestShards.onEvent(eventId, () -> readOnlyTransactionTemplate.execute(status ->
+                requestRepository.existsByRequesterIdAndEventIdAndStatus(userId, eventId, ParticipationRequestStatus.CONFIRMED)));
+        if (participates) {
             return "true";
         }
         throw new NotFoundException("Not found CONFIRMED request for user " + userId + " and event " + eventId);
     }
 
+    // Событие изменилось: следующая заявка перечитает его состояние, лимит и пре-модерацию из event-service
+    public void evictEventInteraction(Long eventId) {
+        eventClientHelper.evictEventInteractionDto(eventId);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- Исходная схема request-service: сущность Request, последовательность с шагом allocationSize = 50
+CREATE SEQUENCE requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE requests
+(
+    id           BIGINT       NOT NULL,
+    requester_id BIGINT       NOT NULL,
+    event_id     BIGINT       NOT NULL,
+    status       VARCHAR(15)  NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_requests PRIMARY KEY (id),
+    CONSTRAINT ck_requests_status CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELED', 'REJECTED'))
+);
@@ -0,0 +1,17 @@
+-- Индексы под запросы RequestRepository.
+-- CONCURRENTLY не блокирует запись в таблицу, поэтому Flyway выполняет миграцию вне транзакции.
+-- Индексы из старых @Index, созданные Hibernate (ddl-auto: create), заменяются составными.
+
+-- одна заявка пользователя на событие; status в INCLUDE дает index-only scan для
+-- existsByRequesterIdAndEventId(AndStatus), префикс requester_id обслуживает findByRequesterId
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_requests_requester_id_event_id
+    ON requests (requester_id, event_id) INCLUDE (status);
+
+-- countByEventIdAndStatus, findByEventId и отклонение всех PENDING заявок события
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_event_id_status ON requests (event_id, status);
+
+-- количество подтвержденных заявок по списку событий запрашивается при каждой выдаче событий
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_requests_confirmed_event_id ON requests (event_id) WHERE status = 'CONFIRMED';
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_requests_requester_id;
+DROP INDEX CONCURRENTLY IF EXISTS idx_requests_event_id;
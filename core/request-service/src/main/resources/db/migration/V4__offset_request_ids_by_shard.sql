@@ -0,0 +1,9 @@
+-- Каждый шард заявок выдает id из своего диапазона [shard * 10^15, (shard + 1) * 10^15):
+-- по id заявки известен шард, на котором она хранится (RequestShards.ofRequest).
+-- Номер шарда - placeholder request_shard, для основной БД 0 и последовательность не меняется.
+-- Hibernate (pooled, allocationSize 50) считает значение последовательности верхней границей блока,
+-- поэтому первое значение сдвигается на размер блока.
+
+SELECT setval('requests_seq', ${request_shard} * 1000000000000000::BIGINT + 50, false)
+WHERE ${request_shard} > 0
+  AND (SELECT last_value FROM requests_seq) < ${request_shard} * 1000000000000000::BIGINT;
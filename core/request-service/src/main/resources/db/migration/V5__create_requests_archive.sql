@@ -0,0 +1,18 @@
+-- Архив заявок на прошедшие события: RequestArchiver переносит сюда заявки событий,
+-- которые event-service уже перенес в events_archive. Таблица не секционирована: архив читается
+-- только по явному запросу (includeArchived) и не участвует в горячих запросах.
+CREATE TABLE requests_archive
+(
+    id           BIGINT       NOT NULL,
+    requester_id BIGINT       NOT NULL,
+    event_id     BIGINT       NOT NULL,
+    status       VARCHAR(15)  NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    archived_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_requests_archive PRIMARY KEY (id),
+    CONSTRAINT ck_requests_archive_status CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELED', 'REJECTED'))
+);
+
+CREATE INDEX idx_requests_archive_requester_id ON requests_archive (requester_id);
+
+CREATE INDEX idx_requests_archive_event_id_status ON requests_archive (event_id, status);
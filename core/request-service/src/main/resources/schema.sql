@@ -1 +0,0 @@
-CREATE SCHEMA IF NOT EXISTS request_service;
@@ -0,0 +1,89 @@
+package ru.practicum.request.dal;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestIdGeneratorTest {
+
+    private RequestShards shards;
+    private RequestIdGenerator generator;
+
+    // requests_seq каждого шарда в состоянии после миграций V1 и V4
+    private final AtomicLong[] sequences = {
+            new AtomicLong(1),
+            new AtomicLong(RequestShards.ID_RANGE + RequestIdGenerator.ALLOCATION_SIZE)
+    };
+
+    @BeforeEach
+    void setUp() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<RequestShardPools> pools = mock(ObjectProvider.class);
+        when(pools.getIfAvailable()).thenReturn(new RequestShardPools(List.of(new HikariDataSource())));
+        shards = new RequestShards(pools, 2, 16);
+        generator = new RequestIdGenerator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shards.destroy();
+    }
+
+    @Test
+    void requestsCreatedOnAlternatingShardsAreCancelledOnTheirShards() {
+        long[] events = {eventOnShard(0), eventOnShard(1)};
+        Map<Long, Integer> createdOn = new HashMap<>();
+
+        // больше двух блоков на шард: блоки запрашиваются вперемешку
+        for (int i = 0; i < 5 * RequestIdGenerator.ALLOCATION_SIZE; i++) {
+            long eventId = events[i % 2];
+            long id = shards.onEvent(eventId, this::createRequest);
+            assertNull(createdOn.put(id, shards.ofEvent(eventId)), "duplicate request id " + id);
+        }
+
+        // отмена находит шард заявки по ее id
+        createdOn.forEach((id, shard) ->
+                assertEquals(shard, shards.onRequest(id, RequestShards::current), "request " + id));
+    }
+
+    @Test
+    void firstBlocksStartAtTheBeginningOfShardRanges() {
+        assertEquals(1L, shards.onShard(0, this::createRequest));
+        assertEquals(RequestShards.ID_RANGE + 1, shards.onShard(1, this::createRequest));
+        assertEquals(2L, shards.onShard(0, this::createRequest));
+    }
+
+    @Test
+    void sequenceOfAnotherShardIsRejected() {
+        assertThrows(IllegalStateException.class,
+                () -> generator.next(0, () -> RequestShards.ID_RANGE + RequestIdGenerator.ALLOCATION_SIZE));
+    }
+
+    // PRIVATE METHODS
+
+    // сохранение заявки внутри onEvent: Hibernate вызывает генератор на соединении шарда текущего потока
+    private long createRequest() {
+        int shard = RequestShards.current();
+        return generator.next(shard, () -> sequences[shard].getAndAdd(RequestIdGenerator.ALLOCATION_SIZE));
+    }
+
+    private long eventOnShard(int shard) {
+        return LongStream.iterate(1, id -> id + 1)
+                .filter(id -> shards.ofEvent(id) == shard)
+                .findFirst()
+                .orElseThrow();
+    }
+
+}
@@ -4,18 +4,22 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.api.user.UserApi;
+import ru.practicum.api.user.UserImportApi;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
 import ru.practicum.dto.user.NewUserRequestDto;
 import ru.practicum.dto.user.UserDto;
+import ru.practicum.dto.user.UserImportResultDto;
 import ru.practicum.dto.user.UserShortDto;
 import ru.practicum.user.service.UserService;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
 @Validated
-public class UserController implements UserApi {
+public class UserController implements UserApi, UserImportApi {
 
     private final UserService userService;
 
@@ -31,6 +35,11 @@ public class UserController implements UserApi {
         userService.delete(userId);
     }
 
+    @Override
+    public UserImportResultDto importUsers(String contentType, InputStream body) {
+        return userService.importUsers(contentType, body);
+    }
+
     // GET + HEAD
 
     @Override
@@ -60,4 +69,11 @@ public class UserController implements UserApi {
         return userService.findUserDtoListByIds(ids);
     }
 
+    // INTERACTION API
+
+    @Override
+    public IdSnapshotDto getUserIdSnapshot(Long fromId) {
+        return userService.getIdSnapshot(fromId);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package ru.practicum.user.controller;
+
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import net.devh.boot.grpc.server.service.GrpcService;
+import ru.practicum.grpc.interaction.UserInteractionControllerGrpc;
+import ru.practicum.grpc.interaction.message.IdListProto;
+import ru.practicum.grpc.interaction.message.UserShortListProto;
+import ru.practicum.interaction.InteractionProtoMapper;
+import ru.practicum.user.service.UserService;
+
+@GrpcService
+@RequiredArgsConstructor
+public class UserInteractionGrpcController extends UserInteractionControllerGrpc.UserInteractionControllerImplBase {
+
+    private final UserService userService;
+
+    @Override
+    public void getUserShortList(IdListProto request, StreamObserver<UserShortListProto> responseObserver) {
+        responseObserver.onNext(InteractionProtoMapper.toUserShortListProto(
+                userService.findUserShortDtoListByIds(request.getIdList())
+        ));
+        responseObserver.onCompleted();
+    }
+
+}
@@ -0,0 +1,79 @@
+package ru.practicum.user.dal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval('users_seq') FROM generate_series(1, ?)";
+
+    private static final String INSERT_IGNORE_EXISTING_SQL = """
+            INSERT INTO users (id, email, name)
+            SELECT t.id, t.email, t.name
+            FROM unnest(?::bigint[], ?::text[], ?::text[]) AS t(id, email, name)
+            ON CONFLICT (email) DO NOTHING
+            RETURNING id, email
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Вставляет пачку пользователей одним запросом, уже существующие email пропускаются.
+     * Возвращает email -> id только для реально вставленных строк.
+     */
+    public Map<String, Long> insertIgnoringExisting(List<User> users) {
+        if (users.isEmpty()) return Map.of();
+
+        Long[] ids = allocateIds(users.size());
+        String[] emails = new String[users.size()];
+        String[] names = new String[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            emails[i] = users.get(i).getEmail();
+            names[i] = users.get(i).getName();
+        }
+
+        Map<String, Long> inserted = new HashMap<>();
+        jdbcTemplate.query(INSERT_IGNORE_EXISTING_SQL,
+                ps -> {
+                    Array idArray = ps.getConnection().createArrayOf("bigint", ids);
+                    Array emailArray = ps.getConnection().createArrayOf("text", emails);
+                    Array nameArray = ps.getConnection().createArrayOf("text", names);
+                    ps.setArray(1, idArray);
+                    ps.setArray(2, emailArray);
+                    ps.setArray(3, nameArray);
+                },
+                rs -> {
+                    inserted.put(rs.getString("email"), rs.getLong("id"));
+                });
+        return inserted;
+    }
+
+    // Id берутся блоками из той же последовательности, что и у Hibernate (pooled optimizer):
+    // значение v закрепляет за вызывающим диапазон (v - allocationSize, v], поэтому пересечений нет
+    private Long[] allocateIds(int count) {
+        int blocks = (count + User.ID_ALLOCATION_SIZE - 1) / User.ID_ALLOCATION_SIZE;
+        List<Long> hiValues = jdbcTemplate.queryForList(ALLOCATE_IDS_SQL, Long.class, blocks);
+        List<Long> ids = new ArrayList<>(count);
+        for (Long hi : hiValues) {
+            long lo = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1);
+            for (long id = lo; id <= hi && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        if (ids.size() < count) {
+            ids.addAll(List.of(allocateIds(count - ids.size())));
+        }
+        return ids.toArray(Long[]::new);
+    }
+
+}
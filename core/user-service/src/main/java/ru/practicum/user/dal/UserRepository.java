@@ -1,9 +1,18 @@
 package ru.practicum.user.dal;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    // Страница снимка id: index-only scan по первичному ключу, не больше limit id
+    @Query("SELECT u.id FROM User u WHERE u.id >= :fromId ORDER BY u.id")
+    List<Long> findIdsFrom(@Param("fromId") Long fromId, Limit limit);
+
 }
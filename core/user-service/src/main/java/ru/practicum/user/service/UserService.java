@@ -1,20 +1,36 @@
 package ru.practicum.user.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.dto.user.NewUserRequestDto;
-import ru.practicum.dto.user.UserDto;
-import ru.practicum.dto.user.UserShortDto;
+import ru.practicum.api.user.UserImportApi;
+import ru.practicum.datasource.PrimaryPin;
+import ru.practicum.dto.snapshot.IdSnapshotDto;
+import ru.practicum.dto.user.*;
+import ru.practicum.exception.BadRequestException;
 import ru.practicum.exception.ConflictException;
 import ru.practicum.exception.NotFoundException;
 import ru.practicum.user.dal.User;
+import ru.practicum.user.dal.UserBulkRepository;
 import ru.practicum.user.dal.UserRepository;
 
-import java.util.Collection;
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +38,28 @@ import java.util.List;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserBulkRepository userBulkRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    private int importBatchSize = 1000;
+    private int importMaxReportedRows = 1000;
+    private int idSnapshotPageSize = 100_000;
+
+    @Value("${explore-with-me.user.import.batch-size:1000}")
+    public void setImportBatchSize(int importBatchSize) {
+        this.importBatchSize = importBatchSize;
+    }
+
+    @Value("${explore-with-me.user.import.max-reported-rows:1000}")
+    public void setImportMaxReportedRows(int importMaxReportedRows) {
+        this.importMaxReportedRows = importMaxReportedRows;
+    }
+
+    @Value("${explore-with-me.id-snapshot.page-size:100000}")
+    public void setIdSnapshotPageSize(int idSnapshotPageSize) {
+        this.idSnapshotPageSize = idSnapshotPageSize;
+    }
 
     // MODIFY OPS
 
@@ -43,6 +81,125 @@ public class UserService {
         userRepository.delete(userToDelete);
     }
 
+    // Каждая пачка вставляется отдельным INSERT ... ON CONFLICT в автокоммите,
+    // поэтому транзакция на весь импорт не нужна и не держит соединение.
+    // Память не растет с размером файла: созданные строки только считаются, строки с ошибками
+    // попадают в ответ до importMaxReportedRows, остальные - в счетчик omittedRows
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserImportResultDto importUsers(String contentType, InputStream body) {
+        boolean csv = isCsv(contentType);
+        UserImportResultDto result = new UserImportResultDto();
+        Set<String> seenEmails = new HashSet<>();
+        List<User> batch = new ArrayList<>(importBatchSize);
+        List<UserImportRowResultDto> batchRows = new ArrayList<>(importBatchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                if (csv && lineNumber == 1 && line.trim().toLowerCase().startsWith("email,")) continue;
+
+                UserImportRowResultDto row = UserImportRowResultDto.builder().line(lineNumber).build();
+                result.setTotal(result.getTotal() + 1);
+
+                NewUserRequestDto dto;
+                try {
+                    dto = csv ? parseCsvLine(line) : objectMapper.readValue(line, NewUserRequestDto.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    markInvalid(result, row, "Unable to parse line: " + e.getMessage());
+                    continue;
+                }
+                row.setEmail(dto.getEmail());
+
+                Set<ConstraintViolation<NewUserRequestDto>> violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    markInvalid(result, row, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                if (!seenEmails.add(dto.getEmail())) {
+                    row.setStatus(UserImportStatus.DUPLICATE_IN_REQUEST);
+                    row.setReason("Email " + dto.getEmail() + " already occurred in this request");
+                    result.setDuplicates(result.getDuplicates() + 1);
+                    report(result, row);
+                    continue;
+                }
+
+                batch.add(UserMapper.toNewEntity(dto));
+                batchRows.add(row);
+                if (batch.size() >= importBatchSize) flushImportBatch(result, batch, batchRows);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException("Unable to read request body: " + e.getMessage());
+        }
+        flushImportBatch(result, batch, batchRows);
+        return result;
+    }
+
+    private void flushImportBatch(UserImportResultDto result, List<User> batch, List<UserImportRowResultDto> batchRows) {
+        if (batch.isEmpty()) return;
+        Map<String, Long> inserted = userBulkRepository.insertIgnoringExisting(batch);
+        for (UserImportRowResultDto row : batchRows) {
+            if (inserted.containsKey(row.getEmail())) {
+                result.setCreated(result.getCreated() + 1);
+            } else {
+                row.setStatus(UserImportStatus.ALREADY_EXISTS);
+                row.setReason("User with email " + row.getEmail() + " already exists");
+                result.setAlreadyExists(result.getAlreadyExists() + 1);
+                report(result, row);
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+    }
+
+    private void markInvalid(UserImportResultDto result, UserImportRowResultDto row, String reason) {
+        row.setStatus(UserImportStatus.INVALID);
+        row.setReason(reason);
+        result.setInvalid(result.getInvalid() + 1);
+        report(result, row);
+    }
+
+    private void report(UserImportResultDto result, UserImportRowResultDto row) {
+        if (result.getRows().size() < importMaxReportedRows) {
+            result.getRows().add(row);
+        } else {
+            result.setOmittedRows(result.getOmittedRows() + 1);
+        }
+    }
+
+    private boolean isCsv(String contentType) {
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(UserImportApi.CSV_MEDIA_TYPE))) return true;
+            if (mediaType.isCompatibleWith(MediaType.parseMediaType(UserImportApi.NDJSON_MEDIA_TYPE))) return false;
+        } catch (IllegalArgumentException ignored) {
+        }
+        throw new BadRequestException("Unsupported import content type " + contentType);
+    }
+
+    // email,name - email не содержит запятых, поэтому всё после первой запятой считается именем
+    private NewUserRequestDto parseCsvLine(String line) {
+        int comma = line.indexOf(',');
+        if (comma < 0) throw new IllegalArgumentException("expected 'email,name'");
+        return NewUserRequestDto.builder()
+                .email(unquote(line.substring(0, comma)))
+                .name(unquote(line.substring(comma + 1)))
+                .build();
+    }
+
+    private String unquote(String value) {
+        String trimmed = value.trim();
+        if (trimmed.length() >= 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+            return trimmed.substring(1, trimmed.length() - 1).replace("\"\"", "\"");
+        }
+        return trimmed;
+    }
+
     // GET + HEAD
 
     public UserDto get(Long userId) {
@@ -88,4 +245,13 @@ public class UserService {
                 .toList();
     }
 
+    // INTERACTION API
+
+    // по хвосту снимка клиенты подтверждают отсутствие id, поэтому отстающая реплика не подходит
+    public IdSnapshotDto getIdSnapshot(Long fromId) {
+        try (PrimaryPin ignored = PrimaryPin.pin("id-snapshot")) {
+            return IdSnapshotDto.of(fromId, userRepository.findIdsFrom(fromId, Limit.of(idSnapshotPageSize)), idSnapshotPageSize);
+        }
+    }
+
 }
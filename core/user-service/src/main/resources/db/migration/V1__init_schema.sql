@@ -0,0 +1,12 @@
+-- Исходная схема user-service: сущность User, последовательность с шагом allocationSize = 50
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users
+(
+    id    BIGINT       NOT NULL,
+    email VARCHAR(254) NOT NULL,
+    name  VARCHAR(250) NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    -- нужен и для existsByEmail, и для ON CONFLICT (email) в UserBulkRepository
+    CONSTRAINT uq_users_email UNIQUE (email)
+);
@@ -0,0 +1,18 @@
+package ru.practicum.tracing;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TracingConfiguration {
+
+    // Экспорт span'ов в лог шлюза - для локальной отладки без OTLP-коллектора
+    @Bean
+    @ConditionalOnProperty(name = "explore-with-me.tracing.log-exporter.enabled", havingValue = "true")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+
+}
@@ -0,0 +1,185 @@
+package ru.practicum.ewm.client;
+
+import io.grpc.Context;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.client.AnalyzerEndpointPool.Endpoint;
+import ru.practicum.ewm.client.AnalyzerEndpointPool.Outcome;
+import ru.practicum.grpc.collector.RecommendationsControllerGrpc.RecommendationsControllerBlockingStub;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Выполнение вызовов анализатора через пул экземпляров с опциональным hedging:
+ * если первая попытка не ответила за заданный перцентиль недавних задержек этого RPC,
+ * отправляется вторая на другой экземпляр, используется первый успешный ответ, проигравшая отменяется.
+ * Применяется только к идемпотентным читающим RPC.
+ * Метрики: stats.client.hedge.sent и stats.client.hedge.won (тег rpc).
+ */
+@Slf4j
+@Component
+public class AnalyzerCallExecutor {
+
+    private final AnalyzerEndpointPool endpointPool;
+    private final MeterRegistry meterRegistry;
+    // Обертка переносит текущий span в поток попытки, чтобы gRPC-вызов попал в трассу входящего запроса
+    private final ExecutorService executor = ContextExecutorService.wrap(
+            Executors.newVirtualThreadPerTaskExecutor(), ContextSnapshotFactory.builder().build());
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    private final boolean hedgingEnabled;
+    private final double hedgingPercentile;
+    private final long minDelayNanos;
+    private final long initialDelayNanos;
+    private final long deadlineMs;
+
+    public AnalyzerCallExecutor(
+            AnalyzerEndpointPool endpointPool,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${explore-with-me.analyzer.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${explore-with-me.analyzer.hedging.percentile:0.95}") double hedgingPercentile,
+            @Value("${explore-with-me.analyzer.hedging.min-delay-ms:20}") long minDelayMs,
+            @Value("${explore-with-me.analyzer.hedging.initial-delay-ms:100}") long initialDelayMs,
+            @Value("${explore-with-me.analyzer.deadline-ms:5000}") long deadlineMs
+    ) {
+        this.endpointPool = endpointPool;
+        this.meterRegistry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgingPercentile = hedgingPercentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.initialDelayNanos = TimeUnit.MILLISECONDS.toNanos(initialDelayMs);
+        this.deadlineMs = deadlineMs;
+    }
+
+    // Идемпотентный читающий вызов: допускает hedging. call должен полностью вычитать серверный стрим
+    public <T> T read(String rpc, Function<RecommendationsControllerBlockingStub, T> call) throws Exception {
+        Endpoint primaryEndpoint = endpointPool.pick(null);
+        if (!hedgingEnabled || !endpointPool.canHedge()) {
+            return invoke(rpc, primaryEndpoint, call, null);
+        }
+
+        Attempt<T> primary = submit(rpc, primaryEndpoint, call);
+        try {
+            return primary.future.get(hedgeDelayNanos(rpc), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // первая попытка медленнее перцентиля - отправляем вторую на другой экземпляр
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+
+        Attempt<T> hedge = submit(rpc, endpointPool.pick(primaryEndpoint), call);
+        meterRegistry.counter("stats.client.hedge.sent", "rpc", rpc).increment();
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean hedgeWon = new AtomicBoolean();
+        primary.future.whenComplete((value, error) -> complete(result, value, error, hedge, false, hedgeWon));
+        hedge.future.whenComplete((value, error) -> complete(result, value, error, primary, true, hedgeWon));
+        try {
+            T value = result.get();
+            if (hedgeWon.get()) meterRegistry.counter("stats.client.hedge.won", "rpc", rpc).increment();
+            return value;
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // PRIVATE METHODS
+
+    private <T> Attempt<T> submit(String rpc, Endpoint endpoint,
+                                  Function<RecommendationsControllerBlockingStub, T> call) {
+        Context.CancellableContext context = Context.current().withCancellation();
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return invoke(rpc, endpoint, call, context);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        return new Attempt<>(future, context);
+    }
+
+    private <T> T invoke(String rpc, Endpoint endpoint, Function<RecommendationsControllerBlockingStub, T> call,
+                         Context.CancellableContext context) throws Exception {
+        RecommendationsControllerBlockingStub stub = endpoint.stub().withDeadlineAfter(deadlineMs, TimeUnit.MILLISECONDS);
+        long start = endpoint.start();
+        try {
+            T result = context == null ? call.apply(stub) : context.call(() -> call.apply(stub));
+            endpoint.finish(start, Outcome.SUCCESS);
+            latencies.computeIfAbsent(rpc, k -> new LatencyWindow()).add(System.nanoTime() - start);
+            return result;
+        } catch (Exception e) {
+            endpoint.finish(start, context != null && context.isCancelled() ? Outcome.CANCELLED : Outcome.FAILURE);
+            throw e;
+        }
+    }
+
+    // Первый успешный ответ завершает результат и отменяет вторую попытку; ошибка - только если упали обе
+    private <T> void complete(CompletableFuture<T> result, T value, Throwable error, Attempt<T> other,
+                              boolean isHedge, AtomicBoolean hedgeWon) {
+        if (error == null) {
+            if (result.complete(value)) {
+                hedgeWon.set(isHedge);
+                other.context.cancel(null);
+            }
+        } else if (other.future.isCompletedExceptionally()) {
+            result.completeExceptionally(error);
+        }
+    }
+
+    private long hedgeDelayNanos(String rpc) {
+        LatencyWindow window = latencies.get(rpc);
+        long delay = window == null ? initialDelayNanos : window.percentile(hedgingPercentile, initialDelayNanos);
+        return Math.max(minDelayNanos, delay);
+    }
+
+    private static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause() instanceof CompletionException ce && ce.getCause() != null ? ce.getCause() : e.getCause();
+        return cause instanceof Exception ex ? ex : e;
+    }
+
+    private record Attempt<T>(CompletableFuture<T> future, Context.CancellableContext context) {
+    }
+
+    // Кольцевой буфер последних задержек RPC для расчета перцентиля задержки hedging
+    private static class LatencyWindow {
+
+        private static final int SIZE = 256;
+        private static final int MIN_SAMPLES = 20;
+
+        private final long[] samples = new long[SIZE];
+        private int count;
+        private int position;
+
+        synchronized void add(long nanos) {
+            samples[position] = nanos;
+            position = (position + 1) % SIZE;
+            if (count < SIZE) count++;
+        }
+
+        synchronized long percentile(double percentile, long defaultValue) {
+            if (count < MIN_SAMPLES) return defaultValue;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.min(count - 1, Math.ceil(percentile * count) - 1);
+            return sorted[Math.max(0, index)];
+        }
+
+    }
+
+}
@@ -0,0 +1,219 @@
+package ru.practicum.ewm.client;
+
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Component;
+import ru.practicum.grpc.collector.RecommendationsControllerGrpc;
+import ru.practicum.grpc.collector.RecommendationsControllerGrpc.RecommendationsControllerBlockingStub;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул экземпляров анализатора с балансировкой power-of-two-choices по EWMA задержки.
+ * Из двух случайных экземпляров выбирается тот, у кого меньше ewma * (inflight + 1),
+ * поэтому один медленный экземпляр перестает получать заметную долю запросов.
+ * При balancer: round_robin (или если в discovery нет экземпляров с gRPC-портом)
+ * используется общий канал analyzerChannel со встроенным round_robin.
+ */
+@Slf4j
+@Component
+public class AnalyzerEndpointPool {
+
+    public static final String P2C_EWMA = "p2c-ewma";
+
+    private static final String GRPC_PORT_METADATA = "gRPC_port";
+
+    private final DiscoveryClient discoveryClient;
+    private final String analyzerDiscoveryName;
+    private final boolean latencyAware;
+    private final long decayNanos;
+    private final long refreshNanos;
+    private final long failurePenaltyNanos;
+    private final ObservationGrpcClientInterceptor tracingInterceptor;
+    private final Endpoint sharedEndpoint;
+
+    private volatile List<Endpoint> endpoints = List.of();
+    private volatile long refreshedAt;
+
+    public AnalyzerEndpointPool(
+            DiscoveryClient discoveryClient,
+            @Qualifier("analyzerChannel") ManagedChannel analyzerChannel,
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            @Value("${explore-with-me.analyzer.discovery.name:analyzer}") String analyzerDiscoveryName,
+            @Value("${explore-with-me.analyzer.balancer:round_robin}") String balancer,
+            @Value("${explore-with-me.analyzer.ewma-decay-ms:10000}") long decayMs,
+            @Value("${explore-with-me.analyzer.refresh-ms:30000}") long refreshMs,
+            @Value("${explore-with-me.analyzer.deadline-ms:5000}") long deadlineMs
+    ) {
+        this.discoveryClient = discoveryClient;
+        this.analyzerDiscoveryName = analyzerDiscoveryName;
+        this.latencyAware = P2C_EWMA.equals(balancer);
+        this.decayNanos = TimeUnit.MILLISECONDS.toNanos(decayMs);
+        this.refreshNanos = TimeUnit.MILLISECONDS.toNanos(refreshMs);
+        this.failurePenaltyNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        this.tracingInterceptor = new ObservationGrpcClientInterceptor(
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        this.sharedEndpoint = new Endpoint(analyzerDiscoveryName, null, analyzerChannel);
+    }
+
+    // Выбор экземпляра; exclude - уже занятый первой попыткой экземпляр (для hedged-запроса)
+    public Endpoint pick(Endpoint exclude) {
+        if (!latencyAware) return sharedEndpoint;
+        List<Endpoint> current = currentEndpoints();
+        if (exclude != null && current.size() > 1) {
+            current = current.stream().filter(e -> e != exclude).toList();
+        }
+        if (current.isEmpty()) return sharedEndpoint;
+        if (current.size() == 1) return current.getFirst();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(current.size());
+        int second = random.nextInt(current.size() - 1);
+        if (second >= first) second++;
+        Endpoint a = current.get(first);
+        Endpoint b = current.get(second);
+        return a.cost() <= b.cost() ? a : b;
+    }
+
+    // Есть ли куда отправить hedged-запрос: в режиме round_robin вторая попытка сама уйдет на следующий экземпляр
+    public boolean canHedge() {
+        return !latencyAware || currentEndpoints().size() > 1;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Endpoint endpoint : endpoints) endpoint.shutdown();
+    }
+
+    // PRIVATE METHODS
+
+    private List<Endpoint> currentEndpoints() {
+        if (System.nanoTime() - refreshedAt > refreshNanos) refresh();
+        return endpoints;
+    }
+
+    private synchronized void refresh() {
+        if (System.nanoTime() - refreshedAt <= refreshNanos) return;
+        try {
+            Map<String, Endpoint> existing = new HashMap<>();
+            for (Endpoint endpoint : endpoints) existing.put(endpoint.address, endpoint);
+
+            List<Endpoint> updated = new ArrayList<>();
+            for (ServiceInstance instance : discoveryClient.getInstances(analyzerDiscoveryName)) {
+                int port = grpcPort(instance);
+                if (port <= 0) continue;
+                String address = instance.getHost() + ":" + port;
+                Endpoint endpoint = existing.remove(address);
+                if (endpoint == null) endpoint = new Endpoint(address, instance.getHost(), port);
+                updated.add(endpoint);
+            }
+            // новые экземпляры начинают со средней задержки пула, а не с нуля, иначе получат весь трафик
+            double averageEwma = updated.stream().mapToDouble(e -> e.ewmaNanos).filter(v -> v > 0).average().orElse(0);
+            for (Endpoint endpoint : updated) {
+                if (endpoint.ewmaNanos == 0) endpoint.ewmaNanos = averageEwma;
+            }
+            endpoints = List.copyOf(updated);
+            for (Endpoint removed : existing.values()) removed.shutdown();
+            log.debug("Analyzer endpoints refreshed: {}", endpoints);
+        } catch (Exception e) {
+            log.warn("Failed refreshing analyzer endpoints: {}", e.getMessage());
+        }
+        refreshedAt = System.nanoTime();
+    }
+
+    private static int grpcPort(ServiceInstance instance) {
+        String port = instance.getMetadata().get(GRPC_PORT_METADATA);
+        if (port == null) return -1;
+        try {
+            return Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public class Endpoint {
+
+        private final String address;
+        private final ManagedChannel channel;
+        private final boolean ownChannel;
+        private final RecommendationsControllerBlockingStub stub;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private volatile double ewmaNanos;
+        private volatile long lastUpdate = System.nanoTime();
+
+        private Endpoint(String address, String host, int port) {
+            this(address, host, ManagedChannelBuilder.forAddress(host, port)
+                    .usePlaintext()
+                    .keepAliveWithoutCalls(true)
+                    .intercept(tracingInterceptor)
+                    .build());
+        }
+
+        private Endpoint(String address, String host, ManagedChannel channel) {
+            this.address = address;
+            this.channel = channel;
+            this.ownChannel = host != null;
+            this.stub = RecommendationsControllerGrpc.newBlockingStub(channel);
+        }
+
+        public RecommendationsControllerBlockingStub stub() {
+            return stub;
+        }
+
+        public long start() {
+            inflight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        // Успешный ответ обновляет EWMA; ошибка (кроме отмены проигравшей hedged-попытки) штрафует экземпляр
+        public void finish(long startNanos, Outcome outcome) {
+            inflight.decrementAndGet();
+            long now = System.nanoTime();
+            switch (outcome) {
+                case SUCCESS -> observe(now - startNanos, now);
+                case FAILURE -> observe(Math.max(now - startNanos, failurePenaltyNanos), now);
+                case CANCELLED -> {
+                }
+            }
+        }
+
+        // peak-EWMA: рост задержки учитывается сразу, снижение - с затуханием по decay
+        private synchronized void observe(long rttNanos, long now) {
+            double elapsed = Math.max(0, now - lastUpdate);
+            double weight = Math.exp(-elapsed / decayNanos);
+            ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * weight + rttNanos * (1 - weight);
+            lastUpdate = now;
+        }
+
+        private double cost() {
+            return ewmaNanos * (inflight.get() + 1);
+        }
+
+        private void shutdown() {
+            if (ownChannel) channel.shutdown();
+        }
+
+        @Override
+        public String toString() {
+            return address + "(ewma=" + TimeUnit.NANOSECONDS.toMillis((long) ewmaNanos) + "ms, inflight=" + inflight + ")";
+        }
+
+    }
+
+    public enum Outcome {
+        SUCCESS, FAILURE, CANCELLED
+    }
+
+}
@@ -3,14 +3,16 @@ package ru.practicum.ewm.client;
 import io.grpc.ManagedChannel;
 import io.grpc.ManagedChannelBuilder;
 import io.grpc.NameResolverRegistry;
+import io.micrometer.core.instrument.binder.grpc.ObservationGrpcClientInterceptor;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.annotation.PostConstruct;
 import net.devh.boot.grpc.client.nameresolver.DiscoveryClientResolverFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import ru.practicum.grpc.collector.RecommendationsControllerGrpc;
 import ru.practicum.grpc.collector.UserActionControllerGrpc;
 
 @Configuration
@@ -20,15 +22,18 @@ public class GrpcConfiguration {
     private final String analyzerDiscoveryName;
 
     private final DiscoveryClient discoveryClient;
+    private final ObservationRegistry observationRegistry;
 
     public GrpcConfiguration(
             @Value("${explore-with-me.collector.discovery.name:collector}") String collectorDiscoveryName,
             @Value("${explore-with-me.analyzer.discovery.name:analyzer}") String analyzerDiscoveryName,
-            DiscoveryClient discoveryClient
+            DiscoveryClient discoveryClient,
+            ObjectProvider<ObservationRegistry> observationRegistry
     ) {
         this.collectorDiscoveryName = collectorDiscoveryName;
         this.analyzerDiscoveryName = analyzerDiscoveryName;
         this.discoveryClient = discoveryClient;
+        this.observationRegistry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
     }
 
     @PostConstruct
@@ -39,6 +44,7 @@ public class GrpcConfiguration {
 
     // COLLECTOR
 
+    // Каналы создаются вручную, поэтому интерцептор трассировки из grpc-client-starter к ним не применяется
     @Bean(destroyMethod = "shutdownNow")
     public ManagedChannel collectorChannel() {
         return ManagedChannelBuilder.forTarget("discovery:///" + collectorDiscoveryName)
@@ -46,6 +52,7 @@ public class GrpcConfiguration {
                 .usePlaintext()
                 .enableRetry()
                 .keepAliveWithoutCalls(true)
+                .intercept(new ObservationGrpcClientInterceptor(observationRegistry))
                 .build();
     }
 
@@ -58,6 +65,7 @@ public class GrpcConfiguration {
 
     // ANALYZER
 
+    // Общий канал с round_robin; при balancer: p2c-ewma используется как запасной (см. AnalyzerEndpointPool)
     @Bean(destroyMethod = "shutdownNow")
     public ManagedChannel analyzerChannel() {
         return ManagedChannelBuilder.forTarget("discovery:///" + analyzerDiscoveryName)
@@ -65,14 +73,8 @@ public class GrpcConfiguration {
                 .usePlaintext()
                 .enableRetry()
                 .keepAliveWithoutCalls(true)
+                .intercept(new ObservationGrpcClientInterceptor(observationRegistry))
                 .build();
     }
 
-    @Bean
-    public RecommendationsControllerGrpc.RecommendationsControllerBlockingStub recommendationsControllerBlockingStub(
-            @Qualifier("analyzerChannel") ManagedChannel channel
-    ) {
-        return RecommendationsControllerGrpc.newBlockingStub(channel);
-    }
-
 }
@@ -1,29 +1,49 @@
 package ru.practicum.ewm.client;
 
 import com.google.protobuf.Timestamp;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import it.unimi.dsi.fastutil.longs.*;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import ru.practicum.grpc.collector.RecommendationsControllerGrpc;
 import ru.practicum.grpc.collector.UserActionControllerGrpc;
 import ru.practicum.grpc.similarity.reports.InteractionsCountRequestProto;
 import ru.practicum.grpc.similarity.reports.RecommendedEventProto;
+import ru.practicum.grpc.similarity.reports.SimilarEventsRequestProto;
 import ru.practicum.grpc.similarity.reports.UserPredictionsRequestProto;
 import ru.practicum.grpc.user.action.ActionTypeProto;
 import ru.practicum.grpc.user.action.UserActionProto;
 
 import java.time.Instant;
-import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Iterator;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class GrpcStatClient implements StatClient {
 
     private final UserActionControllerGrpc.UserActionControllerBlockingStub userActionStub;
-    private final RecommendationsControllerGrpc.RecommendationsControllerBlockingStub recommendationsStub;
+    private final AnalyzerCallExecutor analyzerCalls;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // при насыщении вызов сразу падает с BulkheadFullException и обрабатывается как недоступность сервиса
+    private final Bulkhead collectorBulkhead;
+    private final Bulkhead analyzerBulkhead;
+
+    public GrpcStatClient(
+            UserActionControllerGrpc.UserActionControllerBlockingStub userActionStub,
+            AnalyzerCallExecutor analyzerCalls,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<BulkheadRegistry> bulkheadRegistry
+    ) {
+        this.userActionStub = userActionStub;
+        this.analyzerCalls = analyzerCalls;
+        this.eventPublisher = eventPublisher;
+        BulkheadRegistry registry = bulkheadRegistry.getIfAvailable(BulkheadRegistry::ofDefaults);
+        this.collectorBulkhead = registry.bulkhead("collector");
+        this.analyzerBulkhead = registry.bulkhead("analyzer");
+    }
 
     @Override
     public String sendView(Long userId, Long eventId) {
@@ -41,50 +61,67 @@ public class GrpcStatClient implements StatClient {
     }
 
     @Override
-    public Map<Long, Double> getUserRecommendations(Long userId, Integer size) {
+    public Long2DoubleMap getUserRecommendations(Long userId, Integer size) {
         UserPredictionsRequestProto requestProto = UserPredictionsRequestProto.newBuilder()
                 .setUserId(userId)
                 .setMaxResults(size)
                 .build();
         try {
-            Iterator<RecommendedEventProto> recommendations = recommendationsStub.getRecommendationsForUser(requestProto);
-
-            Map<Long, Double> result = StreamSupport.stream(
-                    Spliterators.spliteratorUnknownSize(recommendations, Spliterator.ORDERED),
-                    false
-            ).collect(Collectors.toMap(
-                    RecommendedEventProto::getEventId,
-                    RecommendedEventProto::getScore
-            ));
+            Long2DoubleMap result = analyzerBulkhead.executeCallable(() -> analyzerCalls.read("GetRecommendationsForUser",
+                    stub -> collectScores(stub.getRecommendationsForUser(requestProto))));
             log.debug("Received {} recommendations for user {}", result.size(), userId);
             return result;
         } catch (Exception e) {
             log.warn("Failed getting User Recommendations by GRPC: {}", e.getMessage());
-            return Map.of();
+            return Long2DoubleMaps.EMPTY_MAP;
         }
     }
 
     @Override
-    public Map<Long, Double> getRatingsByEventIdList(List<Long> eventIdList) {
-        InteractionsCountRequestProto requestProto = InteractionsCountRequestProto.newBuilder()
-                .addAllEventId(eventIdList)
+    public Long2DoubleMap getSimilarEvents(Long eventId, Long userId, Integer size) {
+        SimilarEventsRequestProto requestProto = SimilarEventsRequestProto.newBuilder()
+                .setEventId(eventId)
+                .setUserId(userId)
+                .setMaxResults(size)
                 .build();
         try {
-            Iterator<RecommendedEventProto> ratingIterator = recommendationsStub.getInteractionsCount(requestProto);
-
-            Map<Long, Double> result = StreamSupport.stream(
-                    Spliterators.spliteratorUnknownSize(ratingIterator, Spliterator.ORDERED),
-                    false
-            ).collect(Collectors.toMap(
-                    RecommendedEventProto::getEventId,
-                    RecommendedEventProto::getScore
-            ));
+            Long2DoubleMap result = analyzerBulkhead.executeCallable(() -> analyzerCalls.read("GetSimilarEvents",
+                    stub -> collectScores(stub.getSimilarEvents(requestProto))));
+            log.debug("Received {} similar events for event {}", result.size(), eventId);
+            return result;
+        } catch (Exception e) {
+            log.warn("Failed getting Similar Events by GRPC: {}", e.getMessage());
+            return Long2DoubleMaps.EMPTY_MAP;
+        }
+    }
+
+    @Override
+    public Long2DoubleMap getRatingsByEventIdList(LongCollection eventIdList) {
+        InteractionsCountRequestProto.Builder requestBuilder = InteractionsCountRequestProto.newBuilder();
+        for (LongIterator it = eventIdList.iterator(); it.hasNext(); ) {
+            requestBuilder.addEventId(it.nextLong());
+        }
+        InteractionsCountRequestProto requestProto = requestBuilder.build();
+        try {
+            Long2DoubleMap result = analyzerBulkhead.executeCallable(() -> analyzerCalls.read("GetInteractionsCount",
+                    stub -> collectScores(stub.getInteractionsCount(requestProto))));
             log.debug("Received {} ratings for {} events", result.size(), eventIdList.size());
             return result;
         } catch (Exception e) {
             log.warn("Failed getting Event Ratings by GRPC: {}", e.getMessage());
-            return Map.of();
+            return Long2DoubleMaps.EMPTY_MAP;
+        }
+    }
+
+    // PRIVATE METHODS
+
+    private Long2DoubleMap collectScores(Iterator<RecommendedEventProto> iterator) {
+        Long2DoubleOpenHashMap result = new Long2DoubleOpenHashMap();
+        while (iterator.hasNext()) {
+            RecommendedEventProto proto = iterator.next();
+            result.put(proto.getEventId(), proto.getScore());
         }
+        return result;
     }
 
     private String sendAction(Long userId, Long eventId, ActionTypeProto action) {
@@ -100,8 +137,9 @@ public class GrpcStatClient implements StatClient {
                 .setTimestamp(timestamp)
                 .build();
         try {
-            userActionStub.collectUserAction(userActionProto);
+            collectorBulkhead.executeSupplier(() -> userActionStub.collectUserAction(userActionProto));
             log.debug("Sent Event View action: {}", userActionProto);
+            eventPublisher.publishEvent(new UserActionSentEvent(userId, eventId, action));
             return "true";
         } catch (Exception e) {
             log.warn("Failed sending Event View action by GRPC: {}", e.getMessage());
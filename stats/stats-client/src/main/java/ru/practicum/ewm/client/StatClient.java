@@ -1,7 +1,7 @@
 package ru.practicum.ewm.client;
 
-import java.util.List;
-import java.util.Map;
+import it.unimi.dsi.fastutil.longs.Long2DoubleMap;
+import it.unimi.dsi.fastutil.longs.LongCollection;
 
 public interface StatClient {
 
@@ -11,8 +11,11 @@ public interface StatClient {
 
     String sendLike(Long userId, Long eventId);
 
-    Map<Long, Double> getUserRecommendations(Long userId, Integer size);
+    // отсутствующие в ответе события получают значение по умолчанию 0.0
+    Long2DoubleMap getUserRecommendations(Long userId, Integer size);
 
-    Map<Long, Double> getRatingsByEventIdList(List<Long> eventIdList);
+    Long2DoubleMap getSimilarEvents(Long eventId, Long userId, Integer size);
+
+    Long2DoubleMap getRatingsByEventIdList(LongCollection eventIdList);
 
 }
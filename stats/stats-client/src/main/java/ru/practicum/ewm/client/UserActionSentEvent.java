@@ -0,0 +1,8 @@
+package ru.practicum.ewm.client;
+
+import ru.practicum.grpc.user.action.ActionTypeProto;
+
+// Публикуется после успешной отправки действия пользователя в collector,
+// чтобы сервис мог сбросить или обновить зависящие от действий кэши
+public record UserActionSentEvent(long userId, long eventId, ActionTypeProto actionType) {
+}
@@ -0,0 +1,117 @@
+package ru.practicum.bench;
+
+import it.unimi.dsi.fastutil.longs.Long2DoubleMap;
+import it.unimi.dsi.fastutil.longs.Long2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongList;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.client.IdMaps;
+import ru.practicum.dto.user.UserShortDto;
+import ru.practicum.grpc.interaction.message.ConfirmedRequestsProto;
+import ru.practicum.grpc.similarity.reports.InteractionsCountRequestProto;
+import ru.practicum.grpc.similarity.reports.RecommendedEventProto;
+import ru.practicum.interaction.InteractionProtoMapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Аллокации при обогащении страницы событий: упакованные Map<Long, ...> против long-ключевых коллекций fastutil
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class EnrichmentAllocationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    // события страницы: id и инициатор; в сущностях id уже упакованы, поэтому ключи поиска не аллоцируются
+    private long[] eventIds;
+    private long[] initiatorIds;
+    private Long[] entityEventIds;
+    private Long[] entityInitiatorIds;
+
+    // ответы соседних сервисов в том виде, в котором они приходят по gRPC
+    private ConfirmedRequestsProto confirmedProto;
+    private List<RecommendedEventProto> ratingProtos;
+    private List<UserShortDto> users;
+
+    @Setup
+    public void setUp() {
+        eventIds = new long[pageSize];
+        initiatorIds = new long[pageSize];
+        entityEventIds = new Long[pageSize];
+        entityInitiatorIds = new Long[pageSize];
+        ConfirmedRequestsProto.Builder confirmedBuilder = ConfirmedRequestsProto.newBuilder();
+        ratingProtos = new ArrayList<>(pageSize);
+        users = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            // id за пределами кэша Long.valueOf, как у реальных событий
+            long eventId = 1_000_000L + i * 7L;
+            long userId = 5_000_000L + i * 3L;
+            eventIds[i] = eventId;
+            initiatorIds[i] = userId;
+            entityEventIds[i] = eventId;
+            entityInitiatorIds[i] = userId;
+            confirmedBuilder.addEventId(eventId).addConfirmed(i % 50);
+            ratingProtos.add(RecommendedEventProto.newBuilder().setEventId(eventId).setScore(i * 0.5).build());
+            users.add(new UserShortDto(userId, "user-" + i));
+        }
+        confirmedProto = confirmedBuilder.build();
+    }
+
+    @Benchmark
+    public void boxed(Blackhole bh) {
+        List<Long> ids = List.of(entityEventIds);
+        bh.consume(InteractionsCountRequestProto.newBuilder().addAllEventId(ids).build());
+
+        Map<Long, Long> confirmed = new HashMap<>();
+        for (int i = 0; i < confirmedProto.getEventIdCount(); i++) {
+            confirmed.put(confirmedProto.getEventId(i), confirmedProto.getConfirmed(i));
+        }
+        Map<Long, Double> ratings = ratingProtos.stream()
+                .collect(Collectors.toMap(RecommendedEventProto::getEventId, RecommendedEventProto::getScore));
+        Map<Long, UserShortDto> userMap = users.stream()
+                .collect(Collectors.toMap(UserShortDto::getId, u -> u));
+
+        for (int i = 0; i < pageSize; i++) {
+            bh.consume(confirmed.get(entityEventIds[i]));
+            bh.consume(ratings.get(entityEventIds[i]));
+            bh.consume(userMap.get(entityInitiatorIds[i]));
+        }
+    }
+
+    @Benchmark
+    public void primitive(Blackhole bh) {
+        LongList ids = new LongArrayList(eventIds);
+        InteractionsCountRequestProto.Builder requestBuilder = InteractionsCountRequestProto.newBuilder();
+        for (LongIterator it = ids.iterator(); it.hasNext(); ) {
+            requestBuilder.addEventId(it.nextLong());
+        }
+        bh.consume(requestBuilder.build());
+
+        Long2LongMap confirmed = InteractionProtoMapper.toConfirmedRequestsMap(confirmedProto);
+        Long2DoubleMap ratings = new Long2DoubleOpenHashMap();
+        for (RecommendedEventProto proto : ratingProtos) {
+            ratings.put(proto.getEventId(), proto.getScore());
+        }
+        Long2ObjectMap<UserShortDto> userMap = IdMaps.byId(users, UserShortDto::getId);
+
+        for (int i = 0; i < pageSize; i++) {
+            bh.consume(confirmed.get(eventIds[i]));
+            bh.consume(ratings.get(eventIds[i]));
+            bh.consume(userMap.get(initiatorIds[i]));
+        }
+    }
+
+}
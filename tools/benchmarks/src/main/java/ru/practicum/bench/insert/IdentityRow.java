@@ -0,0 +1,28 @@
+package ru.practicum.bench.insert;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Строка с IDENTITY-ключом: Hibernate выполняет INSERT сразу, чтобы узнать id
+@Entity
+@Table(name = "identity_rows")
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdentityRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "created_on", nullable = false)
+    private LocalDateTime createdOn;
+
+}
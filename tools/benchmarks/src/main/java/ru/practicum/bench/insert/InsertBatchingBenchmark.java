@@ -0,0 +1,112 @@
+package ru.practicum.bench.insert;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Вставка 10 000 строк через Hibernate: IDENTITY против pooled-последовательности с JDBC-батчами
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final String SCHEMA = "insert_bench";
+
+    @Param({"IDENTITY", "SEQUENCE", "SEQUENCE_BATCHED", "SEQUENCE_BATCHED_REWRITE"})
+    private Strategy strategy;
+
+    // БД из docker-compose, переопределяется через -p url=... -p username=... -p password=...
+    @Param("jdbc:postgresql://localhost:5433/main_db")
+    private String url;
+
+    @Param("postgres")
+    private String username;
+
+    @Param("12345")
+    private String password;
+
+    private SessionFactory sessionFactory;
+
+    public enum Strategy {
+        IDENTITY(0, false),
+        SEQUENCE(0, false),
+        SEQUENCE_BATCHED(50, false),
+        SEQUENCE_BATCHED_REWRITE(50, true);
+
+        private final int batchSize;
+        private final boolean rewriteBatchedInserts;
+
+        Strategy(int batchSize, boolean rewriteBatchedInserts) {
+            this.batchSize = batchSize;
+            this.rewriteBatchedInserts = rewriteBatchedInserts;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // те же настройки, что в конфигурации сервисов; batch_size 0 отключает батчи
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(IdentityRow.class)
+                .addAnnotatedClass(SequenceRow.class)
+                .setProperty("hibernate.connection.url", url + "?reWriteBatchedInserts=" + strategy.rewriteBatchedInserts)
+                .setProperty("hibernate.connection.username", username)
+                .setProperty("hibernate.connection.password", password)
+                .setProperty("hibernate.connection.pool_size", "1")
+                .setProperty("hibernate.default_schema", SCHEMA)
+                .setProperty("hibernate.hbm2ddl.create_namespaces", "true")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .setProperty("hibernate.jdbc.batch_size", String.valueOf(strategy.batchSize))
+                .setProperty("hibernate.order_inserts", "true")
+                .setProperty("hibernate.order_updates", "true")
+                .buildSessionFactory();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        sessionFactory.inTransaction(session -> session.createNativeMutationQuery(
+                "TRUNCATE " + SCHEMA + ".identity_rows, " + SCHEMA + ".sequence_rows").executeUpdate());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void insert(JdbcCounters counters) {
+        LocalDateTime now = LocalDateTime.now();
+        try (Session session = sessionFactory.withOptions().eventListeners(counters).openSession()) {
+            Transaction tx = session.beginTransaction();
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(strategy == Strategy.IDENTITY ? identityRow(i, now) : sequenceRow(i, now));
+            }
+            tx.commit();
+        }
+    }
+
+    // PRIVATE METHODS
+
+    private static IdentityRow identityRow(int i, LocalDateTime now) {
+        IdentityRow row = new IdentityRow();
+        row.setTitle("row-" + i);
+        row.setCreatedOn(now);
+        return row;
+    }
+
+    private static SequenceRow sequenceRow(int i, LocalDateTime now) {
+        SequenceRow row = new SequenceRow();
+        row.setTitle("row-" + i);
+        row.setCreatedOn(now);
+        return row;
+    }
+
+}
@@ -0,0 +1,37 @@
+package ru.practicum.bench.insert;
+
+import org.hibernate.SessionEventListener;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// Счетчики JDBC-вызовов сессии, JMH выводит их рядом со временем операции
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class JdbcCounters implements SessionEventListener {
+
+    // одиночные executeUpdate/executeQuery, включая nextval
+    public long statements;
+
+    // вызовы executeBatch
+    public long batches;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        statements = 0;
+        batches = 0;
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        batches++;
+    }
+
+}
@@ -0,0 +1,29 @@
+package ru.practicum.bench.insert;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Строка с pooled-последовательностью, как у сущностей core-сервисов
+@Entity
+@Table(name = "sequence_rows")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SequenceRow {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequence_rows_seq")
+    @SequenceGenerator(name = "sequence_rows_seq", sequenceName = "sequence_rows_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "created_on", nullable = false)
+    private LocalDateTime createdOn;
+
+}
@@ -0,0 +1,23 @@
+package ru.practicum.bench.listing;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Описание события, как EventDescription в event-service
+@Entity
+@Table(name = "event_descriptions", schema = "event_service")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DescriptionRow {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "description")
+    private String description;
+
+}
@@ -0,0 +1,42 @@
+package ru.practicum.bench.listing;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// Колонки events, по которым фильтруют поиски event-service; схема - из миграций сервиса
+@Entity
+@Table(name = "events", schema = "event_service")
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventRow {
+
+    @Id
+    private Long id;
+
+    @Column(name = "initiator_id")
+    private Long initiatorId;
+
+    @Column(name = "categories_id")
+    private Long categoryId;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "annotation")
+    private String annotation;
+
+    @Column(name = "state")
+    private String state;
+
+    @Column(name = "paid")
+    private Boolean paid;
+
+    @Column(name = "event_date")
+    private LocalDateTime eventDate;
+
+}
@@ -0,0 +1,141 @@
+package ru.practicum.bench.listing;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Поиск событий страницей Page (выборка + COUNT(*)) против Slice (выборка size + 1 строк) на данных dataset-generator.
+// Фильтры повторяют JpaSpecifications event-service, COUNT пропускается там же, где его пропускает Spring Data
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListingCountBenchmark {
+
+    @Param({"PAGE", "SLICE"})
+    private Listing listing;
+
+    @Param({"ADMIN_ALL", "PUBLIC_UPCOMING", "PUBLIC_TEXT"})
+    private Scenario scenario;
+
+    @Param({"0", "1000"})
+    private int from;
+
+    @Param("10")
+    private int size;
+
+    // слово из словаря dataset-generator: встречается примерно в каждом четвертом тексте
+    @Param("джаз")
+    private String text;
+
+    // БД из docker-compose, переопределяется через -p url=... -p username=... -p password=...
+    @Param("jdbc:postgresql://localhost:5433/main_db")
+    private String url;
+
+    @Param("postgres")
+    private String username;
+
+    @Param("12345")
+    private String password;
+
+    private SessionFactory sessionFactory;
+    private LocalDateTime now;
+
+    public enum Listing {
+        PAGE, SLICE
+    }
+
+    public enum Scenario {
+        // GET /admin/events без фильтров
+        ADMIN_ALL,
+        // GET /events без параметров: будущие события
+        PUBLIC_UPCOMING,
+        // GET /events?text=...: поиск по аннотации и описанию
+        PUBLIC_TEXT
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(EventRow.class)
+                .addAnnotatedClass(DescriptionRow.class)
+                .setProperty("hibernate.connection.url", url)
+                .setProperty("hibernate.connection.username", username)
+                .setProperty("hibernate.connection.password", password)
+                .setProperty("hibernate.connection.pool_size", "1")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+        now = LocalDateTime.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void search(Blackhole bh) {
+        try (Session session = sessionFactory.openSession()) {
+            session.setDefaultReadOnly(true);
+            HibernateCriteriaBuilder cb = session.getCriteriaBuilder();
+
+            CriteriaQuery<EventRow> query = cb.createQuery(EventRow.class);
+            Root<EventRow> root = query.from(EventRow.class);
+            query.select(root).where(filters(cb, query, root));
+            List<EventRow> content = session.createQuery(query)
+                    .setFirstResult(from)
+                    .setMaxResults(listing == Listing.SLICE ? size + 1 : size)
+                    .getResultList();
+            bh.consume(content);
+
+            // PageableExecutionUtils: COUNT не нужен для неполной первой и неполной последней страницы
+            boolean countNeeded = content.size() == size || (from > 0 && content.isEmpty());
+            if (listing == Listing.PAGE && countNeeded) {
+                CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+                Root<EventRow> countRoot = countQuery.from(EventRow.class);
+                countQuery.select(cb.count(countRoot)).where(filters(cb, countQuery, countRoot));
+                bh.consume(session.createQuery(countQuery).getSingleResult());
+            }
+        }
+    }
+
+    // PRIVATE METHODS
+
+    private Predicate filters(CriteriaBuilder cb, CriteriaQuery<?> query, Root<EventRow> root) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (scenario == Scenario.PUBLIC_TEXT) {
+            String searchPattern = "%" + text.toLowerCase() + "%";
+            Subquery<Long> annotated = query.subquery(Long.class);
+            Root<EventRow> event = annotated.from(EventRow.class);
+            annotated.select(event.get("id"))
+                    .where(cb.like(cb.lower(event.get("annotation")), searchPattern));
+
+            Subquery<Long> described = query.subquery(Long.class);
+            Root<DescriptionRow> description = described.from(DescriptionRow.class);
+            described.select(description.get("eventId"))
+                    .where(cb.like(cb.lower(description.get("description")), searchPattern));
+
+            predicates.add(root.get("id").in(((HibernateCriteriaBuilder) cb).union(annotated, described)));
+        }
+        if (scenario != Scenario.ADMIN_ALL) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("eventDate"), now));
+        }
+        return cb.and(predicates.toArray(new Predicate[0]));
+    }
+
+}
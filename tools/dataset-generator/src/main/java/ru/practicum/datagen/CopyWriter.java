@@ -0,0 +1,86 @@
+package ru.practicum.datagen;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Потоковая запись строк в COPY ... FROM STDIN (текстовый формат) с буферизацией.
+ * Строки видны только после finish(), ошибка генерации откатывает весь блок.
+ */
+public class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_CHARS = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_CHARS + 8192);
+    private boolean rowStarted;
+    private long rows;
+
+    public CopyWriter(Connection connection, String table, String columns) throws SQLException {
+        String sql = "COPY " + table + " (" + columns + ") FROM STDIN";
+        this.copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+    }
+
+    public CopyWriter col(long value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    public CopyWriter col(float value) {
+        separator();
+        buffer.append(value);
+        return this;
+    }
+
+    public CopyWriter col(boolean value) {
+        separator();
+        buffer.append(value ? 't' : 'f');
+        return this;
+    }
+
+    public CopyWriter col(Object value) {
+        separator();
+        if (value == null) buffer.append("\\N");
+        else if (value instanceof LocalDateTime time) buffer.append(time.toLocalDate()).append(' ').append(time.toLocalTime());
+        else buffer.append(value);
+        return this;
+    }
+
+    public void endRow() throws SQLException {
+        buffer.append('\n');
+        rowStarted = false;
+        rows++;
+        if (buffer.length() >= FLUSH_CHARS) flush();
+    }
+
+    // завершает COPY; без вызова finish() close() отменяет загрузку целиком
+    public long finish() throws SQLException {
+        flush();
+        copyIn.endCopy();
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copyIn.isActive()) copyIn.cancelCopy();
+    }
+
+    private void separator() {
+        if (rowStarted) buffer.append('\t');
+        rowStarted = true;
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.isEmpty()) return;
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+}
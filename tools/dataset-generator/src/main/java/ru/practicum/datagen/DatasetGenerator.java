@@ -0,0 +1,253 @@
+package ru.practicum.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Заполняет схемы user_service, event_service, request_service и comment_service.
+ * Таблицы должны быть созданы сервисами, ID задаются явно, после загрузки сдвигаются последовательности.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DatasetGenerator {
+
+    private static final long USER_SALT = 1;
+    private static final long CATEGORY_SALT = 2;
+    private static final long REQUEST_SALT = 3;
+    private static final long COMMENT_SALT = 4;
+    private static final long COMPILATION_SALT = 5;
+    private static final long DESCRIPTION_SALT = 6;
+
+    // таблица и ее последовательность (null - без последовательности)
+    private static final List<String[]> TABLES = List.of(
+            new String[]{"user_service.users", "user_service.users_seq"},
+            new String[]{"event_service.categories", "event_service.categories_seq"},
+            new String[]{"event_service.events", "event_service.events_seq"},
+            new String[]{"event_service.event_descriptions", null},
+            new String[]{"event_service.compilations", "event_service.compilations_seq"},
+            new String[]{"event_service.compilations_events", null},
+            new String[]{"request_service.requests", "request_service.requests_seq"},
+            new String[]{"comment_service.comments", "comment_service.comments_seq"}
+    );
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private final DatasetModel model;
+    private final TableLoader loader;
+
+    public void generate() throws SQLException {
+        prepare();
+
+        loader.load("user_service.users", "id, email, name", model.config().users(), this::writeUsers);
+        loader.load("event_service.categories", "id, cat_name", model.config().categories(), this::writeCategories);
+        loader.load("event_service.events",
+                "id, initiator_id, categories_id, title, annotation, state, lat, lon, " +
+                "participant_limit, request_moderation, paid, event_date, published_on, created_on",
+                model.config().events(), this::writeEvents);
+        loader.load("event_service.event_descriptions", "event_id, description",
+                model.config().events(), this::writeEventDescriptions);
+        loader.load("event_service.compilations", "id, pinned, title",
+                model.config().compilations(), this::writeCompilations);
+        loader.load("event_service.compilations_events", "compilations_id, events_id",
+                model.config().compilations(), this::writeCompilationEvents);
+        loader.load("request_service.requests", "id, requester_id, event_id, status, created_at",
+                model.requestChunks(loader.chunks()), this::writeRequests);
+        loader.load("comment_service.comments",
+                "id, textual_content, author_id, event_id, create_time, patch_time, approved",
+                model.commentChunks(loader.chunks()), this::writeComments);
+
+        finish();
+    }
+
+    // проверяет, что схема создана, и очищает таблицы (--truncate) либо убеждается, что они пусты
+    private void prepare() throws SQLException {
+        try (Connection connection = loader.connect(); Statement statement = connection.createStatement()) {
+            for (String[] table : TABLES) {
+                try (ResultSet rs = statement.executeQuery("SELECT to_regclass('" + table[0] + "')")) {
+                    rs.next();
+                    if (rs.getString(1) == null) {
+                        throw new IllegalStateException("Table " + table[0] + " not found, start the service once to create the schema");
+                    }
+                }
+            }
+            if (model.config().truncate()) {
+                statement.execute("TRUNCATE user_service.users");
+                // архивы очищаются вместе с горячими таблицами: events_archive ссылается на categories
+                statement.execute("TRUNCATE event_service.compilations_events, event_service.compilations, " +
+                        "event_service.event_descriptions, event_service.events, event_service.events_archive, " +
+                        "event_service.categories");
+                statement.execute("TRUNCATE request_service.requests, request_service.requests_archive");
+                statement.execute("TRUNCATE comment_service.comments, comment_service.comments_archive");
+                log.info("Tables truncated");
+                return;
+            }
+            for (String[] table : TABLES) {
+                try (ResultSet rs = statement.executeQuery("SELECT EXISTS (SELECT 1 FROM " + table[0] + ")")) {
+                    rs.next();
+                    if (rs.getBoolean(1)) {
+                        throw new IllegalStateException("Table " + table[0] + " is not empty, use --truncate=true");
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeUsers(CopyWriter out, long fromId, long toId) throws SQLException {
+        SplittableRandom random = model.random(USER_SALT, fromId);
+        for (long id = fromId; id < toId; id++) {
+            out.col(id).col("user" + id + "@example.com").col(Texts.words(random, 5, 40)).endRow();
+        }
+    }
+
+    private void writeCategories(CopyWriter out, long fromId, long toId) throws SQLException {
+        SplittableRandom random = model.random(CATEGORY_SALT, fromId);
+        for (long id = fromId; id < toId; id++) {
+            String name = Texts.words(random, 3, 30) + " " + id;
+            out.col(id).col(name).endRow();
+        }
+    }
+
+    private void writeEvents(CopyWriter out, long fromId, long toId) throws SQLException {
+        for (long id = fromId; id < toId; id++) {
+            DatasetModel.EventProfile event = model.event(id);
+            SplittableRandom random = event.random();
+            out.col(id)
+                    .col(event.initiatorId())
+                    .col(event.categoryId())
+                    .col(Texts.words(random, 3, 120))
+                    .col(Texts.words(random, 20, 400))
+                    .col(event.state())
+                    .col(event.lat())
+                    .col(event.lon())
+                    .col(event.participantLimit())
+                    .col(event.requestModeration())
+                    .col(event.paid())
+                    .col(event.eventDate())
+                    .col(event.publishedOn())
+                    .col(event.createdOn())
+                    .endRow();
+        }
+    }
+
+    // описание события хранится отдельно от горячей строки events (одна строка на событие)
+    private void writeEventDescriptions(CopyWriter out, long fromId, long toId) throws SQLException {
+        SplittableRandom random = model.random(DESCRIPTION_SALT, fromId);
+        for (long id = fromId; id < toId; id++) {
+            out.col(id).col(Texts.words(random, 20, 2000)).endRow();
+        }
+    }
+
+    private void writeCompilations(CopyWriter out, long fromId, long toId) throws SQLException {
+        for (long id = fromId; id < toId; id++) {
+            SplittableRandom random = model.random(COMPILATION_SALT, id);
+            out.col(id).col(random.nextDouble() < 0.1).col(Texts.words(random, 1, 50)).endRow();
+        }
+    }
+
+    // подборки собираются из популярных опубликованных событий
+    private void writeCompilationEvents(CopyWriter out, long fromId, long toId) throws SQLException {
+        for (long id = fromId; id < toId; id++) {
+            SplittableRandom random = model.random(COMPILATION_SALT, id);
+            random.nextDouble();
+            int size = (int) Math.min(model.config().events(), random.nextInt(3, 16));
+            Set<Long> events = new HashSet<>();
+            for (int attempt = 0; events.size() < size && attempt < size * 10; attempt++) {
+                long eventId = model.sampleEvent(random);
+                if (model.requestCount(eventId) > 0 || model.commentCount(eventId) > 0) events.add(eventId);
+            }
+            for (long eventId : events) out.col(id).col(eventId).endRow();
+        }
+    }
+
+    // заявки события: различные пользователи, кроме инициатора; подтверждения не превышают лимит
+    private void writeRequests(CopyWriter out, long fromEventId, long toEventId) throws SQLException {
+        for (long eventId = fromEventId; eventId < toEventId; eventId++) {
+            int count = model.requestCount(eventId);
+            if (count == 0) continue;
+            DatasetModel.EventProfile event = model.event(eventId);
+            SplittableRandom random = model.random(REQUEST_SALT, eventId);
+            IdPermutation requesters = new IdPermutation(model.config().users(), random);
+            LocalDateTime latest = DatasetModel.min(event.eventDate(), model.now());
+            boolean autoConfirm = !event.requestModeration() || event.participantLimit() == 0;
+            long confirmed = 0;
+            long id = model.requestOffset(eventId);
+            for (int i = 0; i < count; i++) {
+                long requesterId = requesters.apply(i);
+                if (requesterId == event.initiatorId()) requesterId = requesters.apply(count);
+
+                double roll = random.nextDouble();
+                String status;
+                if (roll < 0.05) {
+                    status = "CANCELED";
+                } else if (autoConfirm) {
+                    status = "CONFIRMED";
+                } else if (confirmed < event.participantLimit()) {
+                    status = roll < 0.65 ? "CONFIRMED" : roll < 0.85 ? "PENDING" : "REJECTED";
+                } else {
+                    status = roll < 0.35 ? "PENDING" : "REJECTED";
+                }
+                if (status.equals("CONFIRMED")) confirmed++;
+
+                out.col(++id)
+                        .col(requesterId)
+                        .col(eventId)
+                        .col(status)
+                        .col(DatasetModel.between(event.publishedOn(), latest, random))
+                        .endRow();
+            }
+        }
+    }
+
+    private void writeComments(CopyWriter out, long fromEventId, long toEventId) throws SQLException {
+        for (long eventId = fromEventId; eventId < toEventId; eventId++) {
+            int count = model.commentCount(eventId);
+            if (count == 0) continue;
+            DatasetModel.EventProfile event = model.event(eventId);
+            SplittableRandom random = model.random(COMMENT_SALT, eventId);
+            long id = model.commentOffset(eventId);
+            for (int i = 0; i < count; i++) {
+                LocalDateTime created = DatasetModel.between(event.publishedOn(), model.now(), random);
+                LocalDateTime patched = random.nextDouble() < 0.1
+                        ? DatasetModel.between(created, DatasetModel.min(created.plusDays(2), model.now()), random)
+                        : null;
+                out.col(++id)
+                        .col(Texts.words(random, 1, 500))
+                        .col(model.sampleUser(random))
+                        .col(eventId)
+                        .col(created)
+                        .col(patched)
+                        .col(random.nextDouble() < 0.9)
+                        .endRow();
+            }
+        }
+    }
+
+    // последовательности сдвигаются за максимальный ID, статистика планировщика обновляется
+    private void finish() throws SQLException {
+        try (Connection connection = loader.connect(); Statement statement = connection.createStatement()) {
+            for (String[] table : TABLES) {
+                if (table[1] != null) {
+                    statement.execute("SELECT setval('" + table[1] + "', (SELECT COALESCE(MAX(id), 0) + "
+                            + SEQUENCE_INCREMENT + " FROM " + table[0] + "))");
+                }
+                statement.execute("ANALYZE " + table[0]);
+            }
+        }
+
+        log.info("Hottest events (id: requests / comments):");
+        for (long rank = 1; rank <= Math.min(10, model.config().events()); rank++) {
+            long eventId = model.eventByRank(rank);
+            log.info("  {}: {} / {}", eventId, model.requestCount(eventId), model.commentCount(eventId));
+        }
+    }
+
+}
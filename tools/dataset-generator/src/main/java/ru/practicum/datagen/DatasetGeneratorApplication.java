@@ -0,0 +1,31 @@
+package ru.practicum.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Генератор синтетических данных для проверки запросов и индексов на больших объемах:
+ * 1. строит модель с перекосами (горячие события, активные пользователи, кластеры координат вокруг городов);
+ * 2. загружает таблицы всех четырех схем параллельными COPY с явными ID;
+ * 3. сдвигает последовательности и выполняет ANALYZE.
+ */
+@Slf4j
+public class DatasetGeneratorApplication {
+
+    public static void main(String[] args) throws Exception {
+        GeneratorConfig config = GeneratorConfig.parse(args);
+        long started = System.nanoTime();
+        DatasetModel model = new DatasetModel(config);
+        log.info("Model ready: {} users, {} categories, {} events, {} requests, {} comments, {} compilations",
+                config.users(), config.categories(), config.events(), model.totalRequests(), model.totalComments(),
+                config.compilations());
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(config.threads())) {
+            new DatasetGenerator(model, new TableLoader(config, executor)).generate();
+        }
+        log.info("Done in {} s", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+}
@@ -0,0 +1,207 @@
+package ru.practicum.datagen;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.SplittableRandom;
+
+/**
+ * Общая модель набора данных. Все атрибуты выводятся детерминированно из seed и ID,
+ * поэтому таблицы разных схем генерируются независимо и параллельно, но согласованы между собой.
+ * <p>
+ * Перекос: популярность событий, активность пользователей и категорий распределены по Ципфу,
+ * популярные ранги разбросаны по диапазону ID перестановкой.
+ */
+public class DatasetModel {
+
+    private static final long EVENT_SALT = 0x45564e54L;
+    private static final long COUNT_SALT = 0x434e5453L;
+
+    private final GeneratorConfig config;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final Geo geo = new Geo();
+
+    private final ZipfDistribution userActivity;
+    private final IdPermutation userIds;
+    private final ZipfDistribution categoryPopularity;
+    private final IdPermutation categoryIds;
+    private final ZipfDistribution eventPopularity;
+    private final IdPermutation eventIds;
+
+    // индексы по eventId - 1; offsets[i] - число строк у событий с меньшими ID
+    private final int[] requestCounts;
+    private final long[] requestOffsets;
+    private final int[] commentCounts;
+    private final long[] commentOffsets;
+
+    public DatasetModel(GeneratorConfig config) {
+        this.config = config;
+        SplittableRandom random = new SplittableRandom(config.seed());
+        userActivity = new ZipfDistribution(config.users(), config.userSkew());
+        userIds = new IdPermutation(config.users(), random);
+        categoryPopularity = new ZipfDistribution(config.categories(), 1.0);
+        categoryIds = new IdPermutation(config.categories(), random);
+        eventPopularity = new ZipfDistribution(config.events(), config.eventSkew());
+        eventIds = new IdPermutation(config.events(), random);
+
+        int events = (int) config.events();
+        requestCounts = new int[events];
+        commentCounts = new int[events];
+        SplittableRandom countRandom = new SplittableRandom(config.seed() ^ COUNT_SALT);
+        // заявки одного пользователя на событие уникальны, инициатор не подает заявку на свое событие
+        long maxRequests = Math.min(config.users() - 1, Integer.MAX_VALUE);
+        for (long rank = 1; rank <= events; rank++) {
+            int idx = (int) eventIds.apply(rank - 1) - 1;
+            double weight = eventPopularity.weight(rank);
+            requestCounts[idx] = (int) Math.min(maxRequests, round(config.requests() * weight, countRandom));
+            commentCounts[idx] = (int) Math.min(Integer.MAX_VALUE, round(config.comments() * weight, countRandom));
+        }
+        requestOffsets = prefixSums(requestCounts);
+        commentOffsets = prefixSums(commentCounts);
+    }
+
+    public GeneratorConfig config() {
+        return config;
+    }
+
+    public LocalDateTime now() {
+        return now;
+    }
+
+    // независимый генератор для сущности: одинаковые (salt, id) дают одинаковую последовательность
+    public SplittableRandom random(long salt, long id) {
+        return new SplittableRandom(config.seed() * 0x9E3779B97F4A7C15L + salt * 0xBF58476D1CE4E5B9L + id);
+    }
+
+    public long sampleUser(SplittableRandom random) {
+        return userIds.apply(userActivity.sample(random) - 1);
+    }
+
+    public long sampleEvent(SplittableRandom random) {
+        return eventIds.apply(eventPopularity.sample(random) - 1);
+    }
+
+    // ID события с данным рангом популярности (1 - самое популярное)
+    public long eventByRank(long rank) {
+        return eventIds.apply(rank - 1);
+    }
+
+    public int requestCount(long eventId) {
+        return requestCounts[(int) eventId - 1];
+    }
+
+    public long requestOffset(long eventId) {
+        return requestOffsets[(int) eventId - 1];
+    }
+
+    public long totalRequests() {
+        return requestOffsets[requestCounts.length];
+    }
+
+    public int commentCount(long eventId) {
+        return commentCounts[(int) eventId - 1];
+    }
+
+    public long commentOffset(long eventId) {
+        return commentOffsets[(int) eventId - 1];
+    }
+
+    public long totalComments() {
+        return commentOffsets[commentCounts.length];
+    }
+
+    // границы диапазонов ID событий, дающих примерно равное число строк
+    public long[] requestChunks(int chunks) {
+        return weightedBounds(requestOffsets, chunks);
+    }
+
+    public long[] commentChunks(int chunks) {
+        return weightedBounds(commentOffsets, chunks);
+    }
+
+    public EventProfile event(long eventId) {
+        SplittableRandom random = random(EVENT_SALT, eventId);
+        long initiatorId = sampleUser(random);
+        long categoryId = categoryIds.apply(categoryPopularity.sample(random) - 1);
+
+        // у событий с заявками или комментариями состояние только PUBLISHED
+        String state;
+        if (requestCount(eventId) > 0 || commentCount(eventId) > 0) {
+            state = "PUBLISHED";
+        } else {
+            double roll = random.nextDouble();
+            state = roll < 0.5 ? "PUBLISHED" : roll < 0.8 ? "PENDING" : "CANCELED";
+        }
+
+        LocalDateTime createdOn = now.minusSeconds(random.nextLong(730L * 24 * 3600));
+        LocalDateTime eventDate = createdOn.plusHours(2).plusSeconds(random.nextLong(240L * 24 * 3600));
+        LocalDateTime publishedOn = null;
+        if (state.equals("PUBLISHED")) {
+            LocalDateTime latest = min(eventDate.minusHours(1), now);
+            publishedOn = createdOn.plusSeconds(random.nextLong(ChronoUnit.SECONDS.between(createdOn, latest) + 1));
+        }
+
+        long participantLimit = random.nextDouble() < 0.3 ? 0 : random.nextLong(10, 1000);
+        boolean requestModeration = random.nextDouble() < 0.7;
+        boolean paid = random.nextDouble() < 0.4;
+        float[] location = geo.location(random);
+        return new EventProfile(eventId, initiatorId, categoryId, state, location[0], location[1], participantLimit,
+                requestModeration, paid, createdOn, eventDate, publishedOn, random);
+    }
+
+    public static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // случайный момент в [from, to]
+    public static LocalDateTime between(LocalDateTime from, LocalDateTime to, SplittableRandom random) {
+        long span = ChronoUnit.SECONDS.between(from, to);
+        return span <= 0 ? from : from.plusSeconds(random.nextLong(span + 1));
+    }
+
+    private static long round(double value, SplittableRandom random) {
+        long floor = (long) value;
+        return floor + (random.nextDouble() < value - floor ? 1 : 0);
+    }
+
+    private static long[] prefixSums(int[] counts) {
+        long[] offsets = new long[counts.length + 1];
+        for (int i = 0; i < counts.length; i++) offsets[i + 1] = offsets[i] + counts[i];
+        return offsets;
+    }
+
+    private static long[] weightedBounds(long[] offsets, int chunks) {
+        int events = offsets.length - 1;
+        long total = offsets[events];
+        long[] bounds = new long[chunks + 1];
+        bounds[0] = 1;
+        int idx = 0;
+        for (int c = 1; c < chunks; c++) {
+            long target = total * c / chunks;
+            while (idx < events && offsets[idx] < target) idx++;
+            bounds[c] = Math.max(bounds[c - 1], idx + 1);
+        }
+        bounds[chunks] = events + 1L;
+        return bounds;
+    }
+
+    /**
+     * Атрибуты события; random продолжает его детерминированную последовательность.
+     */
+    public record EventProfile(
+            long id,
+            long initiatorId,
+            long categoryId,
+            String state,
+            float lat,
+            float lon,
+            long participantLimit,
+            boolean requestModeration,
+            boolean paid,
+            LocalDateTime createdOn,
+            LocalDateTime eventDate,
+            LocalDateTime publishedOn,
+            SplittableRandom random
+    ) {
+    }
+
+}
@@ -0,0 +1,57 @@
+package ru.practicum.datagen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Параметры генерации, задаются аргументами вида --key=value.
+ */
+public record GeneratorConfig(
+        String jdbcUrl,
+        String username,
+        String password,
+        long users,
+        long categories,
+        long events,
+        long requests,
+        long comments,
+        long compilations,
+        double eventSkew,
+        double userSkew,
+        int threads,
+        long seed,
+        boolean truncate
+) {
+
+    public static GeneratorConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) options.put(arg.substring(2), "true");
+            else options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        GeneratorConfig config = new GeneratorConfig(
+                options.getOrDefault("url", "jdbc:postgresql://localhost:5433/main_db"),
+                options.getOrDefault("username", "postgres"),
+                options.getOrDefault("password", "12345"),
+                Long.parseLong(options.getOrDefault("users", "200000")),
+                Long.parseLong(options.getOrDefault("categories", "100")),
+                Long.parseLong(options.getOrDefault("events", "1000000")),
+                Long.parseLong(options.getOrDefault("requests", "10000000")),
+                Long.parseLong(options.getOrDefault("comments", "5000000")),
+                Long.parseLong(options.getOrDefault("compilations", "1000")),
+                Double.parseDouble(options.getOrDefault("event-skew", "1.1")),
+                Double.parseDouble(options.getOrDefault("user-skew", "0.8")),
+                Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                Long.parseLong(options.getOrDefault("seed", "42")),
+                Boolean.parseBoolean(options.getOrDefault("truncate", "false"))
+        );
+        if (config.users < 2 || config.categories < 1 || config.events < 1) {
+            throw new IllegalArgumentException("Need at least 2 users, 1 category and 1 event");
+        }
+        if (config.threads < 1) throw new IllegalArgumentException("threads must be positive");
+        return config;
+    }
+
+}
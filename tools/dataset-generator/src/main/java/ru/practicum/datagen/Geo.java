@@ -0,0 +1,46 @@
+package ru.practicum.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Координаты событий: кластеры вокруг городов (крупные города популярнее) и немного случайных точек.
+ */
+public class Geo {
+
+    // широта, долгота; порядок задает популярность
+    private static final float[][] CITIES = {
+            {55.7558f, 37.6173f},   // Москва
+            {59.9343f, 30.3351f},   // Санкт-Петербург
+            {55.0084f, 82.9357f},   // Новосибирск
+            {56.8389f, 60.6057f},   // Екатеринбург
+            {55.7961f, 49.1064f},   // Казань
+            {56.3269f, 44.0059f},   // Нижний Новгород
+            {55.1644f, 61.4368f},   // Челябинск
+            {53.1959f, 50.1002f},   // Самара
+            {54.9885f, 73.3242f},   // Омск
+            {47.2357f, 39.7015f},   // Ростов-на-Дону
+            {54.7388f, 55.9721f},   // Уфа
+            {56.0153f, 92.8932f},   // Красноярск
+            {45.0355f, 38.9753f},   // Краснодар
+            {43.5855f, 39.7231f},   // Сочи
+            {61.7849f, 34.3469f},   // Петрозаводск
+            {43.1155f, 131.8855f},  // Владивосток
+    };
+    private static final double SCATTER_SHARE = 0.05;
+    private static final double CITY_SIGMA_DEGREES = 0.08;
+
+    private final ZipfDistribution cityPopularity = new ZipfDistribution(CITIES.length, 1.0);
+
+    // {lat, lon}
+    public float[] location(SplittableRandom random) {
+        if (random.nextDouble() < SCATTER_SHARE) {
+            return new float[]{(float) random.nextDouble(42.0, 70.0), (float) random.nextDouble(28.0, 178.0)};
+        }
+        float[] city = CITIES[(int) cityPopularity.sample(random) - 1];
+        return new float[]{
+                (float) (city[0] + random.nextGaussian() * CITY_SIGMA_DEGREES),
+                (float) (city[1] + random.nextGaussian() * CITY_SIGMA_DEGREES)
+        };
+    }
+
+}
@@ -0,0 +1,37 @@
+package ru.practicum.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Псевдослучайная биекция 0..n-1 -> 1..n вида (a * k + b) mod n + 1.
+ * Разбрасывает популярные ранги по всему диапазону ID без хранения таблицы перестановки.
+ */
+public class IdPermutation {
+
+    private final long n;
+    private final long a;
+    private final long b;
+
+    public IdPermutation(long n, SplittableRandom random) {
+        if (n < 1 || n > 3_000_000_000L) throw new IllegalArgumentException("Unsupported size " + n);
+        this.n = n;
+        long candidate = n == 1 ? 1 : 1 + random.nextLong(n - 1);
+        while (gcd(candidate, n) != 1) candidate = candidate % (n - 1) + 1;
+        this.a = candidate;
+        this.b = random.nextLong(n);
+    }
+
+    public long apply(long k) {
+        return Math.floorMod(a * k + b, n) + 1;
+    }
+
+    private static long gcd(long x, long y) {
+        while (y != 0) {
+            long t = x % y;
+            x = y;
+            y = t;
+        }
+        return x;
+    }
+
+}
@@ -0,0 +1,84 @@
+package ru.practicum.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Параллельная загрузка таблицы: диапазон ID делится на блоки, каждый блок пишется отдельным COPY
+ * в своем соединении.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TableLoader {
+
+    private final GeneratorConfig config;
+    private final ExecutorService executor;
+
+    @FunctionalInterface
+    public interface ChunkWriter {
+        // пишет строки для ID из [fromId, toId)
+        void write(CopyWriter out, long fromId, long toId) throws SQLException;
+    }
+
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(config.jdbcUrl(), config.username(), config.password());
+    }
+
+    public int chunks() {
+        return config.threads() * 4;
+    }
+
+    public long load(String table, String columns, long count, ChunkWriter writer) {
+        return load(table, columns, evenBounds(count, chunks()), writer);
+    }
+
+    public long load(String table, String columns, long[] bounds, ChunkWriter writer) {
+        long started = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            long from = bounds[i];
+            long to = bounds[i + 1];
+            if (from >= to) continue;
+            futures.add(executor.submit(() -> {
+                try (Connection connection = connect();
+                     CopyWriter out = new CopyWriter(connection, table, columns)) {
+                    writer.write(out, from, to);
+                    return out.finish();
+                }
+            }));
+        }
+
+        long rows = 0;
+        try {
+            for (Future<Long> future : futures) rows += future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Interrupted while loading " + table, e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("Failed to load " + table + ": " + e.getCause().getMessage(), e.getCause());
+        }
+
+        long millis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        log.info("{}: {} rows in {} ms ({} rows/s)", table, rows, millis, rows * 1000 / millis);
+        return rows;
+    }
+
+    private static long[] evenBounds(long count, int chunks) {
+        int n = (int) Math.max(1, Math.min(chunks, count));
+        long[] bounds = new long[n + 1];
+        for (int i = 0; i <= n; i++) bounds[i] = 1 + count * i / n;
+        return bounds;
+    }
+
+}
@@ -0,0 +1,36 @@
+package ru.practicum.datagen;
+
+import java.util.SplittableRandom;
+
+/**
+ * Текстовые поля из словаря: без табуляций, переводов строк и обратных слэшей, экранирование для COPY не нужно.
+ */
+public final class Texts {
+
+    private static final String[] WORDS = (
+            "концерт фестиваль выставка лекция мастер-класс экскурсия встреча турнир спектакль показ " +
+            "город парк набережная музей галерея клуб площадь центр двор крыша " +
+            "вечер утро выходные лето зима весна осень " +
+            "музыка джаз рок классика кино театр танцы искусство фотография книги наука история " +
+            "для всех друзей детей взрослых семьи новичков профессионалов " +
+            "бесплатно впервые снова большой открытый камерный уютный яркий " +
+            "приходите ждем будет покажем расскажем обсудим сыграем " +
+            "и в на с по под у за о"
+    ).split(" ");
+
+    private Texts() {
+    }
+
+    public static String words(SplittableRandom random, int minLength, int maxLength) {
+        int target = minLength >= maxLength ? minLength : random.nextInt(minLength, maxLength + 1);
+        StringBuilder sb = new StringBuilder(target + 16);
+        while (sb.length() < target) {
+            if (!sb.isEmpty()) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (sb.length() > maxLength) sb.setLength(maxLength);
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString().stripTrailing();
+    }
+
+}
@@ -0,0 +1,42 @@
+package ru.practicum.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Распределение Ципфа на рангах 1..n: P(k) ~ 1 / k^s.
+ * Хранит накопленные вероятности, поэтому рассчитано на n до нескольких миллионов.
+ */
+public class ZipfDistribution {
+
+    private final double[] cdf;
+
+    public ZipfDistribution(long n, double exponent) {
+        if (n < 1 || n > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Unsupported size " + n);
+        cdf = new double[(int) n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < n; k++) cdf[k] /= sum;
+        cdf[(int) n - 1] = 1.0;
+    }
+
+    public long size() {
+        return cdf.length;
+    }
+
+    // вероятность ранга k (1..n)
+    public double weight(long rank) {
+        int k = (int) rank - 1;
+        return k == 0 ? cdf[0] : cdf[k] - cdf[k - 1];
+    }
+
+    // случайный ранг 1..n
+    public long sample(SplittableRandom random) {
+        int idx = Arrays.binarySearch(cdf, random.nextDouble());
+        return (idx >= 0 ? idx : -idx - 1) + 1;
+    }
+
+}
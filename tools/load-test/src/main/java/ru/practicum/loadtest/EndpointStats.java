@@ -0,0 +1,57 @@
+package ru.practicum.loadtest;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+import java.util.Arrays;
+
+/**
+ * Результаты по одному эндпоинту за окно измерения. Задержки хранятся целиком (в микросекундах),
+ * перцентили считаются сортировкой при построении отчета.
+ */
+public class EndpointStats {
+
+    private final String name;
+    private final LongArrayList latenciesMicros = new LongArrayList();
+    private long ok;
+    private long clientErrors;
+    private long serverErrors;
+    private long failures;
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long latencyNanos, int status) {
+        latenciesMicros.add(latencyNanos / 1_000);
+        if (status / 100 == 2) ok++;
+        else if (status / 100 == 4) clientErrors++;
+        else serverErrors++;
+    }
+
+    // таймаут или ошибка соединения
+    public synchronized void fail(long latencyNanos) {
+        latenciesMicros.add(latencyNanos / 1_000);
+        failures++;
+    }
+
+    public synchronized Summary summarize(double windowSeconds) {
+        long[] sorted = latenciesMicros.toLongArray();
+        Arrays.sort(sorted);
+        return new Summary(name, sorted.length, ok, clientErrors, serverErrors, failures,
+                sorted.length / windowSeconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.95),
+                percentile(sorted, 0.99), sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    // задержки в миллисекундах, throughput - запросов в секунду
+    public record Summary(String endpoint, long count, long ok, long clientErrors, long serverErrors, long failures,
+                          double throughput, double p50, double p90, double p95, double p99, double max) {
+    }
+
+}
@@ -0,0 +1,26 @@
+package ru.practicum.loadtest;
+
+import java.util.List;
+
+/**
+ * Запрос из Postman-коллекции: метод, путь с переменными (:userId), query-параметры и число вхождений в коллекции.
+ * Вес в нагрузочной смеси пропорционален числу вхождений.
+ */
+public record EndpointTemplate(String method, String path, List<QueryParam> query, int occurrences) {
+
+    public String name() {
+        return method + " " + path;
+    }
+
+    public boolean isRead() {
+        return "GET".equals(method);
+    }
+
+    public EndpointTemplate withOccurrences(int count) {
+        return new EndpointTemplate(method, path, query, count);
+    }
+
+    public record QueryParam(String key, String value) {
+    }
+
+}
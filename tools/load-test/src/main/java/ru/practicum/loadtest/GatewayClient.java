@@ -0,0 +1,70 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * HTTP-клиент к gateway-server. Блокирующие вызовы рассчитаны на виртуальные потоки.
+ */
+public class GatewayClient {
+
+    public static final String USER_HEADER = "X-EWM-USER-ID";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public GatewayClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .timeout(timeout)
+                .header("Accept", "application/json");
+    }
+
+    public HttpRequest.Builder json(String method, String pathAndQuery, Object body) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body));
+            return request(pathAndQuery)
+                    .header("Content-Type", "application/json")
+                    .method(method, publisher);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to serialize request body", e);
+        }
+    }
+
+    // Отправка без чтения тела: для нагрузки важны только статус и время
+    public int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // Отправка с разбором JSON-ответа: для подготовки данных, где нужны id созданных сущностей
+    public JsonNode exchange(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri() + " -> " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().isEmpty() ? MAPPER.nullNode() : MAPPER.readTree(response.body());
+    }
+
+}
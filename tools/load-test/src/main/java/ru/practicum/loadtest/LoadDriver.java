@@ -0,0 +1,141 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки: запросы отправляются с постоянной частотой rps независимо от времени ответа.
+ * Задержка считается от запланированного момента отправки, поэтому очередь на стороне клиента
+ * не скрывает деградацию (coordinated omission). Если в полете больше max-in-flight запросов,
+ * очередной запрос не отправляется и учитывается как dropped.
+ */
+@Slf4j
+public class LoadDriver {
+
+    private final GatewayClient client;
+    private final RequestFactory requestFactory;
+    private final LoadTestConfig config;
+    private final List<EndpointTemplate> templates;
+    private final double[] cumulativeWeights;
+
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final EndpointStats total = new EndpointStats("TOTAL");
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    public LoadDriver(GatewayClient client, RequestFactory requestFactory, LoadTestConfig config,
+                      List<EndpointTemplate> templates) {
+        this.client = client;
+        this.requestFactory = requestFactory;
+        this.config = config;
+        this.templates = templates;
+        this.cumulativeWeights = cumulativeWeights(templates, config.readShare());
+    }
+
+    public Result run() {
+        long intervalNanos = 1_000_000_000L / config.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        Semaphore inFlight = new Semaphore(config.maxInFlight());
+        log.info("Running {} rps: warmup {} s, measurement {} s", config.rps(),
+                config.warmup().toSeconds(), config.duration().toSeconds());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                if (intended >= end) break;
+                long wait = intended - System.nanoTime();
+                if (wait > 0) LockSupport.parkNanos(wait);
+
+                boolean measured = intended >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) dropped.increment();
+                    continue;
+                }
+                EndpointTemplate template = pick();
+                executor.execute(() -> {
+                    try {
+                        execute(template, intended, measured);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        double windowSeconds = config.duration().toMillis() / 1000.0;
+        return new Result(stats.values().stream().map(s -> s.summarize(windowSeconds)).toList(),
+                total.summarize(windowSeconds), dropped.sum(), skipped.sum());
+    }
+
+    // PRIVATE METHODS
+
+    private void execute(EndpointTemplate template, long intendedNanos, boolean measured) {
+        HttpRequest request = requestFactory.create(template);
+        if (request == null) {
+            skipped.increment();
+            return;
+        }
+        try {
+            int status = client.send(request);
+            if (measured) {
+                long latency = System.nanoTime() - intendedNanos;
+                statsFor(template).record(latency, status);
+                total.record(latency, status);
+            }
+        } catch (IOException e) {
+            if (measured) {
+                long latency = System.nanoTime() - intendedNanos;
+                statsFor(template).fail(latency);
+                total.fail(latency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private EndpointStats statsFor(EndpointTemplate template) {
+        return stats.computeIfAbsent(template.name(), EndpointStats::new);
+    }
+
+    private EndpointTemplate pick() {
+        double point = ThreadLocalRandom.current().nextDouble(cumulativeWeights[cumulativeWeights.length - 1]);
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        return templates.get(index >= 0 ? index : -index - 1);
+    }
+
+    // Вес шаблона - число вхождений в коллекции; доли чтения и записи масштабируются к readShare
+    private static double[] cumulativeWeights(List<EndpointTemplate> templates, double readShare) {
+        double reads = templates.stream().filter(EndpointTemplate::isRead).mapToInt(EndpointTemplate::occurrences).sum();
+        double writes = templates.stream().filter(t -> !t.isRead()).mapToInt(EndpointTemplate::occurrences).sum();
+        double writeShare = writes == 0 ? 0 : 1 - readShare;
+        double effectiveReadShare = writes == 0 ? 1 : readShare;
+
+        double[] cumulative = new double[templates.size()];
+        double total = 0;
+        for (int i = 0; i < templates.size(); i++) {
+            EndpointTemplate template = templates.get(i);
+            total += template.isRead()
+                    ? template.occurrences() / reads * effectiveReadShare
+                    : template.occurrences() / writes * writeShare;
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    public record Result(List<EndpointStats.Summary> endpoints, EndpointStats.Summary total, long dropped, long skipped) {
+    }
+
+}
@@ -0,0 +1,65 @@
+package ru.practicum.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.loadtest.standin.EurekaRegistrar;
+import ru.practicum.loadtest.standin.StandInStatsServer;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Нагрузочный прогон против gateway-server:
+ * 1. поднимает заглушки collector/analyzer и регистрирует их в Eureka (--stand-ins=false, если запущены настоящие);
+ * 2. готовит данные через API;
+ * 3. воспроизводит смесь запросов из Postman-коллекций с постоянной частотой;
+ * 4. печатает перцентили задержки и throughput по эндпоинтам и пишет CSV-отчет.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        SeedData data = new SeedData();
+        GatewayClient client = new GatewayClient(config.gatewayUrl(), config.requestTimeout());
+        RequestFactory requestFactory = new RequestFactory(client, data);
+
+        List<EndpointTemplate> all = PostmanCollection.load(config.collections());
+        List<EndpointTemplate> mix = all.stream().filter(requestFactory::supports).toList();
+        all.stream().filter(t -> !requestFactory.supports(t))
+                .forEach(t -> log.info("Not in the mix (no payload generator): {}", t.name()));
+        log.info("Mix of {} endpoint templates from {}", mix.size(), config.collections());
+
+        StandInStatsServer standIn = null;
+        EurekaRegistrar registrar = null;
+        try {
+            long registeredAt = System.nanoTime();
+            if (config.standIns()) {
+                standIn = new StandInStatsServer(config.standInPort(), config.standInLatencyMs(), data).start();
+                registrar = new EurekaRegistrar(config.eurekaUrl());
+                registrar.register("collector", config.standInHost(), standIn.port());
+                registrar.register("analyzer", config.standInHost(), standIn.port());
+            }
+
+            new Seeder(client, data, config).seed();
+
+            // клиенты Eureka обновляют реестр раз в 30 секунд - ждем, пока сервисы увидят заглушки
+            if (config.standIns()) {
+                long waitMillis = (registeredAt + config.discoveryWait().toNanos() - System.nanoTime()) / 1_000_000;
+                if (waitMillis > 0) {
+                    log.info("Waiting {} ms for services to discover stand-ins", waitMillis);
+                    Thread.sleep(waitMillis);
+                }
+            }
+
+            LoadDriver.Result result = new LoadDriver(client, requestFactory, config, mix).run();
+            ReportWriter.print(result, System.out);
+            Path report = Path.of(config.report());
+            ReportWriter.writeCsv(result, report);
+            log.info("Report written to {}", report.toAbsolutePath());
+        } finally {
+            if (registrar != null) registrar.close();
+            if (standIn != null) standIn.close();
+        }
+    }
+
+}
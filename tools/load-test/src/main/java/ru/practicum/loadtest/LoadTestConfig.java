@@ -0,0 +1,69 @@
+package ru.practicum.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры прогона, задаются аргументами вида --key=value.
+ */
+public record LoadTestConfig(
+        String gatewayUrl,
+        String eurekaUrl,
+        boolean standIns,
+        String standInHost,
+        int standInPort,
+        long standInLatencyMs,
+        Duration discoveryWait,
+        List<String> collections,
+        int rps,
+        Duration duration,
+        Duration warmup,
+        int maxInFlight,
+        double readShare,
+        Duration requestTimeout,
+        int seedUsers,
+        int seedCategories,
+        int seedEvents,
+        int seedRequests,
+        int seedComments,
+        int seedCompilations,
+        String report
+) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) options.put(arg.substring(2), "true");
+            else options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestConfig(
+                options.getOrDefault("gateway", "http://localhost:8080"),
+                options.getOrDefault("eureka", "http://localhost:8761/eureka"),
+                Boolean.parseBoolean(options.getOrDefault("stand-ins", "true")),
+                options.getOrDefault("stand-in-host", "localhost"),
+                Integer.parseInt(options.getOrDefault("stand-in-port", "0")),
+                Long.parseLong(options.getOrDefault("stand-in-latency-ms", "5")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("discovery-wait", "35"))),
+                Arrays.asList(options.getOrDefault("collections", "postman/core-services.json,postman/comments.json").split(",")),
+                Integer.parseInt(options.getOrDefault("rps", "100")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10"))),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "500")),
+                Double.parseDouble(options.getOrDefault("read-share", "0.9")),
+                Duration.ofMillis(Long.parseLong(options.getOrDefault("timeout-ms", "10000"))),
+                Integer.parseInt(options.getOrDefault("seed-users", "200")),
+                Integer.parseInt(options.getOrDefault("seed-categories", "20")),
+                Integer.parseInt(options.getOrDefault("seed-events", "500")),
+                Integer.parseInt(options.getOrDefault("seed-requests", "500")),
+                Integer.parseInt(options.getOrDefault("seed-comments", "500")),
+                Integer.parseInt(options.getOrDefault("seed-compilations", "10")),
+                options.getOrDefault("report", "target/load-test-report.csv")
+        );
+    }
+
+}
@@ -0,0 +1,64 @@
+package ru.practicum.loadtest;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Генераторы тел запросов, проходящих валидацию DTO сервисов.
+ */
+public final class Payloads {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] WORDS = {"concert", "lecture", "meetup", "festival", "workshop", "exhibition",
+            "tour", "quiz", "picnic", "marathon", "premiere", "tasting"};
+
+    private Payloads() {
+    }
+
+    public static Map<String, Object> newUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 12);
+        return Map.of("name", "Load " + suffix, "email", "load." + suffix + "@example.com");
+    }
+
+    public static Map<String, Object> newCategory() {
+        return Map.of("name", word() + " " + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    public static Map<String, Object> newEvent(long categoryId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("category", categoryId);
+        event.put("title", "Load " + word() + " " + random.nextInt(100_000));
+        event.put("annotation", "Annotation of a generated " + word() + " for load testing");
+        event.put("description", "Description of a generated " + word() + " for load testing, " + UUID.randomUUID());
+        event.put("location", Map.of("lat", 55 + random.nextFloat(), "lon", 37 + random.nextFloat()));
+        event.put("paid", random.nextBoolean());
+        event.put("participantLimit", random.nextInt(3) == 0 ? 0 : random.nextInt(5, 200));
+        event.put("requestModeration", random.nextBoolean());
+        event.put("eventDate", LocalDateTime.now().plusDays(random.nextInt(7, 180)).format(DATE_TIME));
+        return event;
+    }
+
+    public static Map<String, Object> publishEvent() {
+        return Map.of("stateAction", "PUBLISH_EVENT");
+    }
+
+    public static Map<String, Object> newCompilation(long[] eventIds) {
+        return Map.of("title", "Load " + word() + " " + ThreadLocalRandom.current().nextInt(100_000),
+                "pinned", ThreadLocalRandom.current().nextBoolean(),
+                "events", eventIds);
+    }
+
+    public static Map<String, Object> comment() {
+        return Map.of("text", "Generated comment about the " + word());
+    }
+
+    public static String word() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+
+}
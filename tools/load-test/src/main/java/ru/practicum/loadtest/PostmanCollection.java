@@ -0,0 +1,60 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.loadtest.EndpointTemplate.QueryParam;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Читает Postman-коллекции (формат v2.1) и сворачивает запросы в шаблоны по методу и пути.
+ * Тела запросов в коллекциях задаются pre-request скриптами ({{request_body}}), поэтому не используются -
+ * их генерирует RequestFactory.
+ */
+public final class PostmanCollection {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private PostmanCollection() {
+    }
+
+    public static List<EndpointTemplate> load(Collection<String> files) throws IOException {
+        Map<String, EndpointTemplate> templates = new LinkedHashMap<>();
+        for (String file : files) {
+            JsonNode root = MAPPER.readTree(Path.of(file).toFile());
+            collect(root.path("item"), templates);
+        }
+        return new ArrayList<>(templates.values());
+    }
+
+    // PRIVATE METHODS
+
+    private static void collect(JsonNode items, Map<String, EndpointTemplate> templates) {
+        for (JsonNode item : items) {
+            if (item.has("item")) {
+                collect(item.get("item"), templates);
+                continue;
+            }
+            JsonNode request = item.path("request");
+            JsonNode url = request.path("url");
+            String method = request.path("method").asText();
+            String path = url.path("raw").asText().split("\\?")[0].replace("{{baseUrl}}", "");
+
+            List<QueryParam> query = new ArrayList<>();
+            for (JsonNode param : url.path("query")) {
+                if (param.path("disabled").asBoolean(false)) continue;
+                query.add(new QueryParam(param.path("key").asText(), param.path("value").asText()));
+            }
+
+            templates.merge(method + " " + path, new EndpointTemplate(method, path, query, 1),
+                    (existing, added) -> existing.withOccurrences(existing.occurrences() + 1));
+        }
+    }
+
+}
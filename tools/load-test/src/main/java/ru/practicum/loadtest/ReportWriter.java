@@ -0,0 +1,55 @@
+package ru.practicum.loadtest;
+
+import ru.practicum.loadtest.EndpointStats.Summary;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Отчет по эндпоинтам: таблица в консоль и CSV-файл для сравнения прогонов.
+ */
+public final class ReportWriter {
+
+    private static final String HEADER = "endpoint,count,ok,4xx,5xx,failed,rps,p50_ms,p90_ms,p95_ms,p99_ms,max_ms";
+
+    private ReportWriter() {
+    }
+
+    public static void print(LoadDriver.Result result, PrintStream out) {
+        out.printf(Locale.ROOT, "%-55s %8s %8s %6s %6s %6s %8s %8s %8s %8s %8s %9s%n",
+                "endpoint", "count", "ok", "4xx", "5xx", "failed", "rps", "p50", "p90", "p95", "p99", "max");
+        for (Summary s : rows(result)) {
+            out.printf(Locale.ROOT, "%-55s %8d %8d %6d %6d %6d %8.1f %8.1f %8.1f %8.1f %8.1f %9.1f%n",
+                    s.endpoint(), s.count(), s.ok(), s.clientErrors(), s.serverErrors(), s.failures(),
+                    s.throughput(), s.p50(), s.p90(), s.p95(), s.p99(), s.max());
+        }
+        out.printf("dropped (max-in-flight reached): %d, skipped (no seed data): %d%n", result.dropped(), result.skipped());
+    }
+
+    public static void writeCsv(LoadDriver.Result result, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Summary s : rows(result)) {
+            lines.add(String.format(Locale.ROOT, "\"%s\",%d,%d,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f",
+                    s.endpoint(), s.count(), s.ok(), s.clientErrors(), s.serverErrors(), s.failures(),
+                    s.throughput(), s.p50(), s.p90(), s.p95(), s.p99(), s.max()));
+        }
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    // Эндпоинты по убыванию p99, последней - строка TOTAL по всем запросам
+    private static List<Summary> rows(LoadDriver.Result result) {
+        List<Summary> rows = new ArrayList<>(result.endpoints());
+        rows.sort(Comparator.comparingDouble(Summary::p99).reversed());
+        rows.add(result.total());
+        return rows;
+    }
+
+}
@@ -0,0 +1,150 @@
+package ru.practicum.loadtest;
+
+import ru.practicum.loadtest.EndpointTemplate.QueryParam;
+import ru.practicum.loadtest.SeedData.CommentRef;
+import ru.practicum.loadtest.SeedData.EventRef;
+import ru.practicum.loadtest.SeedData.RequestRef;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Превращает шаблон из Postman-коллекции в конкретный запрос: переменные пути берутся из SeedData
+ * согласованно (комментарий - его событие и автор, событие в /users/** - его инициатор),
+ * тела запросов генерируются Payloads. Записи без генератора тела в смесь не попадают.
+ */
+public class RequestFactory {
+
+    private static final Pattern PATH_VARIABLE = Pattern.compile(":(\\w+)");
+    private static final Pattern POSTMAN_VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private static final String CREATE_EVENT = "POST /users/:userId/events";
+
+    private static final Set<String> SUPPORTED_WRITES = Set.of(
+            "POST /admin/users",
+            "POST /admin/categories",
+            CREATE_EVENT,
+            "POST /users/:userId/requests",
+            "POST /users/:userId/events/:eventId/comments",
+            "PATCH /users/:userId/comments/:comId"
+    );
+
+    private final GatewayClient client;
+    private final SeedData data;
+
+    public RequestFactory(GatewayClient client, SeedData data) {
+        this.client = client;
+        this.data = data;
+    }
+
+    public boolean supports(EndpointTemplate template) {
+        return template.isRead() || SUPPORTED_WRITES.contains(template.name());
+    }
+
+    // null, если для переменных пути еще нет данных
+    public HttpRequest create(EndpointTemplate template) {
+        Map<String, String> vars = resolveVariables(template);
+        if (vars == null) return null;
+
+        StringBuilder uri = new StringBuilder();
+        Matcher matcher = PATH_VARIABLE.matcher(template.path());
+        while (matcher.find()) matcher.appendReplacement(uri, vars.get(matcher.group(1)));
+        matcher.appendTail(uri);
+
+        char separator = '?';
+        for (QueryParam param : template.query()) {
+            String value = resolveQueryValue(param.value(), vars);
+            if (value == null) continue;
+            uri.append(separator).append(param.key()).append('=').append(value);
+            separator = '&';
+        }
+
+        HttpRequest.Builder builder = template.isRead()
+                ? client.request(uri.toString()).GET()
+                : client.json(template.method(), uri.toString(), body(template, vars));
+        return builder.header(GatewayClient.USER_HEADER, vars.get("userId")).build();
+    }
+
+    // PRIVATE METHODS
+
+    private Object body(EndpointTemplate template, Map<String, String> vars) {
+        return switch (template.name()) {
+            case "POST /admin/users" -> Payloads.newUser();
+            case "POST /admin/categories" -> Payloads.newCategory();
+            case CREATE_EVENT -> Payloads.newEvent(Long.parseLong(vars.get("catId")));
+            case "POST /users/:userId/events/:eventId/comments", "PATCH /users/:userId/comments/:comId" -> Payloads.comment();
+            default -> null;
+        };
+    }
+
+    private Map<String, String> resolveVariables(EndpointTemplate template) {
+        String path = template.path();
+        Map<String, String> vars = new HashMap<>();
+        boolean privatePath = path.startsWith("/users/");
+
+        if (path.contains(":comId") || path.contains(":commentId")) {
+            CommentRef comment = data.comments.random();
+            if (comment == null) return null;
+            put(vars, comment.id(), "comId", "commentId");
+            put(vars, comment.eventId(), "eventId", "id");
+            put(vars, comment.authorId(), "userId");
+        } else if (path.contains(":requestId")) {
+            RequestRef request = data.requests.random();
+            if (request == null) return null;
+            put(vars, request.id(), "requestId");
+            put(vars, request.requesterId(), "userId");
+        } else if (path.contains(":eventId") || path.contains(":id")) {
+            EventRef event = data.events.random();
+            if (event == null) return null;
+            put(vars, event.id(), "eventId", "id");
+            if (privatePath) put(vars, event.initiatorId(), "userId");
+        }
+        if (path.contains(":catId") || CREATE_EVENT.equals(template.name())) {
+            Long category = data.categories.random();
+            if (category == null) return null;
+            put(vars, category, "catId");
+        }
+        if (path.contains(":compId")) {
+            Long compilation = data.compilations.random();
+            if (compilation == null) return null;
+            put(vars, compilation, "compId");
+        }
+        if (!vars.containsKey("userId")) {
+            Long user = data.users.random();
+            if (user == null) return null;
+            put(vars, user, "userId");
+        }
+        return vars;
+    }
+
+    // Значения вида {{uid}} из коллекции подставляются из SeedData, неизвестные переменные - параметр пропускается
+    private String resolveQueryValue(String value, Map<String, String> vars) {
+        Matcher matcher = POSTMAN_VARIABLE.matcher(value);
+        if (!matcher.find()) return value;
+        String resolved = switch (matcher.group(1)) {
+            case "uid", "userId" -> vars.get("userId");
+            case "eid", "eventId" -> {
+                EventRef event = data.events.random();
+                yield event == null ? null : String.valueOf(event.id());
+            }
+            case "catid", "catId" -> {
+                Long category = data.categories.random();
+                yield category == null ? null : String.valueOf(category);
+            }
+            case "text" -> Payloads.word();
+            default -> null;
+        };
+        return resolved == null ? null : URLEncoder.encode(resolved, StandardCharsets.UTF_8);
+    }
+
+    private static void put(Map<String, String> vars, long value, String... names) {
+        for (String name : names) vars.put(name, String.valueOf(value));
+    }
+
+}
@@ -0,0 +1,57 @@
+package ru.practicum.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Идентификаторы сущностей, созданных при подготовке данных и во время прогона.
+ * По ним подставляются переменные путей; опубликованные события отдает и заглушка анализатора.
+ */
+public class SeedData {
+
+    public final Pool<Long> users = new Pool<>();
+    public final Pool<Long> categories = new Pool<>();
+    public final Pool<EventRef> events = new Pool<>();
+    public final Pool<CommentRef> comments = new Pool<>();
+    public final Pool<RequestRef> requests = new Pool<>();
+    public final Pool<Long> compilations = new Pool<>();
+
+    public long[] eventIds() {
+        return events.snapshot().stream().mapToLong(EventRef::id).toArray();
+    }
+
+    public record EventRef(long id, long initiatorId) {
+    }
+
+    public record CommentRef(long id, long eventId, long authorId) {
+    }
+
+    public record RequestRef(long id, long requesterId, long eventId) {
+    }
+
+    public static class Pool<T> {
+
+        private final List<T> items = new ArrayList<>();
+
+        public synchronized void add(T item) {
+            items.add(item);
+        }
+
+        // null, если пул пуст
+        public synchronized T random() {
+            if (items.isEmpty()) return null;
+            return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+        }
+
+        public synchronized int size() {
+            return items.size();
+        }
+
+        public synchronized List<T> snapshot() {
+            return List.copyOf(items);
+        }
+
+    }
+
+}
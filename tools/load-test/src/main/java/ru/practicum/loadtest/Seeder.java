@@ -0,0 +1,119 @@
+package ru.practicum.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.loadtest.SeedData.EventRef;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Подготовка данных через gateway-server: пользователи, категории, опубликованные события,
+ * заявки, комментарии и подборки. Ошибки отдельных запросов (например, 409 на повторную заявку)
+ * только считаются - итоговые объемы пишутся в лог.
+ */
+@Slf4j
+public class Seeder {
+
+    private static final int PARALLELISM = 16;
+
+    private final GatewayClient client;
+    private final SeedData data;
+    private final LoadTestConfig config;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public Seeder(GatewayClient client, SeedData data, LoadTestConfig config) {
+        this.client = client;
+        this.data = data;
+        this.config = config;
+    }
+
+    public void seed() {
+        long start = System.nanoTime();
+        repeat(config.seedUsers(), () -> {
+            JsonNode user = client.exchange(client.json("POST", "/admin/users", Payloads.newUser()).build());
+            data.users.add(user.path("id").asLong());
+        });
+        if (data.users.size() == 0) {
+            throw new IllegalStateException("Seeding failed: no users were created, check gateway availability");
+        }
+        repeat(config.seedCategories(), () -> {
+            JsonNode category = client.exchange(client.json("POST", "/admin/categories", Payloads.newCategory()).build());
+            data.categories.add(category.path("id").asLong());
+        });
+        repeat(config.seedEvents(), this::createPublishedEvent);
+        repeat(config.seedRequests(), this::createRequest);
+        repeat(config.seedComments(), this::createComment);
+        repeat(config.seedCompilations(), this::createCompilation);
+
+        log.info("Seeded in {} ms: {} users, {} categories, {} events, {} requests, {} comments, {} compilations, {} failed calls",
+                (System.nanoTime() - start) / 1_000_000, data.users.size(), data.categories.size(), data.events.size(),
+                data.requests.size(), data.comments.size(), data.compilations.size(), failures.get());
+        if (data.events.size() == 0) {
+            throw new IllegalStateException("Seeding failed: no events were created");
+        }
+    }
+
+    // PRIVATE METHODS
+
+    private void createPublishedEvent() throws Exception {
+        long userId = data.users.random();
+        long categoryId = data.categories.random();
+        JsonNode event = client.exchange(client.json("POST", "/users/" + userId + "/events",
+                Payloads.newEvent(categoryId)).build());
+        long eventId = event.path("id").asLong();
+        client.exchange(client.json("PATCH", "/admin/events/" + eventId, Payloads.publishEvent()).build());
+        data.events.add(new EventRef(eventId, userId));
+    }
+
+    private void createRequest() throws Exception {
+        EventRef event = data.events.random();
+        long userId = data.users.random();
+        if (userId == event.initiatorId()) return;
+        JsonNode request = client.exchange(client.json("POST",
+                "/users/" + userId + "/requests?eventId=" + event.id(), null).build());
+        data.requests.add(new SeedData.RequestRef(request.path("id").asLong(), userId, event.id()));
+    }
+
+    private void createComment() throws Exception {
+        EventRef event = data.events.random();
+        long userId = data.users.random();
+        JsonNode comment = client.exchange(client.json("POST",
+                "/users/" + userId + "/events/" + event.id() + "/comments", Payloads.comment()).build());
+        data.comments.add(new SeedData.CommentRef(comment.path("id").asLong(), event.id(), userId));
+    }
+
+    private void createCompilation() throws Exception {
+        long[] eventIds = data.eventIds();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] chosen = new long[Math.min(eventIds.length, random.nextInt(3, 15))];
+        for (int i = 0; i < chosen.length; i++) chosen[i] = eventIds[random.nextInt(eventIds.length)];
+        JsonNode compilation = client.exchange(client.json("POST", "/admin/compilations",
+                Payloads.newCompilation(Arrays.stream(chosen).distinct().toArray())).build());
+        data.compilations.add(compilation.path("id").asLong());
+    }
+
+    // close() пула дожидается завершения всех шагов
+    private void repeat(int count, SeedStep step) {
+        try (ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM, Thread.ofVirtual().factory())) {
+            for (int i = 0; i < count; i++) {
+                executor.execute(() -> {
+                    try {
+                        step.run();
+                    } catch (Exception e) {
+                        if (failures.incrementAndGet() <= 10) log.warn("Seed call failed: {} - {}", e.getClass().getSimpleName(), e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SeedStep {
+        void run() throws Exception;
+    }
+
+}
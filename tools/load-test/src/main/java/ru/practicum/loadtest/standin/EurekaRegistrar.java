@@ -0,0 +1,119 @@
+package ru.practicum.loadtest.standin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Регистрирует заглушки в Eureka через REST API под именами настоящих сервисов (collector, analyzer),
+ * с метаданными gRPC_port - по ним сервисы находят gRPC-порт. Heartbeat раз в 30 секунд, при close() - снятие регистрации.
+ */
+@Slf4j
+public class EurekaRegistrar implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long HEARTBEAT_SECONDS = 30;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor();
+    private final String eurekaUrl;
+    private final List<Registration> registrations = new ArrayList<>();
+
+    public EurekaRegistrar(String eurekaUrl) {
+        this.eurekaUrl = eurekaUrl.endsWith("/") ? eurekaUrl.substring(0, eurekaUrl.length() - 1) : eurekaUrl;
+        heartbeats.scheduleAtFixedRate(this::renewAll, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void register(String serviceName, String host, int grpcPort) throws IOException, InterruptedException {
+        Registration registration = new Registration(serviceName.toUpperCase(Locale.ROOT),
+                serviceName + "-load-test-stand-in", serviceName, host, grpcPort);
+        send(registration);
+        synchronized (registrations) {
+            registrations.add(registration);
+        }
+        log.info("Registered stand-in {} at {}:{} in Eureka", serviceName, host, grpcPort);
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        synchronized (registrations) {
+            for (Registration registration : registrations) {
+                try {
+                    httpClient.send(HttpRequest.newBuilder(registration.instanceUri(eurekaUrl)).DELETE().build(),
+                            HttpResponse.BodyHandlers.discarding());
+                } catch (Exception e) {
+                    log.warn("Failed to deregister {}: {}", registration.instanceId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    // PRIVATE METHODS
+
+    private void send(Registration registration) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(eurekaUrl + "/apps/" + registration.app()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(registration.toJson())))
+                .build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status / 100 != 2) throw new IOException("Eureka registration of " + registration.app() + " failed: " + status);
+    }
+
+    // Eureka отвечает 404 на heartbeat незнакомого экземпляра (например, после рестарта) - регистрируемся заново
+    private void renewAll() {
+        synchronized (registrations) {
+            for (Registration registration : registrations) {
+                try {
+                    HttpRequest request = HttpRequest.newBuilder(registration.instanceUri(eurekaUrl))
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                    int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 404) send(registration);
+                } catch (Exception e) {
+                    log.warn("Eureka heartbeat for {} failed: {}", registration.instanceId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private record Registration(String app, String instanceId, String vipAddress, String host, int grpcPort) {
+
+        URI instanceUri(String eurekaUrl) {
+            return URI.create(eurekaUrl + "/apps/" + app + "/" + instanceId);
+        }
+
+        Map<String, Object> toJson() {
+            return Map.of("instance", Map.ofEntries(
+                    Map.entry("instanceId", instanceId),
+                    Map.entry("app", app),
+                    Map.entry("hostName", host),
+                    Map.entry("ipAddr", host),
+                    Map.entry("vipAddress", vipAddress),
+                    Map.entry("secureVipAddress", vipAddress),
+                    Map.entry("status", "UP"),
+                    Map.entry("port", Map.of("$", grpcPort, "@enabled", "true")),
+                    Map.entry("securePort", Map.of("$", 443, "@enabled", "false")),
+                    Map.entry("metadata", Map.of("gRPC_port", String.valueOf(grpcPort))),
+                    Map.entry("leaseInfo", Map.of("renewalIntervalInSecs", HEARTBEAT_SECONDS, "durationInSecs", 90)),
+                    Map.entry("dataCenterInfo", Map.of(
+                            "@class", "com.netflix.appinfo.InfoAdapter$MyDataCenterInfo",
+                            "name", "MyOwn"))
+            ));
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+package ru.practicum.loadtest.standin;
+
+import com.google.protobuf.Empty;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import ru.practicum.grpc.collector.RecommendationsControllerGrpc;
+import ru.practicum.grpc.collector.UserActionControllerGrpc;
+import ru.practicum.grpc.similarity.reports.InteractionsCountRequestProto;
+import ru.practicum.grpc.similarity.reports.RecommendedEventProto;
+import ru.practicum.grpc.similarity.reports.SimilarEventsRequestProto;
+import ru.practicum.grpc.similarity.reports.UserPredictionsRequestProto;
+import ru.practicum.grpc.user.action.UserActionProto;
+import ru.practicum.loadtest.SeedData;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Встроенная заглушка collector и analyzer: один gRPC-сервер реализует UserActionController
+ * и RecommendationsController. Рекомендации строятся из опубликованных событий SeedData,
+ * к каждому ответу добавляется задержка latencyMs с разбросом +-50%.
+ */
+@Slf4j
+public class StandInStatsServer implements AutoCloseable {
+
+    private final Server server;
+    private final SeedData data;
+    private final long latencyMs;
+    private final LongAdder actions = new LongAdder();
+    private final LongAdder recommendationCalls = new LongAdder();
+
+    public StandInStatsServer(int port, long latencyMs, SeedData data) {
+        this.data = data;
+        this.latencyMs = latencyMs;
+        this.server = ServerBuilder.forPort(port)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .addService(new Collector())
+                .addService(new Analyzer())
+                .build();
+    }
+
+    public StandInStatsServer start() throws IOException {
+        server.start();
+        log.info("Stand-in collector/analyzer listening on gRPC port {}", server.getPort());
+        return this;
+    }
+
+    public int port() {
+        return server.getPort();
+    }
+
+    @Override
+    public void close() {
+        server.shutdownNow();
+        log.info("Stand-in served {} user actions and {} recommendation calls", actions.sum(), recommendationCalls.sum());
+    }
+
+    // PRIVATE METHODS
+
+    private void pause() {
+        if (latencyMs <= 0) return;
+        long jitter = ThreadLocalRandom.current().nextLong(latencyMs + 1) - latencyMs / 2;
+        try {
+            Thread.sleep(latencyMs + jitter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void streamRandomEvents(long excludeEventId, int maxResults, StreamObserver<RecommendedEventProto> observer) {
+        long[] eventIds = data.eventIds();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int count = Math.min(maxResults, eventIds.length);
+        double score = 1.0;
+        for (int i = 0; i < count; i++) {
+            long eventId = eventIds[random.nextInt(eventIds.length)];
+            if (eventId == excludeEventId) continue;
+            score *= 0.9;
+            observer.onNext(RecommendedEventProto.newBuilder().setEventId(eventId).setScore(score).build());
+        }
+        observer.onCompleted();
+    }
+
+    private class Collector extends UserActionControllerGrpc.UserActionControllerImplBase {
+
+        @Override
+        public void collectUserAction(UserActionProto request, StreamObserver<Empty> observer) {
+            pause();
+            actions.increment();
+            observer.onNext(Empty.getDefaultInstance());
+            observer.onCompleted();
+        }
+
+    }
+
+    private class Analyzer extends RecommendationsControllerGrpc.RecommendationsControllerImplBase {
+
+        @Override
+        public void getRecommendationsForUser(UserPredictionsRequestProto request,
+                                              StreamObserver<RecommendedEventProto> observer) {
+            pause();
+            recommendationCalls.increment();
+            streamRandomEvents(-1, request.getMaxResults(), observer);
+        }
+
+        @Override
+        public void getSimilarEvents(SimilarEventsRequestProto request, StreamObserver<RecommendedEventProto> observer) {
+            pause();
+            recommendationCalls.increment();
+            streamRandomEvents(request.getEventId(), request.getMaxResults(), observer);
+        }
+
+        @Override
+        public void getInteractionsCount(InteractionsCountRequestProto request,
+                                         StreamObserver<RecommendedEventProto> observer) {
+            pause();
+            recommendationCalls.increment();
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (long eventId : request.getEventIdList()) {
+                observer.onNext(RecommendedEventProto.newBuilder()
+                        .setEventId(eventId)
+                        .setScore(random.nextInt(100))
+                        .build());
+            }
+            observer.onCompleted();
+        }
+
+    }
+
+}